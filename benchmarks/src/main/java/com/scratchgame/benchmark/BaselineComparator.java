@@ -0,0 +1,95 @@
+package com.scratchgame.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compares two JMH JSON result files and exits with status 1 if any benchmark got slower,
+ * or allocates more per operation, than the baseline by more than the tolerance.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.scratchgame.benchmark.BaselineComparator <baseline.json> <current.json> [tolerance]}
+ */
+public class BaselineComparator {
+
+    private static final double DEFAULT_TOLERANCE = 0.10;
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // Allocation below this many bytes per operation is treated as noise
+    private static final double ALLOCATION_SLACK = 16.0;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <current.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.println("NEW  " + entry.getKey());
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = after.path("primaryMetric").path("score").asDouble();
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double change = higherIsBetter ? oldScore / newScore - 1.0 : newScore / oldScore - 1.0;
+            if (change > tolerance) {
+                regressions.add(String.format("%s: %.3f -> %.3f %s (%+.1f%%)", entry.getKey(), oldScore, newScore,
+                        after.path("primaryMetric").path("scoreUnit").asText(), change * 100));
+            }
+
+            double oldAllocation = allocation(before);
+            double newAllocation = allocation(after);
+            if (!Double.isNaN(oldAllocation) && !Double.isNaN(newAllocation)
+                    && newAllocation > oldAllocation * (1.0 + tolerance) + ALLOCATION_SLACK) {
+                regressions.add(String.format("%s: %.1f -> %.1f B/op allocated", entry.getKey(), oldAllocation, newAllocation));
+            }
+        }
+
+        regressions.forEach(regression -> System.out.println("SLOWER  " + regression));
+        System.out.printf("%d benchmarks compared, %d regressions%n", current.size(), regressions.size());
+        if (!regressions.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            results.put(key(result), result);
+        }
+        return results;
+    }
+
+    private static String key(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.path("benchmark").asText())
+                .append(" threads=").append(result.path("threads").asInt());
+        new TreeMap<>(toMap(result.path("params"))).forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+
+    private static Map<String, String> toMap(JsonNode params) {
+        Map<String, String> map = new HashMap<>();
+        params.fields().forEachRemaining(field -> map.put(field.getKey(), field.getValue().asText()));
+        return map;
+    }
+
+    private static double allocation(JsonNode result) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,101 @@
+package com.scratchgame.benchmark;
+
+import com.scratchgame.model.*;
+
+import java.util.*;
+
+/**
+ * Synthetic configs shaped like the sample game, scaled by grid size, number of standard
+ * symbols and number of covered areas.
+ */
+final class BenchmarkGames {
+
+    private static final int AREAS_PER_COMBINATION = 4;
+
+    private BenchmarkGames() {
+        // Prevent instantiation
+    }
+
+    static Config config(int gridSize, int symbolCount, int coveredAreas) {
+        Map<String, SymbolConfig> symbols = new HashMap<>();
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (int s = 0; s < symbolCount; s++) {
+            String name = "S" + s;
+            symbols.put(name, new SymbolConfig("standard", 1.0 + s % 10, null, null));
+            weights.put(name, 1 + s % 6);
+        }
+        symbols.put("10x", new SymbolConfig("bonus", 10.0, null, "multiply_reward"));
+        symbols.put("5x", new SymbolConfig("bonus", 5.0, null, "multiply_reward"));
+        symbols.put("+1000", new SymbolConfig("bonus", null, 1000, "extra_bonus"));
+        symbols.put("+500", new SymbolConfig("bonus", null, 500, "extra_bonus"));
+        symbols.put("MISS", new SymbolConfig("bonus", null, null, "miss"));
+
+        List<CellProbability> cells = new ArrayList<>();
+        for (int row = 0; row < gridSize; row++) {
+            for (int col = 0; col < gridSize; col++) {
+                cells.add(new CellProbability(col, row, weights));
+            }
+        }
+        Map<String, Integer> bonus = Map.of("10x", 1, "5x", 2, "+1000", 3, "+500", 4, "MISS", 5);
+
+        Map<String, WinCombinationConfig> combinations = new HashMap<>();
+        for (int count = 3; count <= Math.min(9, gridSize * gridSize); count++) {
+            combinations.put("same_symbol_" + count + "_times",
+                    new WinCombinationConfig(count - 2, "same_symbols", count, "same_symbols", null));
+        }
+        List<List<String>> areas = areas(gridSize, coveredAreas);
+        for (int from = 0; from < areas.size(); from += AREAS_PER_COMBINATION) {
+            int c = from / AREAS_PER_COMBINATION;
+            combinations.put("linear_" + c, new WinCombinationConfig(2.0, "linear_symbols", null, "linear_" + c,
+                    areas.subList(from, Math.min(from + AREAS_PER_COMBINATION, areas.size()))));
+        }
+
+        return new Config(gridSize, gridSize, symbols, new Probabilities(cells, new BonusProbability(bonus)), combinations);
+    }
+
+    /**
+     * A board of {@code boardSize x boardSize} cells sharing one weight table, won by pattern
+     * families only: every row, column and diagonal, and five in a row anywhere.
+     */
+    static Config patternConfig(int boardSize, int symbolCount) {
+        Config base = config(3, symbolCount, 0);
+        Map<String, Integer> weights = base.probabilities().standardSymbols().get(0).symbols();
+        List<CellProbability> cells = List.of(new CellProbability(0, 0, weights));
+
+        Map<String, WinCombinationConfig> combinations = new HashMap<>();
+        combinations.put("rows", new WinCombinationConfig(50.0, "linear_symbols", null, "rows", null, "rows"));
+        combinations.put("columns", new WinCombinationConfig(50.0, "linear_symbols", null, "columns", null, "columns"));
+        combinations.put("diagonals", new WinCombinationConfig(100.0, "linear_symbols", null, "diagonals", null, "diagonals"));
+        combinations.put("five_in_a_row", new WinCombinationConfig(1.5, "linear_symbols", Math.min(5, boardSize), "runs",
+                null, "in_a_row"));
+
+        return new Config(boardSize, boardSize, base.symbols(),
+                new Probabilities(cells, base.probabilities().bonusSymbols()), combinations);
+    }
+
+    /**
+     * Rows first, then columns, then the two diagonals, then seeded random lines of grid length.
+     */
+    private static List<List<String>> areas(int gridSize, int count) {
+        List<List<String>> areas = new ArrayList<>();
+        Random random = new Random(count);
+        for (int a = 0; a < count; a++) {
+            List<String> area = new ArrayList<>();
+            for (int i = 0; i < gridSize; i++) {
+                if (a < gridSize) {
+                    area.add(a + ":" + i);
+                } else if (a < 2 * gridSize) {
+                    area.add(i + ":" + (a - gridSize));
+                } else if (a == 2 * gridSize) {
+                    area.add(i + ":" + i);
+                } else if (a == 2 * gridSize + 1) {
+                    area.add(i + ":" + (gridSize - 1 - i));
+                } else {
+                    area.add(random.nextInt(gridSize) + ":" + random.nextInt(gridSize));
+                }
+            }
+            areas.add(area);
+        }
+        return areas;
+    }
+}
@@ -0,0 +1,24 @@
+package com.scratchgame.benchmark;
+
+import com.scratchgame.util.BonusSymbolFinder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BonusLookupBenchmark {
+
+    @Benchmark
+    public int findId(GameState state, RoundState round) {
+        return BonusSymbolFinder.findId(state.game, round.matrices[round.next()], true);
+    }
+
+    @Benchmark
+    public String find(GameState state, RoundState round) {
+        return BonusSymbolFinder.find(state.game, round.matrices[round.next()], true);
+    }
+}
@@ -0,0 +1,51 @@
+package com.scratchgame.benchmark;
+
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.combination.CombinationMatcherImpl;
+import com.scratchgame.engine.combination.SpecializedCombinationMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CombinationMatchingBenchmark {
+
+    private final CombinationMatcherImpl reference = new CombinationMatcherImpl();
+    private final BitboardCombinationMatcher bitboard = new BitboardCombinationMatcher();
+    private final SpecializedCombinationMatcher specialized = new SpecializedCombinationMatcher();
+
+    @Benchmark
+    public Map<String, List<String>> reference(GameState state, RoundState round) {
+        return reference.findWinningCombinations(state.game, round.matrices[round.next()]);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> bitboard(GameState state, RoundState round) {
+        return bitboard.findWinningCombinations(state.game, round.matrices[round.next()]);
+    }
+
+    @Benchmark
+    public AppliedCombinations bitboardInto(GameState state, RoundState round) {
+        bitboard.findWinningCombinations(state.game, round.matrices[round.next()], round.scratch);
+        return round.scratch;
+    }
+
+    @Benchmark
+    public Map<String, List<String>> specialized(GameState state, RoundState round) {
+        return specialized.findWinningCombinations(state.game, round.matrices[round.next()]);
+    }
+
+    @Benchmark
+    public AppliedCombinations specializedInto(GameState state, RoundState round) {
+        specialized.findWinningCombinations(state.game, round.matrices[round.next()], round.scratch);
+        return round.scratch;
+    }
+}
@@ -0,0 +1,38 @@
+package com.scratchgame.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.Config;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ConfigLoadingBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Benchmark
+    public Config parse(GameState state) throws IOException {
+        return mapper.readValue(state.configJson, Config.class);
+    }
+
+    @Benchmark
+    public CompiledGame compile(GameState state) {
+        return CompiledGame.compile(state.config);
+    }
+
+    /**
+     * What every CLI launch pays, with a fresh mapper as in CommandLineArgumentParser.
+     */
+    @Benchmark
+    public CompiledGame coldMapperParseAndCompile(GameState state) throws IOException {
+        return CompiledGame.compile(new ObjectMapper().readValue(state.configJson, Config.class));
+    }
+}
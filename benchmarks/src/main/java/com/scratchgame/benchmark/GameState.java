@@ -0,0 +1,42 @@
+package com.scratchgame.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.Config;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+
+/**
+ * The game under test, shared by all benchmark threads.
+ */
+@State(Scope.Benchmark)
+public class GameState {
+
+    @Param({"3", "5", "8"})
+    public int gridSize;
+
+    @Param({"6", "24"})
+    public int symbolCount;
+
+    @Param({"0", "8", "32"})
+    public int coveredAreas;
+
+    public Config config;
+    public byte[] configJson;
+    public CompiledGame game;
+    public MatrixGeneratorImpl generator;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        config = BenchmarkGames.config(gridSize, symbolCount, coveredAreas);
+        configJson = new ObjectMapper().writeValueAsBytes(config);
+        game = CompiledGame.compile(config);
+        generator = new MatrixGeneratorImpl();
+        if (!BitboardCombinationMatcher.supports(game)) {
+            throw new IllegalStateException("Benchmark game does not fit the bitboard matcher");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.scratchgame.benchmark;
+
+import com.scratchgame.infrastructure.io.JsonGameResultPrinter;
+import com.scratchgame.infrastructure.io.StreamingGameResultWriter;
+import com.scratchgame.model.GameResult;
+import com.scratchgame.model.OutputFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class JsonPrintingBenchmark {
+
+    private final JsonGameResultPrinter printer = new JsonGameResultPrinter();
+    private StreamingGameResultWriter pretty;
+    private StreamingGameResultWriter ndjson;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        pretty = new StreamingGameResultWriter(OutputStream.nullOutputStream(), OutputFormat.PRETTY);
+        ndjson = new StreamingGameResultWriter(OutputStream.nullOutputStream(), OutputFormat.NDJSON);
+    }
+
+    @Benchmark
+    public String printer(RoundState round) throws IOException {
+        return printer.toJson(fresh(round));
+    }
+
+    @Benchmark
+    public void streamingPretty(RoundState round) throws IOException {
+        pretty.write(fresh(round));
+    }
+
+    @Benchmark
+    public void streamingNdjson(RoundState round) throws IOException {
+        ndjson.write(fresh(round));
+    }
+
+    /**
+     * Copies the matrix so that no benchmark profits from a string view cached by an earlier one.
+     */
+    private static GameResult fresh(RoundState round) {
+        GameResult result = round.results[round.next()];
+        return new GameResult(result.symbolMatrix().copy(), result.reward(), result.appliedWinningCombinations(),
+                result.appliedBonusSymbol());
+    }
+}
@@ -0,0 +1,70 @@
+package com.scratchgame.benchmark;
+
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGenerator;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.matrix.RowParallelMatrixGenerator;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a round on boards won by pattern families, to compare per-cell cost across sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class LargeBoardBenchmark {
+
+    private static final int POOL_SIZE = 64;
+
+    @Param({"3", "10", "50", "100"})
+    public int boardSize;
+
+    private CompiledGame game;
+    private final MatrixGenerator sequential = new MatrixGeneratorImpl();
+    private final MatrixGenerator rowParallel = new RowParallelMatrixGenerator(sequential);
+    private final BitboardCombinationMatcher matcher = new BitboardCombinationMatcher();
+    private SymbolMatrix[] matrices;
+    private SymbolMatrix scratchMatrix;
+    private AppliedCombinations scratch;
+    private int[] draws;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        game = CompiledGame.compile(BenchmarkGames.patternConfig(boardSize, 6));
+        matrices = new SymbolMatrix[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            matrices[i] = sequential.generateMatrix(game);
+        }
+        scratchMatrix = new SymbolMatrix(game);
+        scratch = new AppliedCombinations(game);
+        draws = new int[game.drawCount()];
+    }
+
+    @Benchmark
+    public SymbolMatrix generate() {
+        sequential.generateMatrix(game, scratchMatrix, draws);
+        return scratchMatrix;
+    }
+
+    @Benchmark
+    public SymbolMatrix generateRowParallel() {
+        rowParallel.generateMatrix(game, scratchMatrix, draws);
+        return scratchMatrix;
+    }
+
+    @Benchmark
+    public AppliedCombinations match() {
+        next = (next + 1) & (POOL_SIZE - 1);
+        matcher.findWinningCombinations(game, matrices[next], scratch);
+        return scratch;
+    }
+}
@@ -0,0 +1,38 @@
+package com.scratchgame.benchmark;
+
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.model.SymbolMatrix;
+import com.scratchgame.util.random.RandomAlgorithm;
+import com.scratchgame.util.random.ThreadLocalRandomSource;
+import com.scratchgame.util.sampling.SamplingStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MatrixGenerationBenchmark {
+
+    private final MatrixGeneratorImpl cumulative = new MatrixGeneratorImpl(
+            new ThreadLocalRandomSource(RandomAlgorithm.L64X128_MIX), SamplingStrategy.CUMULATIVE);
+
+    @Benchmark
+    public SymbolMatrix alias(GameState state) {
+        return state.generator.generateMatrix(state.game);
+    }
+
+    @Benchmark
+    public SymbolMatrix cumulative(GameState state) {
+        return cumulative.generateMatrix(state.game);
+    }
+
+    @Benchmark
+    public SymbolMatrix aliasInto(GameState state, RoundState round) {
+        state.generator.generateMatrix(state.game, round.scratchMatrix, round.draws);
+        return round.scratchMatrix;
+    }
+}
@@ -0,0 +1,83 @@
+package com.scratchgame.benchmark;
+
+import com.scratchgame.engine.BatchGameEngine;
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.GameEngineImpl;
+import com.scratchgame.engine.RoundOutcome;
+import com.scratchgame.engine.batch.BatchMatcher;
+import com.scratchgame.engine.batch.ScalarBatchMatcher;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.combination.CombinationMatcherImpl;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.GameResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PlayGameBenchmark {
+
+    private static final int BATCH = 1024;
+
+    private GameEngine reference;
+    private GameEngine bitboard;
+    private GameEngine scalarBatch;
+    private GameEngine vectorBatch;
+
+    @Setup(Level.Trial)
+    public void setup(GameState state) {
+        reference = new GameEngineImpl(state.game, new MatrixGeneratorImpl(), new CombinationMatcherImpl(),
+                new RewardCalculatorImpl());
+        bitboard = new GameEngineImpl(state.game, new MatrixGeneratorImpl(), new BitboardCombinationMatcher(),
+                new RewardCalculatorImpl());
+        scalarBatch = new BatchGameEngine(state.game, new MatrixGeneratorImpl(), new ScalarBatchMatcher(),
+                new RewardCalculatorImpl());
+        // Only the fork of vectorBatch has the Vector API module
+        BatchMatcher vector = BatchMatcher.create();
+        vectorBatch = vector != null
+                ? new BatchGameEngine(state.game, new MatrixGeneratorImpl(), vector, new RewardCalculatorImpl())
+                : null;
+    }
+
+    @Benchmark
+    public GameResult reference() {
+        return reference.playGame(100.0);
+    }
+
+    @Benchmark
+    public GameResult bitboard() {
+        return bitboard.playGame(100.0);
+    }
+
+    @Benchmark
+    public RoundOutcome bitboardRound() {
+        return bitboard.playRound(100.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void bitboardBatch(Blackhole blackhole) {
+        bitboard.playGames(BATCH, 100.0, outcome -> blackhole.consume(outcome.reward()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void scalarBatch(Blackhole blackhole) {
+        scalarBatch.playGames(BATCH, 100.0, outcome -> blackhole.consume(outcome.reward()));
+    }
+
+    // Falls back to the scalar matcher when the module is not added
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    @Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public void vectorBatch(Blackhole blackhole) {
+        vectorBatch.playGames(BATCH, 100.0, outcome -> blackhole.consume(outcome.reward()));
+    }
+}
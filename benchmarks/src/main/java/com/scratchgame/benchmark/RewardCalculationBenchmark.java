@@ -0,0 +1,29 @@
+package com.scratchgame.benchmark;
+
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RewardCalculationBenchmark {
+
+    private final RewardCalculatorImpl calculator = new RewardCalculatorImpl();
+
+    @Benchmark
+    public double fromMap(GameState state, RoundState round) {
+        int i = round.next();
+        return calculator.calculateReward(state.game, 100.0, round.wins.get(i), round.matrices[i]);
+    }
+
+    @Benchmark
+    public double fromApplied(GameState state, RoundState round) {
+        int i = round.next();
+        return calculator.calculateReward(state.game, 100.0, round.applied[i], round.matrices[i]);
+    }
+}
@@ -0,0 +1,60 @@
+package com.scratchgame.benchmark;
+
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.GameResult;
+import com.scratchgame.model.SymbolMatrix;
+import com.scratchgame.util.BonusSymbolFinder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-thread pool of pre-generated rounds, cycled so that stage benchmarks see varied
+ * matrices instead of one the branch predictor learns.
+ */
+@State(Scope.Thread)
+public class RoundState {
+
+    private static final int POOL_SIZE = 1024;
+
+    public SymbolMatrix[] matrices;
+    public List<Map<String, List<String>>> wins;
+    public AppliedCombinations[] applied;
+    public GameResult[] results;
+    public AppliedCombinations scratch;
+    public SymbolMatrix scratchMatrix;
+    public int[] draws;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup(GameState state) {
+        BitboardCombinationMatcher matcher = new BitboardCombinationMatcher();
+        RewardCalculatorImpl calculator = new RewardCalculatorImpl();
+        matrices = new SymbolMatrix[POOL_SIZE];
+        applied = new AppliedCombinations[POOL_SIZE];
+        results = new GameResult[POOL_SIZE];
+        wins = new ArrayList<>(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            SymbolMatrix matrix = state.generator.generateMatrix(state.game);
+            Map<String, List<String>> found = matcher.findWinningCombinations(state.game, matrix);
+            matrices[i] = matrix;
+            wins.add(found);
+            applied[i] = new AppliedCombinations(state.game);
+            matcher.findWinningCombinations(state.game, matrix, applied[i]);
+            double reward = calculator.calculateReward(state.game, 100.0, found, matrix);
+            results[i] = new GameResult(matrix, reward, found, BonusSymbolFinder.find(state.game, matrix, !found.isEmpty()));
+        }
+        scratch = new AppliedCombinations(state.game);
+        scratchMatrix = new SymbolMatrix(state.game);
+        draws = new int[state.game.drawCount()];
+    }
+
+    public int next() {
+        next = (next + 1) & (POOL_SIZE - 1);
+        return next;
+    }
+}
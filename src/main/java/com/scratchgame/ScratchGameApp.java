@@ -1,34 +1,92 @@
 package com.scratchgame;
 
+import com.scratchgame.engine.batch.BatchMatcher;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
 import com.scratchgame.engine.combination.CombinationMatcher;
-import com.scratchgame.engine.combination.CombinationMatcherImpl;
+import com.scratchgame.engine.combination.SpecializedCombinationMatcher;
 import com.scratchgame.engine.matrix.MatrixGenerator;
 import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.matrix.RowParallelMatrixGenerator;
 import com.scratchgame.engine.reward.RewardCalculator;
 import com.scratchgame.engine.reward.RewardCalculatorImpl;
 import com.scratchgame.infrastructure.cli.ArgumentParser;
 import com.scratchgame.infrastructure.cli.CommandLineArgumentParser;
-import com.scratchgame.infrastructure.io.GameResultPrinter;
-import com.scratchgame.infrastructure.io.JsonGameResultPrinter;
+import com.scratchgame.infrastructure.io.DirectoryConfigSource;
+import com.scratchgame.infrastructure.io.ExactRtpReportPrinter;
+import com.scratchgame.infrastructure.io.JsonConfigReader;
+import com.scratchgame.infrastructure.io.JsonExactRtpReportPrinter;
+import com.scratchgame.infrastructure.io.JsonReplayReportPrinter;
+import com.scratchgame.infrastructure.io.ReplayReportPrinter;
+import com.scratchgame.infrastructure.io.JsonSimulationReportPrinter;
+import com.scratchgame.infrastructure.io.SimulationReportPrinter;
+import com.scratchgame.infrastructure.io.StreamingGameResultWriter;
+import com.scratchgame.infrastructure.io.TextMetricsReportPrinter;
+import com.scratchgame.infrastructure.journal.JournalReplayer;
+import com.scratchgame.infrastructure.journal.MappedGameJournal;
+import com.scratchgame.infrastructure.journal.ReplayReport;
+import com.scratchgame.infrastructure.metrics.JmxConfigReload;
+import com.scratchgame.infrastructure.metrics.JmxEngineMetrics;
+import com.scratchgame.infrastructure.metrics.JmxTicketPool;
+import com.scratchgame.infrastructure.reload.ConfigWatcher;
+import com.scratchgame.infrastructure.reload.ReloadListener;
+import com.scratchgame.infrastructure.server.GameServer;
+import com.scratchgame.infrastructure.snapshot.GameSnapshot;
+import com.scratchgame.infrastructure.snapshot.StatisticsSnapshot;
+import com.scratchgame.infrastructure.server.HttpGameServer;
+import com.scratchgame.infrastructure.stream.NdjsonPlayPipeline;
 import com.scratchgame.engine.GameEngine;
 import com.scratchgame.engine.GameEngineImpl;
-import com.scratchgame.model.GameConfiguration;
-import com.scratchgame.model.GameResult;
+import com.scratchgame.engine.GameJournal;
+import com.scratchgame.engine.JournaledGameEngine;
+import com.scratchgame.engine.ReloadableGameEngine;
+import com.scratchgame.engine.SeededGameEngine;
+import com.scratchgame.engine.pool.TicketPool;
+import com.scratchgame.engine.registry.EngineRegistry;
+import com.scratchgame.engine.registry.LruEngineRegistry;
+import com.scratchgame.engine.metrics.EngineMetrics;
+import com.scratchgame.engine.metrics.HistogramEngineMetrics;
+import com.scratchgame.engine.metrics.NoOpEngineMetrics;
+import com.scratchgame.model.CompileConfiguration;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.ExactRtpConfiguration;
+import com.scratchgame.model.MergeConfiguration;
+import com.scratchgame.model.PlayConfiguration;
+import com.scratchgame.model.ReplayConfiguration;
+import com.scratchgame.model.ServerConfiguration;
+import com.scratchgame.model.SimulationConfiguration;
+import com.scratchgame.model.StreamConfiguration;
+import com.scratchgame.simulation.ForkJoinSimulationEngine;
+import com.scratchgame.simulation.SimulationReport;
+import com.scratchgame.simulation.SimulationShard;
+import com.scratchgame.simulation.SimulationStatistics;
+import com.scratchgame.simulation.exact.ExactRtpCalculator;
+import com.scratchgame.simulation.exact.ExactRtpReport;
+import com.scratchgame.util.random.CurrentThreadRandomSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 public class ScratchGameApp {
 
     public static void main(String[] args) {
         try {
-            final MatrixGenerator matrixGenerator = new MatrixGeneratorImpl();
-            final CombinationMatcher combinationMatcher = new CombinationMatcherImpl();
-            final RewardCalculator rewardCalculator = new RewardCalculatorImpl();
-
-            GameConfiguration config = parseArguments(args);
-            GameEngine engine = new GameEngineImpl(config.config(), matrixGenerator, combinationMatcher, rewardCalculator);
-            GameResult result = engine.playGame(config.bettingAmount());
-
-            GameResultPrinter printer = new JsonGameResultPrinter();
-            printer.print(result);
+            ArgumentParser parser = new CommandLineArgumentParser(args);
+            switch (parser.mode()) {
+                case SIMULATE -> simulate(parser.parseSimulation());
+                case EXACT -> calculateExactRtp(parser.parseExactRtp());
+                case COMPILE -> compileConfig(parser.parseCompile());
+                case REPLAY -> replay(parser.parseReplay());
+                case SERVER -> serve(parser.parseServer());
+                case PLAY -> play(parser.parsePlay());
+                case MERGE -> merge(parser.parseMerge());
+                case STREAM -> stream(parser.parseStream());
+            }
         } catch (IllegalArgumentException e) {
             System.err.println("Error: " + e.getMessage());
             printUsage();
@@ -39,12 +97,263 @@ public class ScratchGameApp {
         }
     }
 
-    private static GameConfiguration parseArguments(String[] args) {
-        ArgumentParser parser = new CommandLineArgumentParser(args);
-        return parser.parse();
+    private static void play(PlayConfiguration config) throws IOException {
+        CompiledGame game = config.game();
+        final MatrixGenerator matrixGenerator = matrixGenerator();
+        final CombinationMatcher combinationMatcher = BitboardCombinationMatcher.supports(game)
+                ? new BitboardCombinationMatcher()
+                : new SpecializedCombinationMatcher();
+        final RewardCalculator rewardCalculator = new RewardCalculatorImpl();
+
+        HistogramEngineMetrics metrics = config.metrics() ? new HistogramEngineMetrics(game) : null;
+        MappedGameJournal journal = config.journal() != null ? new MappedGameJournal(config.journal(), game) : null;
+        GameEngine engine = journal != null
+                ? new JournaledGameEngine(game, matrixGenerator, combinationMatcher, rewardCalculator, journal)
+                : new GameEngineImpl(game, matrixGenerator, combinationMatcher, rewardCalculator,
+                        metrics != null ? metrics : NoOpEngineMetrics.INSTANCE);
+        try (StreamingGameResultWriter writer = new StreamingGameResultWriter(System.out, config.outputFormat())) {
+            for (long round = 0; round < config.rounds(); round++) {
+                writer.write(engine.playGame(config.bettingAmount()));
+            }
+        } finally {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+
+        if (metrics != null) {
+            new TextMetricsReportPrinter().print(metrics);
+        }
+    }
+
+    private static void simulate(SimulationConfiguration config) throws IOException {
+        final CombinationMatcher combinationMatcher = BitboardCombinationMatcher.supports(config.game())
+                ? new BitboardCombinationMatcher()
+                : new SpecializedCombinationMatcher();
+        final RewardCalculator rewardCalculator = new RewardCalculatorImpl();
+
+        ForkJoinSimulationEngine engine = new ForkJoinSimulationEngine(config.game(),
+                combinationMatcher, rewardCalculator, config.randomAlgorithm(), config.threads(), BatchMatcher.create());
+        if (config.statistics() != null) {
+            SimulationStatistics statistics = engine.runShard(config.rounds(), config.bettingAmount(), config.seed(),
+                    config.shard(), config.shardCount());
+            StatisticsSnapshot.write(new SimulationShard(config.rounds(), config.seed(), config.bettingAmount(),
+                    config.randomAlgorithm(), config.shard(), config.shardCount(), statistics), config.statistics());
+            System.err.println("Wrote statistics of shard " + config.shard() + "/" + config.shardCount()
+                    + " (" + statistics.rounds() + " rounds) to " + config.statistics());
+            return;
+        }
+        SimulationReport report = engine.simulate(config.rounds(), config.bettingAmount(), config.seed());
+
+        SimulationReportPrinter printer = new JsonSimulationReportPrinter();
+        printer.print(report);
+    }
+
+    private static void merge(MergeConfiguration config) throws IOException {
+        List<SimulationShard> shards = new ArrayList<>();
+        for (Path snapshot : config.snapshots()) {
+            shards.add(StatisticsSnapshot.read(snapshot, config.game()));
+        }
+
+        SimulationReportPrinter printer = new JsonSimulationReportPrinter();
+        printer.print(SimulationShard.merge(shards));
+    }
+
+    private static void stream(StreamConfiguration config) throws IOException {
+        SeededGameEngine engine = config.game() != null ? seededEngine(config.game()) : null;
+        Function<String, SeededGameEngine> games = null;
+        if (config.gamesDirectory() != null) {
+            JsonConfigReader reader = new JsonConfigReader();
+            EngineRegistry registry = new LruEngineRegistry(config.cacheSize(),
+                    new DirectoryConfigSource(config.gamesDirectory()),
+                    content -> compileJson(reader, content), ScratchGameApp::seededEngine);
+            games = gameId -> (SeededGameEngine) registry.engine(gameId);
+        }
+
+        NdjsonPlayPipeline pipeline = new NdjsonPlayPipeline(engine, games, config.threads());
+        long requests;
+        if (config.input() != null) {
+            try (InputStream in = Files.newInputStream(config.input())) {
+                requests = pipeline.run(in, System.out);
+            }
+        } else {
+            requests = pipeline.run(System.in, System.out);
+        }
+        System.err.println("Played " + requests + " requests");
+    }
+
+    private static void calculateExactRtp(ExactRtpConfiguration config) throws IOException {
+        ExactRtpCalculator calculator = new ExactRtpCalculator(config.game(), config.threads());
+        ExactRtpReport report = calculator.calculate(config.bettingAmount());
+
+        ExactRtpReportPrinter printer = new JsonExactRtpReportPrinter();
+        printer.print(report);
+    }
+
+    private static void compileConfig(CompileConfiguration config) throws IOException {
+        GameSnapshot.write(config.game(), config.output());
+        System.err.println("Wrote game snapshot to " + config.output());
+    }
+
+    private static void replay(ReplayConfiguration config) throws IOException {
+        JournalReplayer replayer = new JournalReplayer(config.game(), config.threads());
+        ReplayReport report = replayer.replay(config.journal());
+
+        ReplayReportPrinter printer = new JsonReplayReportPrinter();
+        printer.print(report);
+        if (!report.verified()) {
+            System.exit(2);
+        }
+    }
+
+    private static void serve(ServerConfiguration config) throws IOException {
+        AtomicReference<HistogramEngineMetrics> metrics = new AtomicReference<>();
+        Function<CompiledGame, GameEngine> engineFactory = game -> {
+            // Bonus hits are counted per symbol of the game, so metrics restart with every game
+            HistogramEngineMetrics gameMetrics = config.metrics() ? new HistogramEngineMetrics(game) : null;
+            if (gameMetrics != null) {
+                JmxEngineMetrics.register(gameMetrics, "server");
+                metrics.set(gameMetrics);
+            }
+            if (config.poolSize() > 0) {
+                return ticketPool(game, config.poolSize(), config.poolThreads());
+            }
+            return serverEngine(game, gameMetrics != null ? gameMetrics : NoOpEngineMetrics.INSTANCE);
+        };
+        JsonConfigReader reader = new JsonConfigReader();
+
+        MappedGameJournal journal = config.journal() != null ? new MappedGameJournal(config.journal(), config.game()) : null;
+        ReloadableGameEngine engine = null;
+        if (journal != null) {
+            engine = new ReloadableGameEngine(journaledEngine(config.game(), journal));
+        } else if (config.game() != null) {
+            engine = new ReloadableGameEngine(engineFactory.apply(config.game()));
+        }
+        ConfigWatcher watcher = null;
+        if (config.watchedConfig() != null) {
+            watcher = new ConfigWatcher(config.watchedConfig(), file -> CompiledGame.compile(reader.read(file)),
+                    engineFactory, engine, new ReloadListener() {
+                        @Override
+                        public void reloaded(Path file) {
+                            System.err.println("Reloaded " + file);
+                        }
+
+                        @Override
+                        public void failed(Path file, String error) {
+                            System.err.println("Could not reload " + file + ": " + error);
+                        }
+                    });
+            JmxConfigReload.register(watcher.statistics(), "server");
+            watcher.start();
+        }
+        EngineRegistry registry = null;
+        if (config.gamesDirectory() != null) {
+            registry = new LruEngineRegistry(config.cacheSize(), new DirectoryConfigSource(config.gamesDirectory()),
+                    content -> compileJson(reader, content),
+                    game -> serverEngine(game, NoOpEngineMetrics.INSTANCE));
+        }
+
+        GameServer server = new HttpGameServer(engine, registry, config.port());
+        ConfigWatcher stopWatcher = watcher;
+        ReloadableGameEngine playEngine = engine;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            if (journal != null) {
+                journal.close();
+            }
+            if (playEngine != null && playEngine.current() instanceof TicketPool pool) {
+                pool.close();
+            }
+            if (stopWatcher != null) {
+                try {
+                    stopWatcher.close();
+                } catch (IOException e) {
+                    System.err.println("Could not stop config watcher: " + e.getMessage());
+                }
+            }
+            if (metrics.get() != null) {
+                new TextMetricsReportPrinter().print(metrics.get());
+            }
+        }));
+        server.start();
+        System.err.println("Listening on port " + server.port());
+    }
+
+    private static GameEngine serverEngine(CompiledGame game, EngineMetrics metrics) {
+        final MatrixGenerator matrixGenerator = matrixGenerator();
+        final CombinationMatcher combinationMatcher = BitboardCombinationMatcher.supports(game)
+                ? new BitboardCombinationMatcher()
+                : new SpecializedCombinationMatcher();
+        final RewardCalculator rewardCalculator = new RewardCalculatorImpl();
+
+        return new GameEngineImpl(game, matrixGenerator, combinationMatcher, rewardCalculator, metrics);
+    }
+
+    /**
+     * Seeded rounds draw from the caller's source, so the matrix generator needs none of its own.
+     */
+    private static SeededGameEngine seededEngine(CompiledGame game) {
+        final CombinationMatcher combinationMatcher = BitboardCombinationMatcher.supports(game)
+                ? new BitboardCombinationMatcher()
+                : new SpecializedCombinationMatcher();
+        final RewardCalculator rewardCalculator = new RewardCalculatorImpl();
+
+        return new SeededGameEngine(game, new MatrixGeneratorImpl(), combinationMatcher, rewardCalculator);
+    }
+
+    private static TicketPool ticketPool(CompiledGame game, int capacity, int generators) {
+        final MatrixGenerator matrixGenerator = matrixGenerator();
+        final CombinationMatcher combinationMatcher = BitboardCombinationMatcher.supports(game)
+                ? new BitboardCombinationMatcher()
+                : new SpecializedCombinationMatcher();
+
+        TicketPool pool = new TicketPool(game, matrixGenerator, combinationMatcher, capacity, generators);
+        JmxTicketPool.register(pool, "server");
+        pool.start();
+        return pool;
+    }
+
+    private static GameEngine journaledEngine(CompiledGame game, GameJournal journal) {
+        final MatrixGenerator matrixGenerator = matrixGenerator();
+        final CombinationMatcher combinationMatcher = BitboardCombinationMatcher.supports(game)
+                ? new BitboardCombinationMatcher()
+                : new SpecializedCombinationMatcher();
+        final RewardCalculator rewardCalculator = new RewardCalculatorImpl();
+
+        return new JournaledGameEngine(game, matrixGenerator, combinationMatcher, rewardCalculator, journal);
+    }
+
+    /**
+     * Rows of large boards are generated in parallel; smaller boards and seeded replays are not affected.
+     */
+    private static MatrixGenerator matrixGenerator() {
+        return new RowParallelMatrixGenerator(new MatrixGeneratorImpl(new CurrentThreadRandomSource()));
+    }
+
+    private static CompiledGame compileJson(JsonConfigReader reader, byte[] content) {
+        try {
+            return CompiledGame.compile(reader.read(content));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid config: " + e.getMessage());
+        }
     }
 
     private static void printUsage() {
-        System.err.println("Usage: java -jar <your-jar-file> --config <config-file> --betting-amount <amount>");
+        System.err.println("Usage: java -jar <your-jar-file> --config <config-file> --betting-amount <amount>"
+                + " [--rounds <rounds>] [--format pretty|ndjson] [--metrics | --journal <directory>]");
+        System.err.println("       java -jar <your-jar-file> --config <config-file> --betting-amount <amount>"
+                + " --simulate <rounds> [--seed <seed>] [--rng <algorithm>] [--threads <threads>]"
+                + " [--shard <index>/<count>] [--statistics <file>]");
+        System.err.println("       java -jar <your-jar-file> --config <config-file> --merge <statistics-file>...");
+        System.err.println("       java -jar <your-jar-file> --config <config-file> --stream [<requests-file>]"
+                + " [--threads <threads>] [--games <directory>] [--cache-size <size>]");
+        System.err.println("       java -jar <your-jar-file> --config <config-file> --betting-amount <amount>"
+                + " --exact [--threads <threads>]");
+        System.err.println("       java -jar <your-jar-file> --config <config-file> --server [--port <port>] [--metrics] [--watch]"
+                + " [--games <directory>] [--cache-size <size>] [--journal <directory>]"
+                + " [--pool <tickets>] [--pool-threads <threads>]");
+        System.err.println("       java -jar <your-jar-file> --config <config-file> --replay <journal-directory> [--threads <threads>]");
+        System.err.println("       java -jar <your-jar-file> --config <config-file> --compile-config <snapshot-file>");
+        System.err.println("       --game <snapshot-file> can replace --config <config-file> in every mode but the last");
     }
 }
@@ -0,0 +1,85 @@
+package com.scratchgame.engine;
+
+import com.scratchgame.engine.batch.BatchMatcher;
+import com.scratchgame.engine.batch.RoundBatch;
+import com.scratchgame.engine.matrix.MatrixGenerator;
+import com.scratchgame.engine.reward.RewardCalculator;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.GameResult;
+
+/**
+ * Plays rounds in batches: the matrices of a whole batch are generated first, then matched
+ * together by a {@link BatchMatcher}, then rewarded and passed on in order.
+ * <p>
+ * Matching draws no random numbers, so the rounds are the ones {@link GameEngineImpl} plays
+ * from the same generator, with the same wins, bonus and reward.
+ */
+public class BatchGameEngine implements GameEngine {
+
+    public static final int DEFAULT_BATCH_ROUNDS = 1024;
+
+    private final CompiledGame game;
+    private final MatrixGenerator matrixGenerator;
+    private final BatchMatcher batchMatcher;
+    private final RewardCalculator rewardCalculator;
+    private final int batchRounds;
+
+    public BatchGameEngine(CompiledGame game,
+                           MatrixGenerator matrixGenerator,
+                           BatchMatcher batchMatcher,
+                           RewardCalculator rewardCalculator) {
+        this(game, matrixGenerator, batchMatcher, rewardCalculator, DEFAULT_BATCH_ROUNDS);
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@link RoundBatch#supports} rejects the game
+     */
+    public BatchGameEngine(CompiledGame game,
+                           MatrixGenerator matrixGenerator,
+                           BatchMatcher batchMatcher,
+                           RewardCalculator rewardCalculator,
+                           int batchRounds) {
+        if (!RoundBatch.supports(game)) {
+            throw new IllegalArgumentException("Game is too large for batch evaluation");
+        }
+        this.game = game;
+        this.matrixGenerator = matrixGenerator;
+        this.batchMatcher = batchMatcher;
+        this.rewardCalculator = rewardCalculator;
+        this.batchRounds = batchRounds;
+    }
+
+    @Override
+    public GameResult playGame(double bettingAmount) {
+        GameResult[] result = new GameResult[1];
+        playGames(1, bettingAmount, outcome -> result[0] = outcome.toGameResult());
+        return result[0];
+    }
+
+    @Override
+    public void playGames(int rounds, double bettingAmount, ResultSink sink) {
+        RoundBatch batch = new RoundBatch(game, Math.min(rounds, batchRounds));
+        RoundOutcome[] outcomes = new RoundOutcome[Math.min(rounds, batch.capacity())];
+        for (int round = 0; round < outcomes.length; round++) {
+            outcomes[round] = new RoundOutcome(game);
+        }
+
+        for (int played = 0; played < rounds; played += batch.size()) {
+            batch.reset(Math.min(outcomes.length, rounds - played));
+            for (int round = 0; round < batch.size(); round++) {
+                RoundOutcome outcome = outcomes[round];
+                matrixGenerator.generateMatrix(game, outcome.matrix(), outcome.draws());
+                batch.set(round, outcome.matrix());
+            }
+            batchMatcher.match(batch);
+            for (int round = 0; round < batch.size(); round++) {
+                RoundOutcome outcome = outcomes[round];
+                batch.applyWins(round, outcome.combinations());
+                int bonus = outcome.isWin() ? batch.bonusSymbol(round) : CompiledGame.NO_SYMBOL;
+                outcome.complete(rewardCalculator.calculateReward(game, bettingAmount, outcome.combinations(),
+                        outcome.matrix(), bonus), bonus);
+                sink.accept(outcome);
+            }
+        }
+    }
+}
@@ -5,4 +5,26 @@ import com.scratchgame.model.GameResult;
 public interface GameEngine {
 
     GameResult playGame(double bettingAmount);
+
+    /**
+     * Plays a round into a workspace owned by the calling thread and returns it. The outcome
+     * is refilled by the thread's next round on this engine and must not be modified; copy it
+     * with {@link RoundOutcome#toGameResult()} to keep it.
+     * <p>
+     * Engines that keep a workspace per thread play without allocating once the thread has
+     * played its first round, which pays off on threads that play many rounds. The default
+     * copies the result of {@link #playGame}.
+     */
+    default RoundOutcome playRound(double bettingAmount) {
+        return RoundOutcome.of(playGame(bettingAmount));
+    }
+
+    /**
+     * Plays {@code rounds} rounds in a loop, pushing each to the sink as it completes.
+     */
+    default void playGames(int rounds, double bettingAmount, ResultSink sink) {
+        for (int round = 0; round < rounds; round++) {
+            sink.accept(RoundOutcome.of(playGame(bettingAmount)));
+        }
+    }
 }
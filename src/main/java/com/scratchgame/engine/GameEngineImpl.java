@@ -1,10 +1,16 @@
 package com.scratchgame.engine;
 
+import com.scratchgame.engine.combination.AppliedCombinations;
 import com.scratchgame.engine.combination.CombinationMatcher;
 import com.scratchgame.engine.matrix.MatrixGenerator;
+import com.scratchgame.engine.metrics.EngineMetrics;
+import com.scratchgame.engine.metrics.NoOpEngineMetrics;
+import com.scratchgame.engine.metrics.Stage;
 import com.scratchgame.engine.reward.RewardCalculator;
+import com.scratchgame.model.CompiledGame;
 import com.scratchgame.model.Config;
 import com.scratchgame.model.GameResult;
+import com.scratchgame.model.SymbolMatrix;
 import com.scratchgame.util.BonusSymbolFinder;
 
 import java.util.List;
@@ -12,28 +18,131 @@ import java.util.Map;
 
 public class GameEngineImpl implements GameEngine {
 
-    private final Config config;
+    private final CompiledGame game;
     private final MatrixGenerator matrixGenerator;
     private final CombinationMatcher combinationMatcher;
     private final RewardCalculator rewardCalculator;
+    private final EngineMetrics metrics;
+    private final ThreadLocal<RoundOutcome> workspaces;
 
     public GameEngineImpl(Config config,
                           MatrixGenerator matrixGenerator,
                           CombinationMatcher combinationMatcher,
                           RewardCalculator rewardCalculator) {
-        this.config = config;
+        this(CompiledGame.compile(config), matrixGenerator, combinationMatcher, rewardCalculator);
+    }
+
+    public GameEngineImpl(CompiledGame game,
+                          MatrixGenerator matrixGenerator,
+                          CombinationMatcher combinationMatcher,
+                          RewardCalculator rewardCalculator) {
+        this(game, matrixGenerator, combinationMatcher, rewardCalculator, NoOpEngineMetrics.INSTANCE);
+    }
+
+    public GameEngineImpl(CompiledGame game,
+                          MatrixGenerator matrixGenerator,
+                          CombinationMatcher combinationMatcher,
+                          RewardCalculator rewardCalculator,
+                          EngineMetrics metrics) {
+        this.game = game;
         this.matrixGenerator = matrixGenerator;
         this.combinationMatcher = combinationMatcher;
         this.rewardCalculator = rewardCalculator;
+        this.metrics = metrics;
+        this.workspaces = ThreadLocal.withInitial(() -> new RoundOutcome(game));
     }
 
     @Override
     public GameResult playGame(double bettingAmount) {
-        String[][] matrix = matrixGenerator.generateMatrix(config);
-        Map<String, List<String>> wins = combinationMatcher.findWinningCombinations(config, matrix);
-        double reward = rewardCalculator.calculateReward(config, bettingAmount, wins, matrix);
-        String appliedBonusSymbol = BonusSymbolFinder.find(config, matrix, !wins.isEmpty());
+        if (metrics.enabled()) {
+            return playGameTimed(bettingAmount);
+        }
+        SymbolMatrix matrix = matrixGenerator.generateMatrix(game);
+        Map<String, List<String>> wins = combinationMatcher.findWinningCombinations(game, matrix);
+        double reward = rewardCalculator.calculateReward(game, bettingAmount, wins, matrix);
+        String appliedBonusSymbol = BonusSymbolFinder.find(game, matrix, !wins.isEmpty());
 
         return new GameResult(matrix, reward, wins, appliedBonusSymbol);
     }
+
+    @Override
+    public RoundOutcome playRound(double bettingAmount) {
+        RoundOutcome outcome = workspaces.get();
+        if (metrics.enabled()) {
+            playRoundTimed(bettingAmount, outcome);
+        } else {
+            playRound(bettingAmount, outcome);
+        }
+        return outcome;
+    }
+
+    @Override
+    public void playGames(int rounds, double bettingAmount, ResultSink sink) {
+        RoundOutcome outcome = new RoundOutcome(game);
+        if (metrics.enabled()) {
+            for (int round = 0; round < rounds; round++) {
+                playRoundTimed(bettingAmount, outcome);
+                sink.accept(outcome);
+            }
+            return;
+        }
+        for (int round = 0; round < rounds; round++) {
+            playRound(bettingAmount, outcome);
+            sink.accept(outcome);
+        }
+    }
+
+    private void playRound(double bettingAmount, RoundOutcome outcome) {
+        SymbolMatrix matrix = outcome.matrix();
+        AppliedCombinations wins = outcome.combinations();
+        matrixGenerator.generateMatrix(game, matrix, outcome.draws());
+        combinationMatcher.findWinningCombinations(game, matrix, wins);
+        int bonus = BonusSymbolFinder.findId(game, matrix, !wins.isEmpty());
+        outcome.complete(rewardCalculator.calculateReward(game, bettingAmount, wins, matrix, bonus), bonus);
+    }
+
+    private GameResult playGameTimed(double bettingAmount) {
+        long allocationMark = metrics.startRound();
+        long start = System.nanoTime();
+        SymbolMatrix matrix = matrixGenerator.generateMatrix(game);
+        long generated = System.nanoTime();
+        Map<String, List<String>> wins = combinationMatcher.findWinningCombinations(game, matrix);
+        long matched = System.nanoTime();
+        double reward = rewardCalculator.calculateReward(game, bettingAmount, wins, matrix);
+        long calculated = System.nanoTime();
+        int bonus = BonusSymbolFinder.findId(game, matrix, !wins.isEmpty());
+        GameResult result = new GameResult(matrix, reward, wins,
+                bonus != CompiledGame.NO_SYMBOL ? game.symbolName(bonus) : null);
+        long end = System.nanoTime();
+
+        recordStages(start, generated, matched, calculated, end);
+        metrics.recordRound(allocationMark, end - start, !wins.isEmpty(), bonus);
+        return result;
+    }
+
+    private void playRoundTimed(double bettingAmount, RoundOutcome outcome) {
+        SymbolMatrix matrix = outcome.matrix();
+        AppliedCombinations wins = outcome.combinations();
+        long allocationMark = metrics.startRound();
+        long start = System.nanoTime();
+        matrixGenerator.generateMatrix(game, matrix, outcome.draws());
+        long generated = System.nanoTime();
+        combinationMatcher.findWinningCombinations(game, matrix, wins);
+        long matched = System.nanoTime();
+        double reward = rewardCalculator.calculateReward(game, bettingAmount, wins, matrix);
+        long calculated = System.nanoTime();
+        int bonus = BonusSymbolFinder.findId(game, matrix, !wins.isEmpty());
+        long end = System.nanoTime();
+
+        outcome.complete(reward, bonus);
+        recordStages(start, generated, matched, calculated, end);
+        metrics.recordRound(allocationMark, end - start, !wins.isEmpty(), bonus);
+    }
+
+    private void recordStages(long start, long generated, long matched, long calculated, long end) {
+        metrics.recordStage(Stage.MATRIX_GENERATION, generated - start);
+        metrics.recordStage(Stage.COMBINATION_MATCHING, matched - generated);
+        metrics.recordStage(Stage.REWARD_CALCULATION, calculated - matched);
+        metrics.recordStage(Stage.BONUS_LOOKUP, end - calculated);
+    }
 }
@@ -0,0 +1,25 @@
+package com.scratchgame.engine;
+
+import com.scratchgame.model.SymbolMatrix;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Append-only record of every round played, with what is needed to replay it.
+ * Implementations must be safe for concurrent appends.
+ */
+public interface GameJournal extends Closeable {
+
+    /**
+     * @param seed        the seed the round's matrix was drawn from
+     * @param bonusSymbol the applied bonus symbol id, or {@link com.scratchgame.model.CompiledGame#NO_SYMBOL}
+     * @return the id given to the round
+     */
+    long append(long seed, double bettingAmount, SymbolMatrix matrix, double reward, int bonusSymbol);
+
+    /**
+     * Forces every appended round to storage.
+     */
+    void flush() throws IOException;
+}
@@ -0,0 +1,53 @@
+package com.scratchgame.engine;
+
+import com.scratchgame.engine.combination.CombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGenerator;
+import com.scratchgame.engine.reward.RewardCalculator;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.GameResult;
+import com.scratchgame.util.random.SeededRandomSource;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Plays every round from a fresh seed and appends it to a {@link GameJournal}.
+ * <p>
+ * Rounds are played by a {@link SeededGameEngine}, so replaying a journaled round with
+ * {@link SeededGameEngine#play} reproduces it exactly.
+ */
+public class JournaledGameEngine implements GameEngine {
+
+    private final SeededGameEngine engine;
+    private final GameJournal journal;
+
+    public JournaledGameEngine(CompiledGame game,
+                               MatrixGenerator matrixGenerator,
+                               CombinationMatcher combinationMatcher,
+                               RewardCalculator rewardCalculator,
+                               GameJournal journal) {
+        this.engine = new SeededGameEngine(game, matrixGenerator, combinationMatcher, rewardCalculator);
+        this.journal = journal;
+    }
+
+    @Override
+    public GameResult playGame(double bettingAmount) {
+        RoundOutcome outcome = new RoundOutcome(engine.game());
+        long seed = ThreadLocalRandom.current().nextLong();
+        engine.play(seed, bettingAmount, new SeededRandomSource(seed), outcome);
+        journal.append(seed, bettingAmount, outcome.matrix(), outcome.reward(), outcome.bonusSymbol());
+        return outcome.toGameResult();
+    }
+
+    @Override
+    public void playGames(int rounds, double bettingAmount, ResultSink sink) {
+        RoundOutcome outcome = new RoundOutcome(engine.game());
+        SeededRandomSource source = new SeededRandomSource(0);
+        ThreadLocalRandom seeds = ThreadLocalRandom.current();
+        for (int round = 0; round < rounds; round++) {
+            long seed = seeds.nextLong();
+            engine.play(seed, bettingAmount, source, outcome);
+            journal.append(seed, bettingAmount, outcome.matrix(), outcome.reward(), outcome.bonusSymbol());
+            sink.accept(outcome);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.scratchgame.engine;
+
+import com.scratchgame.model.GameResult;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Delegates to an engine that can be replaced while rounds are being played.
+ * <p>
+ * Every call reads the current engine once and plays entirely on it, so a round that
+ * started before {@link #swap} finishes on the old game and the next one uses the new
+ * game. The play path takes no locks.
+ */
+public final class ReloadableGameEngine implements GameEngine {
+
+    private final AtomicReference<GameEngine> current;
+
+    public ReloadableGameEngine(GameEngine initial) {
+        this.current = new AtomicReference<>(initial);
+    }
+
+    @Override
+    public GameResult playGame(double bettingAmount) {
+        return current.get().playGame(bettingAmount);
+    }
+
+    @Override
+    public RoundOutcome playRound(double bettingAmount) {
+        return current.get().playRound(bettingAmount);
+    }
+
+    @Override
+    public void playGames(int rounds, double bettingAmount, ResultSink sink) {
+        current.get().playGames(rounds, bettingAmount, sink);
+    }
+
+    public GameEngine current() {
+        return current.get();
+    }
+
+    /**
+     * Publishes a new engine for rounds started from now on.
+     *
+     * @return the engine it replaces
+     */
+    public GameEngine swap(GameEngine engine) {
+        return current.getAndSet(engine);
+    }
+}
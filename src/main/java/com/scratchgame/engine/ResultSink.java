@@ -0,0 +1,10 @@
+package com.scratchgame.engine;
+
+@FunctionalInterface
+public interface ResultSink {
+
+    /**
+     * Receives each round of a batch. The outcome is only valid until this method returns.
+     */
+    void accept(RoundOutcome outcome);
+}
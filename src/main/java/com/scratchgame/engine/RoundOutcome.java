@@ -0,0 +1,87 @@
+package com.scratchgame.engine;
+
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.GameResult;
+import com.scratchgame.model.SymbolMatrix;
+
+/**
+ * Mutable view of the round just played by {@link GameEngine#playGames}. The same instance
+ * and its matrix are refilled for every round, so sinks must copy what they keep, e.g. with
+ * {@link #toGameResult()}.
+ */
+public final class RoundOutcome {
+
+    private final CompiledGame game;
+    private final SymbolMatrix matrix;
+    private final AppliedCombinations combinations;
+    private final int[] draws;
+    private double reward;
+    private int bonusSymbol = CompiledGame.NO_SYMBOL;
+
+    public RoundOutcome(CompiledGame game) {
+        this.game = game;
+        this.matrix = new SymbolMatrix(game);
+        this.combinations = new AppliedCombinations(game);
+        this.draws = new int[game.drawCount()];
+    }
+
+    public static RoundOutcome of(GameResult result) {
+        CompiledGame game = result.symbolMatrix().game();
+        RoundOutcome outcome = new RoundOutcome(game);
+        for (int cell = 0; cell < game.cellCount(); cell++) {
+            outcome.matrix.set(cell, result.symbolMatrix().symbolAt(cell));
+        }
+        result.appliedWinningCombinations().forEach((symbol, names) -> {
+            int id = game.symbolId(symbol);
+            for (String name : names) {
+                outcome.combinations.apply(id, game.combination(name));
+            }
+        });
+        outcome.complete(result.reward(), result.appliedBonusSymbol() != null
+                ? game.symbolId(result.appliedBonusSymbol())
+                : CompiledGame.NO_SYMBOL);
+        return outcome;
+    }
+
+    public CompiledGame game() {
+        return game;
+    }
+
+    public SymbolMatrix matrix() {
+        return matrix;
+    }
+
+    public AppliedCombinations combinations() {
+        return combinations;
+    }
+
+    public double reward() {
+        return reward;
+    }
+
+    /**
+     * @return id of the applied bonus symbol, or {@link CompiledGame#NO_SYMBOL}
+     */
+    public int bonusSymbol() {
+        return bonusSymbol;
+    }
+
+    public boolean isWin() {
+        return !combinations.isEmpty();
+    }
+
+    public GameResult toGameResult() {
+        return new GameResult(matrix.copy(), reward, combinations.toMap(),
+                bonusSymbol != CompiledGame.NO_SYMBOL ? game.symbolName(bonusSymbol) : null);
+    }
+
+    int[] draws() {
+        return draws;
+    }
+
+    void complete(double reward, int bonusSymbol) {
+        this.reward = reward;
+        this.bonusSymbol = bonusSymbol;
+    }
+}
@@ -0,0 +1,86 @@
+package com.scratchgame.engine;
+
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.engine.combination.CombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGenerator;
+import com.scratchgame.engine.reward.RewardCalculator;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.GameResult;
+import com.scratchgame.model.SymbolMatrix;
+import com.scratchgame.util.BonusSymbolFinder;
+import com.scratchgame.util.random.SeededRandomSource;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Plays every round from a seed, given by the caller or drawn fresh, so the same seed always
+ * plays the same round. {@link JournaledGameEngine} plays its rounds through it, and the
+ * journal is replayed through it.
+ * <p>
+ * {@link #play} draws from a {@link SeededRandomSource} and into a {@link RoundOutcome} owned
+ * by the caller, so one engine can be shared by threads that each bring their own.
+ */
+public class SeededGameEngine implements GameEngine {
+
+    private final CompiledGame game;
+    private final MatrixGenerator matrixGenerator;
+    private final CombinationMatcher combinationMatcher;
+    private final RewardCalculator rewardCalculator;
+    private final ThreadLocal<Workspace> workspaces;
+
+    public SeededGameEngine(CompiledGame game,
+                            MatrixGenerator matrixGenerator,
+                            CombinationMatcher combinationMatcher,
+                            RewardCalculator rewardCalculator) {
+        this.game = game;
+        this.matrixGenerator = matrixGenerator;
+        this.combinationMatcher = combinationMatcher;
+        this.rewardCalculator = rewardCalculator;
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(new RoundOutcome(game), new SeededRandomSource(0)));
+    }
+
+    public CompiledGame game() {
+        return game;
+    }
+
+    @Override
+    public GameResult playGame(double bettingAmount) {
+        RoundOutcome outcome = new RoundOutcome(game);
+        play(ThreadLocalRandom.current().nextLong(), bettingAmount, new SeededRandomSource(0), outcome);
+        return outcome.toGameResult();
+    }
+
+    @Override
+    public RoundOutcome playRound(double bettingAmount) {
+        Workspace workspace = workspaces.get();
+        play(ThreadLocalRandom.current().nextLong(), bettingAmount, workspace.source(), workspace.outcome());
+        return workspace.outcome();
+    }
+
+    @Override
+    public void playGames(int rounds, double bettingAmount, ResultSink sink) {
+        RoundOutcome outcome = new RoundOutcome(game);
+        SeededRandomSource source = new SeededRandomSource(0);
+        ThreadLocalRandom seeds = ThreadLocalRandom.current();
+        for (int round = 0; round < rounds; round++) {
+            play(seeds.nextLong(), bettingAmount, source, outcome);
+            sink.accept(outcome);
+        }
+    }
+
+    /**
+     * Plays the round drawn from {@code seed} into {@code outcome}, which must be of this game.
+     */
+    public void play(long seed, double bettingAmount, SeededRandomSource source, RoundOutcome outcome) {
+        SymbolMatrix matrix = outcome.matrix();
+        AppliedCombinations wins = outcome.combinations();
+        source.reset(seed);
+        matrixGenerator.generateMatrix(game, source, matrix, outcome.draws());
+        combinationMatcher.findWinningCombinations(game, matrix, wins);
+        int bonus = BonusSymbolFinder.findId(game, matrix, !wins.isEmpty());
+        outcome.complete(rewardCalculator.calculateReward(game, bettingAmount, wins, matrix, bonus), bonus);
+    }
+
+    private record Workspace(RoundOutcome outcome, SeededRandomSource source) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.scratchgame.engine.batch;
+
+/**
+ * Derives symbol counts, filled covered areas and the first bonus symbol for every round
+ * of a {@link RoundBatch} at once.
+ */
+public interface BatchMatcher {
+
+    void match(RoundBatch batch);
+
+    /**
+     * @return a matcher using the Vector API when the jdk.incubator.vector module is present,
+     * i.e. the JVM was started with {@code --add-modules jdk.incubator.vector}, or else null;
+     * without it, batches are slower than matching round by round with the bitboard matcher
+     */
+    static BatchMatcher create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return new VectorBatchMatcher();
+            } catch (LinkageError e) {
+                // Present but unusable, e.g. not exported to this module
+            }
+        }
+        return null;
+    }
+}
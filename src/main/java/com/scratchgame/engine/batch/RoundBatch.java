@@ -0,0 +1,157 @@
+package com.scratchgame.engine.batch;
+
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.CompiledWinCombination;
+import com.scratchgame.model.SymbolMatrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The matrices of up to {@link #capacity()} rounds in struct-of-arrays form, one byte per
+ * cell per round, with room for what a {@link BatchMatcher} derives from them: the count of
+ * every standard symbol, whether each covered area is filled by a standard symbol, and the
+ * first bonus symbol in row-major order.
+ * <p>
+ * Cell {@code c} of round {@code r} is at {@code c * capacity + r}, so the same cell of
+ * consecutive rounds is contiguous. The capacity is a multiple of {@value #LANE_MULTIPLE},
+ * which lets vector kernels run past the last round without a scalar tail.
+ */
+public final class RoundBatch {
+
+    static final int LANE_MULTIPLE = 64;
+
+    private final CompiledGame game;
+    private final int capacity;
+    private final int cells;
+    private final int[] standardSymbols;
+    private final int[] firstReachable;
+    private final int[][] areas;
+    private final CompiledWinCombination[] areaCombinations;
+    final byte[] symbols;
+    final byte[] counts;
+    final boolean[] areaHits;
+    final byte[] bonus;
+    private int size;
+
+    /**
+     * @throws IllegalArgumentException if the game has combinations generated from a pattern
+     *                                  family, or more than 127 cells or symbols
+     */
+    public RoundBatch(CompiledGame game, int rounds) {
+        if (!supports(game)) {
+            throw new IllegalArgumentException("Batch evaluation supports at most " + Byte.MAX_VALUE
+                    + " cells and symbols and no pattern families");
+        }
+        this.game = game;
+        this.capacity = (Math.max(rounds, 1) + LANE_MULTIPLE - 1) / LANE_MULTIPLE * LANE_MULTIPLE;
+        this.cells = game.cellCount();
+        this.standardSymbols = IntStream.range(0, game.symbolCount()).filter(game::isStandard).toArray();
+
+        CompiledWinCombination[] sameSymbols = game.sameSymbolCombinations();
+        this.firstReachable = new int[cells + 1];
+        for (int count = 0; count <= cells; count++) {
+            int k = 0;
+            while (k < sameSymbols.length && sameSymbols[k].count() > count) {
+                k++;
+            }
+            firstReachable[count] = k;
+        }
+
+        List<int[]> areaList = new ArrayList<>();
+        List<CompiledWinCombination> combinationList = new ArrayList<>();
+        for (CompiledWinCombination combination : game.linearCombinations()) {
+            for (int[] area : combination.coveredAreas()) {
+                areaList.add(area);
+                combinationList.add(combination);
+            }
+        }
+        this.areas = areaList.toArray(int[][]::new);
+        this.areaCombinations = combinationList.toArray(CompiledWinCombination[]::new);
+
+        this.symbols = new byte[cells * capacity];
+        this.counts = new byte[game.symbolCount() * capacity];
+        this.areaHits = new boolean[areas.length * capacity];
+        this.bonus = new byte[capacity];
+    }
+
+    public static boolean supports(CompiledGame game) {
+        return game.cellCount() <= Byte.MAX_VALUE
+                && game.symbolCount() <= Byte.MAX_VALUE
+                && Arrays.stream(game.linearCombinations()).allMatch(c -> c.pattern() == null);
+    }
+
+    public CompiledGame game() {
+        return game;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Starts a new batch of {@code size} rounds, filled in with {@link #set}.
+     */
+    public void reset(int size) {
+        if (size < 0 || size > capacity) {
+            throw new IllegalArgumentException("Batch size must be between 0 and " + capacity);
+        }
+        this.size = size;
+    }
+
+    public void set(int round, SymbolMatrix matrix) {
+        for (int cell = 0; cell < cells; cell++) {
+            symbols[cell * capacity + round] = (byte) matrix.symbolAt(cell);
+        }
+    }
+
+    /**
+     * Applies the combinations won in {@code round} after {@link BatchMatcher#match}, in the
+     * order {@link com.scratchgame.engine.combination.CombinationMatcherImpl} applies them.
+     */
+    public void applyWins(int round, AppliedCombinations applied) {
+        applied.clear();
+        CompiledWinCombination[] sameSymbols = game.sameSymbolCombinations();
+        for (int symbol : standardSymbols) {
+            int count = counts[symbol * capacity + round];
+            if (count == 0) {
+                continue;
+            }
+            for (int k = firstReachable[count]; k < sameSymbols.length; k++) {
+                applied.apply(symbol, sameSymbols[k]);
+            }
+        }
+        for (int area = 0; area < areas.length; area++) {
+            if (areaHits[area * capacity + round]) {
+                applied.apply(symbols[areas[area][0] * capacity + round], areaCombinations[area]);
+            }
+        }
+    }
+
+    /**
+     * @return the first bonus symbol of the round in row-major order, or
+     * {@link CompiledGame#NO_SYMBOL}
+     */
+    public int bonusSymbol(int round) {
+        return bonus[round];
+    }
+
+    int cells() {
+        return cells;
+    }
+
+    int[] standardSymbols() {
+        return standardSymbols;
+    }
+
+    int[][] areas() {
+        return areas;
+    }
+}
@@ -0,0 +1,49 @@
+package com.scratchgame.engine.batch;
+
+/**
+ * Matches a batch round by round with plain loops. The reference the vector matcher is
+ * tested against, and its fallback for games with more symbols than vector lanes.
+ */
+public class ScalarBatchMatcher implements BatchMatcher {
+
+    @Override
+    public void match(RoundBatch batch) {
+        int capacity = batch.capacity();
+        int cells = batch.cells();
+        byte[] symbols = batch.symbols;
+        for (int round = 0; round < batch.size(); round++) {
+            for (int symbol : batch.standardSymbols()) {
+                batch.counts[symbol * capacity + round] = 0;
+            }
+            int bonus = -1;
+            for (int cell = 0; cell < cells; cell++) {
+                int symbol = symbols[cell * capacity + round];
+                if (batch.game().isStandard(symbol)) {
+                    batch.counts[symbol * capacity + round]++;
+                } else if (bonus < 0 && batch.game().isBonus(symbol)) {
+                    bonus = symbol;
+                }
+            }
+            batch.bonus[round] = (byte) bonus;
+
+            int[][] areas = batch.areas();
+            for (int area = 0; area < areas.length; area++) {
+                batch.areaHits[area * capacity + round] = filled(batch, areas[area], round);
+            }
+        }
+    }
+
+    private static boolean filled(RoundBatch batch, int[] area, int round) {
+        int capacity = batch.capacity();
+        byte first = batch.symbols[area[0] * capacity + round];
+        if (!batch.game().isStandard(first)) {
+            return false;
+        }
+        for (int cell : area) {
+            if (batch.symbols[cell * capacity + round] != first) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
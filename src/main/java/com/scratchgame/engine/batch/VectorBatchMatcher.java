@@ -0,0 +1,107 @@
+package com.scratchgame.engine.batch;
+
+import com.scratchgame.model.CompiledGame;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.List;
+
+/**
+ * Matches a batch with the incubating Vector API, one lane per round, so a 512-bit register
+ * covers 64 rounds per instruction.
+ * <p>
+ * Symbol counts are masked lane-wise increments, a covered area is a chain of lane-wise
+ * comparisons with its first cell, and whether a symbol is standard or bonus is looked up
+ * with a lane permutation of a per-game table. Games with more symbols than lanes are
+ * matched by {@link ScalarBatchMatcher}. Only created by {@link BatchMatcher#create()} once
+ * the jdk.incubator.vector module is known to be present.
+ * <p>
+ * Batch capacities are multiples of {@value RoundBatch#LANE_MULTIPLE} rounds, so wider
+ * registers, as SVE hardware can have, are used at the widest shape whose lanes divide that.
+ */
+public class VectorBatchMatcher implements BatchMatcher {
+
+    private static final VectorSpecies<Byte> SPECIES = species();
+    private static final ByteVector ZERO = ByteVector.zero(SPECIES);
+    private static final ByteVector ONE = ByteVector.broadcast(SPECIES, (byte) 1);
+    private static final ByteVector NONE = ByteVector.broadcast(SPECIES, (byte) CompiledGame.NO_SYMBOL);
+
+    private final ScalarBatchMatcher scalar = new ScalarBatchMatcher();
+
+    @Override
+    public void match(RoundBatch batch) {
+        CompiledGame game = batch.game();
+        if (game.symbolCount() > SPECIES.length()) {
+            scalar.match(batch);
+            return;
+        }
+        byte[] standardFlags = new byte[SPECIES.length()];
+        byte[] bonusFlags = new byte[SPECIES.length()];
+        for (int symbol = 0; symbol < game.symbolCount(); symbol++) {
+            standardFlags[symbol] = (byte) (game.isStandard(symbol) ? 1 : 0);
+            bonusFlags[symbol] = (byte) (game.isBonus(symbol) ? 1 : 0);
+        }
+        ByteVector standard = ByteVector.fromArray(SPECIES, standardFlags, 0);
+        ByteVector bonus = ByteVector.fromArray(SPECIES, bonusFlags, 0);
+
+        for (int round = 0; round < batch.size(); round += SPECIES.length()) {
+            countSymbols(batch, round);
+            matchAreas(batch, round, standard);
+            findBonus(batch, round, bonus);
+        }
+    }
+
+    private static void countSymbols(RoundBatch batch, int round) {
+        int capacity = batch.capacity();
+        for (int symbol : batch.standardSymbols()) {
+            ByteVector count = ZERO;
+            for (int cell = 0; cell < batch.cells(); cell++) {
+                count = count.add(ONE, load(batch, cell, round).eq((byte) symbol));
+            }
+            count.intoArray(batch.counts, symbol * capacity + round);
+        }
+    }
+
+    private static void matchAreas(RoundBatch batch, int round, ByteVector standard) {
+        int[][] areas = batch.areas();
+        for (int area = 0; area < areas.length; area++) {
+            ByteVector first = load(batch, areas[area][0], round);
+            VectorMask<Byte> filled = first.selectFrom(standard).compare(VectorOperators.NE, 0);
+            for (int k = 1; k < areas[area].length; k++) {
+                filled = filled.and(load(batch, areas[area][k], round).eq(first));
+            }
+            filled.intoArray(batch.areaHits, area * batch.capacity() + round);
+        }
+    }
+
+    private static void findBonus(RoundBatch batch, int round, ByteVector bonus) {
+        ByteVector found = NONE;
+        VectorMask<Byte> seen = SPECIES.maskAll(false);
+        for (int cell = 0; cell < batch.cells() && !seen.allTrue(); cell++) {
+            ByteVector symbols = load(batch, cell, round);
+            VectorMask<Byte> first = symbols.selectFrom(bonus).compare(VectorOperators.NE, 0).andNot(seen);
+            found = found.blend(symbols, first);
+            seen = seen.or(first);
+        }
+        found.intoArray(batch.bonus, round);
+    }
+
+    private static VectorSpecies<Byte> species() {
+        VectorSpecies<Byte> preferred = ByteVector.SPECIES_PREFERRED;
+        if (RoundBatch.LANE_MULTIPLE % preferred.length() == 0) {
+            return preferred;
+        }
+        for (VectorSpecies<Byte> species : List.of(ByteVector.SPECIES_512, ByteVector.SPECIES_256, ByteVector.SPECIES_128)) {
+            if (species.length() <= preferred.length() && RoundBatch.LANE_MULTIPLE % species.length() == 0) {
+                return species;
+            }
+        }
+        return ByteVector.SPECIES_64;
+    }
+
+    private static ByteVector load(RoundBatch batch, int cell, int round) {
+        return ByteVector.fromArray(SPECIES, batch.symbols, cell * batch.capacity() + round);
+    }
+}
@@ -0,0 +1,144 @@
+package com.scratchgame.engine.combination;
+
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.CompiledWinCombination;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Reusable record of the combinations applied to each symbol of one matrix, kept as a bitset
+ * of combination ids per symbol together with the groups already used by that symbol.
+ * Meant to be cleared and refilled every round instead of allocating a result map.
+ */
+public final class AppliedCombinations {
+
+    private final CompiledGame game;
+    private final int words;
+    private final int groupWords;
+    private final long[] applied;
+    private final long[] groupsApplied;
+    private long[] occupancy = new long[0];
+    private int winningSymbols;
+
+    public AppliedCombinations(CompiledGame game) {
+        this.game = game;
+        this.words = wordsFor(game.combinations().length);
+        this.groupWords = wordsFor(game.groupCount());
+        this.applied = new long[game.symbolCount() * words];
+        this.groupsApplied = new long[game.symbolCount() * groupWords];
+    }
+
+    public CompiledGame game() {
+        return game;
+    }
+
+    public void clear() {
+        Arrays.fill(applied, 0L);
+        Arrays.fill(groupsApplied, 0L);
+        winningSymbols = 0;
+    }
+
+    /**
+     * Applies the combination to the symbol unless the symbol already won in its group.
+     *
+     * @return whether the combination was applied
+     */
+    public boolean apply(int symbol, CompiledWinCombination combination) {
+        int groupWord = symbol * groupWords + (combination.group() >>> 6);
+        long group = 1L << combination.group();
+        if ((groupsApplied[groupWord] & group) != 0) {
+            return false;
+        }
+        groupsApplied[groupWord] |= group;
+        if (!hasWins(symbol)) {
+            winningSymbols++;
+        }
+        applied[symbol * words + (combination.id() >>> 6)] |= 1L << combination.id();
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return winningSymbols == 0;
+    }
+
+    public boolean hasWins(int symbol) {
+        for (int w = 0; w < words; w++) {
+            if (applied[symbol * words + w] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the bitmask of the combination ids below 64 applied to the symbol, which is all
+     * of them when the game has at most 64 combinations
+     */
+    public long signature(int symbol) {
+        return applied[symbol * words];
+    }
+
+    public boolean contains(int symbol, int combinationId) {
+        return (applied[symbol * words + (combinationId >>> 6)] & 1L << combinationId) != 0;
+    }
+
+    /**
+     * Passes the ids of the combinations applied to the symbol in ascending order,
+     * which is also the order in which they were applied.
+     */
+    public void forEach(int symbol, IntConsumer action) {
+        for (int w = 0; w < words; w++) {
+            long bits = applied[symbol * words + w];
+            while (bits != 0) {
+                action.accept(w * Long.SIZE + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * @return the lowest id of a combination applied to the symbol that is at least
+     * {@code fromId}, or -1 if there is none, like {@link BitSet#nextSetBit}
+     */
+    public int nextApplied(int symbol, int fromId) {
+        int w = fromId >>> 6;
+        if (w >= words) {
+            return -1;
+        }
+        long bits = applied[symbol * words + w] & (-1L << fromId);
+        while (bits == 0) {
+            if (++w == words) {
+                return -1;
+            }
+            bits = applied[symbol * words + w];
+        }
+        return w * Long.SIZE + Long.numberOfTrailingZeros(bits);
+    }
+
+    public Map<String, List<String>> toMap() {
+        Map<String, List<String>> winningCombinations = new HashMap<>();
+        for (int symbol = 0; symbol < game.symbolCount(); symbol++) {
+            if (hasWins(symbol)) {
+                List<String> names = new ArrayList<>();
+                forEach(symbol, id -> names.add(game.combinations()[id].name()));
+                winningCombinations.put(game.symbolName(symbol), names);
+            }
+        }
+        return winningCombinations;
+    }
+
+    /**
+     * Scratch buffer for matchers, retained between rounds.
+     */
+    long[] occupancy(int length) {
+        if (occupancy.length < length) {
+            occupancy = new long[length];
+        }
+        return occupancy;
+    }
+
+    private static int wordsFor(int bits) {
+        return Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+    }
+}
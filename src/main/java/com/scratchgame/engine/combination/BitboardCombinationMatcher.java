@@ -0,0 +1,167 @@
+package com.scratchgame.engine.combination;
+
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.CompiledWinCombination;
+import com.scratchgame.model.SymbolMatrix;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Matches win combinations on per-symbol occupancy bitmasks.
+ * <p>
+ * One pass over the matrix sets bit {@code cell} in the mask of the symbol found there.
+ * same_symbols thresholds are then checked with {@link Long#bitCount} and each covered
+ * area is tested as {@code (mask & area) == area} on the words it touches only. Combinations
+ * generated from a pattern family are matched by scanning the family's lines instead, see
+ * {@link PatternLines}. At most 64 combinations and 64 groups are supported.
+ * Produces the same result as {@link CombinationMatcherImpl}.
+ */
+public class BitboardCombinationMatcher implements CombinationMatcher {
+
+    private static final int MAX_COMBINATIONS = Long.SIZE;
+
+    private volatile Layout layout;
+
+    public static boolean supports(CompiledGame game) {
+        return game.combinations().length <= MAX_COMBINATIONS && game.groupCount() <= MAX_COMBINATIONS;
+    }
+
+    @Override
+    public Map<String, List<String>> findWinningCombinations(CompiledGame game, SymbolMatrix matrix) {
+        AppliedCombinations applied = new AppliedCombinations(game);
+        findWinningCombinations(game, matrix, applied);
+        return applied.toMap();
+    }
+
+    @Override
+    public void findWinningCombinations(CompiledGame game, SymbolMatrix matrix, AppliedCombinations applied) {
+        Layout layout = layout(game);
+        applied.clear();
+        int length = game.symbolCount() * layout.words;
+        long[] masks = applied.occupancy(length);
+        Arrays.fill(masks, 0, length, 0L);
+        for (int cell = 0; cell < layout.cells; cell++) {
+            masks[matrix.symbolAt(cell) * layout.words + (cell >>> 6)] |= 1L << cell;
+        }
+
+        match(game, layout, matrix, masks, applied);
+    }
+
+    private void match(CompiledGame game, Layout layout, SymbolMatrix matrix, long[] masks, AppliedCombinations applied) {
+        int words = layout.words;
+
+        for (int symbol : layout.standardSymbols) {
+            int count = 0;
+            for (int w = 0; w < words; w++) {
+                count += Long.bitCount(masks[symbol * words + w]);
+            }
+            if (count == 0) {
+                continue;
+            }
+            // Combinations are sorted by descending count, so every one from the first reachable applies
+            CompiledWinCombination[] sameSymbols = game.sameSymbolCombinations();
+            for (int k = layout.firstReachable[count]; k < sameSymbols.length; k++) {
+                applied.apply(symbol, sameSymbols[k]);
+            }
+        }
+
+        CompiledWinCombination[] linear = game.linearCombinations();
+        for (int c = 0; c < linear.length; c++) {
+            CompiledWinCombination combination = linear[c];
+            if (layout.patternLines[c] != null) {
+                layout.patternLines[c].match(game, matrix, combination, applied);
+                continue;
+            }
+            long[][] areas = layout.areaMasks[c];
+            int[][] areaWords = layout.areaWords[c];
+            int[] firstCells = layout.firstCells[c];
+            for (int a = 0; a < areas.length; a++) {
+                int symbol = matrix.symbolAt(firstCells[a]);
+                if (game.isStandard(symbol) && covers(masks, symbol * words, areaWords[a], areas[a])) {
+                    applied.apply(symbol, combination);
+                }
+            }
+        }
+    }
+
+    private static boolean covers(long[] masks, int offset, int[] words, long[] area) {
+        for (int w = 0; w < area.length; w++) {
+            if ((masks[offset + words[w]] & area[w]) != area[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Layout layout(CompiledGame game) {
+        Layout current = layout;
+        if (current == null || current.game != game) {
+            current = new Layout(game);
+            layout = current;
+        }
+        return current;
+    }
+
+    private static final class Layout {
+
+        private final CompiledGame game;
+        private final int cells;
+        private final int words;
+        private final int[] standardSymbols;
+        private final int[] firstReachable;
+        private final long[][][] areaMasks;
+        private final int[][][] areaWords;
+        private final int[][] firstCells;
+        private final PatternLines[] patternLines;
+
+        private Layout(CompiledGame game) {
+            if (!supports(game)) {
+                throw new IllegalArgumentException("Bitboard matching supports at most " + MAX_COMBINATIONS
+                        + " win combinations and groups");
+            }
+            this.game = game;
+            this.cells = game.cellCount();
+            this.words = (cells + Long.SIZE - 1) / Long.SIZE;
+            this.standardSymbols = IntStream.range(0, game.symbolCount())
+                    .filter(game::isStandard)
+                    .toArray();
+            CompiledWinCombination[] sameSymbols = game.sameSymbolCombinations();
+            this.firstReachable = new int[cells + 1];
+            for (int count = 0; count <= cells; count++) {
+                int k = 0;
+                while (k < sameSymbols.length && sameSymbols[k].count() > count) {
+                    k++;
+                }
+                firstReachable[count] = k;
+            }
+
+            CompiledWinCombination[] linear = game.linearCombinations();
+            this.areaMasks = new long[linear.length][][];
+            this.areaWords = new int[linear.length][][];
+            this.firstCells = new int[linear.length][];
+            this.patternLines = new PatternLines[linear.length];
+            for (int c = 0; c < linear.length; c++) {
+                if (linear[c].pattern() != null) {
+                    patternLines[c] = new PatternLines(game, linear[c]);
+                    continue;
+                }
+                int[][] areas = linear[c].coveredAreas();
+                areaMasks[c] = new long[areas.length][];
+                areaWords[c] = new int[areas.length][];
+                firstCells[c] = new int[areas.length];
+                for (int a = 0; a < areas.length; a++) {
+                    // Only the words the area touches, so large boards cost no more per area
+                    long[] mask = new long[words];
+                    for (int cell : areas[a]) {
+                        mask[cell >>> 6] |= 1L << cell;
+                    }
+                    int[] touched = IntStream.range(0, words).filter(w -> mask[w] != 0).toArray();
+                    areaWords[c][a] = touched;
+                    areaMasks[c][a] = Arrays.stream(touched).mapToLong(w -> mask[w]).toArray();
+                    firstCells[c][a] = areas[a][0];
+                }
+            }
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package com.scratchgame.engine.combination;
 
-import com.scratchgame.model.Config;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
 
 import java.util.List;
 import java.util.Map;
 
 public interface CombinationMatcher {
 
-    Map<String, List<String>> findWinningCombinations(Config config, String[][] matrix);
+    Map<String, List<String>> findWinningCombinations(CompiledGame game, SymbolMatrix matrix);
+
+    /**
+     * Matches into a reusable result, which is cleared first.
+     */
+    default void findWinningCombinations(CompiledGame game, SymbolMatrix matrix, AppliedCombinations applied) {
+        applied.clear();
+        findWinningCombinations(game, matrix).forEach((symbol, names) -> {
+            int id = game.symbolId(symbol);
+            for (String name : names) {
+                applied.apply(id, game.combination(name));
+            }
+        });
+    }
 }
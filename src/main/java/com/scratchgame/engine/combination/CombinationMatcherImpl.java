@@ -1,161 +1,87 @@
 package com.scratchgame.engine.combination;
 
-import com.scratchgame.model.Config;
-import com.scratchgame.model.SymbolConfig;
-import com.scratchgame.model.WinCombinationConfig;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.CompiledWinCombination;
+import com.scratchgame.model.SymbolMatrix;
 
 import java.util.*;
 
 public class CombinationMatcherImpl implements CombinationMatcher {
 
-    private static final String STANDARD = "standard";
-    private static final String SAME_SYMBOLS = "same_symbols";
-    private static final String LINEAR_SYMBOLS = "linear_symbols";
-    private static final String SPLIT_REGEX = ":";
-
     @Override
-    public Map<String, List<String>> findWinningCombinations(Config config, String[][] matrix) {
-        Map<String, Integer> symbolCounts = countStandardSymbols(config, matrix);
+    public Map<String, List<String>> findWinningCombinations(CompiledGame game, SymbolMatrix matrix) {
+        Map<String, Integer> symbolCounts = countStandardSymbols(game, matrix);
         Map<String, List<String>> winningCombinations = new HashMap<>();
-        Map<String, Set<String>> groupsAppliedPerSymbol = new HashMap<>();
+        Map<String, Set<Integer>> groupsAppliedPerSymbol = new HashMap<>();
 
-        applyCountBasedWins(config, symbolCounts, winningCombinations, groupsAppliedPerSymbol);
-        applyPatternWins(config, matrix, winningCombinations, groupsAppliedPerSymbol);
+        applyCountBasedWins(game, symbolCounts, winningCombinations, groupsAppliedPerSymbol);
+        applyPatternWins(game, matrix, winningCombinations, groupsAppliedPerSymbol);
 
         return winningCombinations;
     }
 
-    private Map<String, Integer> countStandardSymbols(Config config, String[][] matrix) {
+    private Map<String, Integer> countStandardSymbols(CompiledGame game, SymbolMatrix matrix) {
         Map<String, Integer> counts = new HashMap<>();
 
-        for (int i = 0; i < config.rows(); i++) {
-            for (int j = 0; j < config.columns(); j++) {
-                String symbol = matrix[i][j];
-                SymbolConfig sc = config.symbols().get(symbol);
-                if (sc != null && STANDARD.equals(sc.type())) {
-                    counts.merge(symbol, 1, Integer::sum);
-                }
+        for (int cell = 0; cell < matrix.cellCount(); cell++) {
+            int symbol = matrix.symbolAt(cell);
+            if (game.isStandard(symbol)) {
+                counts.merge(game.symbolName(symbol), 1, Integer::sum);
             }
         }
 
         return counts;
     }
 
-    private void applyCountBasedWins(Config config,
+    private void applyCountBasedWins(CompiledGame game,
                                      Map<String, Integer> symbolCounts,
                                      Map<String, List<String>> winningCombinations,
-                                     Map<String, Set<String>> groupsAppliedPerSymbol) {
-
-        config.winCombinations().entrySet().stream()
-                .filter(entry -> SAME_SYMBOLS.equals(entry.getValue().when()))
-                .sorted((a, b) -> Integer.compare(b.getValue().count(), a.getValue().count()))
-                .forEach(entry -> {
-                    String winName = entry.getKey();
-                    WinCombinationConfig winConfig = entry.getValue();
-
-                    symbolCounts.entrySet().stream()
-                            .filter(e -> e.getValue() >= winConfig.count())
-                            .forEach(e -> {
-                                String symbol = e.getKey();
-                                Set<String> groupsForSymbol = groupsAppliedPerSymbol
-                                        .computeIfAbsent(symbol, k -> new HashSet<>());
-
-                                if (!groupsForSymbol.contains(winConfig.group())) {
-                                    winningCombinations
-                                            .computeIfAbsent(symbol, k -> new ArrayList<>())
-                                            .add(winName);
-                                    groupsForSymbol.add(winConfig.group());
-                                }
-                            });
-                });
+                                     Map<String, Set<Integer>> groupsAppliedPerSymbol) {
+
+        // Already ordered by descending count at compile time
+        Arrays.stream(game.sameSymbolCombinations()).forEach(winConfig ->
+                symbolCounts.entrySet().stream()
+                        .filter(e -> e.getValue() >= winConfig.count())
+                        .forEach(e -> apply(e.getKey(), winConfig, winningCombinations, groupsAppliedPerSymbol)));
     }
 
-    private void applyPatternWins(Config config,
-                                  String[][] matrix,
+    private void applyPatternWins(CompiledGame game,
+                                  SymbolMatrix matrix,
                                   Map<String, List<String>> winningCombinations,
-                                  Map<String, Set<String>> groupsAppliedPerSymbol) {
-
-        config.winCombinations().entrySet().stream()
-                .filter(entry -> LINEAR_SYMBOLS.equals(entry.getValue().when()))
-                .filter(entry -> entry.getValue().coveredAreas() != null)
-                .forEach(entry -> {
-                    String winName = entry.getKey();
-                    WinCombinationConfig winConfig = entry.getValue();
-
-                    winConfig.coveredAreas().forEach(area -> {
-                        if (isValidLinearCombination(config, area, matrix)) {
-                            String[] firstCell = area.get(0).split(SPLIT_REGEX);
-                            int row = Integer.parseInt(firstCell[0]);
-                            int col = Integer.parseInt(firstCell[1]);
-
-                            // Verify the cell exists in matrix bounds
-                            if (row >= 0 && row < matrix.length && col >= 0 && col < matrix[0].length) {
-
-                                String matchedSymbol = matrix[row][col];
-                                SymbolConfig symbolConfig = config.symbols().get(matchedSymbol);
-
-                                // Only apply to standard symbols
-                                if (symbolConfig != null && STANDARD.equals(symbolConfig.type())) {
-                                    Set<String> groupsForSymbol = groupsAppliedPerSymbol
-                                            .computeIfAbsent(matchedSymbol, k -> new HashSet<>());
-
-                                    if (!groupsForSymbol.contains(winConfig.group())) {
-                                        winningCombinations
-                                                .computeIfAbsent(matchedSymbol, k -> new ArrayList<>())
-                                                .add(winName);
-                                        groupsForSymbol.add(winConfig.group());
-                                    }
-                                }
-                            }
-                        }
-                    });
-                });
-    }
+                                  Map<String, Set<Integer>> groupsAppliedPerSymbol) {
 
-    private boolean isValidLinearCombination(Config config, List<String> area, String[][] matrix) {
-        if (area == null || area.isEmpty()) {
-            return false;
-        }
+        Arrays.stream(game.linearCombinations()).forEach(winConfig -> {
+            for (int[] area : winConfig.coveredAreas()) {
+                if (isValidLinearCombination(game, area, matrix)) {
+                    String matchedSymbol = game.symbolName(matrix.symbolAt(area[0]));
+                    apply(matchedSymbol, winConfig, winningCombinations, groupsAppliedPerSymbol);
+                }
+            }
+        });
+    }
 
-        String[] firstCell = area.get(0).split(SPLIT_REGEX);
-        int firstRow = Integer.parseInt(firstCell[0]);
-        int firstCol = Integer.parseInt(firstCell[1]);
+    private void apply(String symbol,
+                       CompiledWinCombination winConfig,
+                       Map<String, List<String>> winningCombinations,
+                       Map<String, Set<Integer>> groupsAppliedPerSymbol) {
+        Set<Integer> groupsForSymbol = groupsAppliedPerSymbol.computeIfAbsent(symbol, k -> new HashSet<>());
 
-        // Verify first cell exists and is standard symbol
-        if (firstRow >= matrix.length || firstCol >= matrix[0].length) {
-            return false;
+        if (groupsForSymbol.add(winConfig.group())) {
+            winningCombinations
+                    .computeIfAbsent(symbol, k -> new ArrayList<>())
+                    .add(winConfig.name());
         }
+    }
 
-        String firstSymbol = matrix[firstRow][firstCol];
-        SymbolConfig firstSymbolConfig = config.symbols().get(firstSymbol);
-        if (firstSymbolConfig == null || !STANDARD.equals(firstSymbolConfig.type())) {
+    private boolean isValidLinearCombination(CompiledGame game, int[] area, SymbolMatrix matrix) {
+        int firstSymbol = matrix.symbolAt(area[0]);
+        if (!game.isStandard(firstSymbol)) {
             return false;
         }
 
         // Check all cells in area match the first symbol
-        for (String cell : area) {
-            String[] coords = cell.split(SPLIT_REGEX);
-            int row = Integer.parseInt(coords[0]);
-            int col = Integer.parseInt(coords[1]);
-
-            String symbol = matrix[Integer.parseInt(coords[0])][Integer.parseInt(coords[1])];
-            if (!symbol.equals(firstSymbol) || !STANDARD.equals(config.symbols().get(symbol).type())) {
-                return false;
-            }
-
-            // Check bounds
-            if (row >= matrix.length || col >= matrix[0].length) {
-                return false;
-            }
-
-            // Check symbol matches
-            if (!firstSymbol.equals(matrix[row][col])) {
-                return false;
-            }
-
-            // Check symbol type
-            SymbolConfig currentConfig = config.symbols().get(matrix[row][col]);
-            if (currentConfig == null || !STANDARD.equals(currentConfig.type())) {
+        for (int cell : area) {
+            if (matrix.symbolAt(cell) != firstSymbol) {
                 return false;
             }
         }
@@ -0,0 +1,79 @@
+package com.scratchgame.engine.combination;
+
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.CompiledWinCombination;
+import com.scratchgame.model.PatternFamily;
+import com.scratchgame.model.SymbolMatrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The lines of a {@link PatternFamily} combination on one board.
+ * <p>
+ * A symbol fills one of the family's areas exactly when it has a run of the window length
+ * along one of these lines, so a single run-length scan per line replaces testing every
+ * area. Each direction visits a cell at most once and a line is left as soon as the cells
+ * remaining cannot hold a full window, which keeps matching linear in the cell count.
+ */
+final class PatternLines {
+
+    private final int window;
+    private final int[] starts;
+    private final int[] steps;
+    private final int[] lengths;
+
+    PatternLines(CompiledGame game, CompiledWinCombination combination) {
+        int rows = game.rows();
+        int columns = game.columns();
+        this.window = combination.pattern().windowLength(rows, columns, combination.count());
+        List<int[]> lines = new ArrayList<>();
+        for (int[] direction : combination.pattern().directions()) {
+            int dr = direction[0];
+            int dc = direction[1];
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < columns; col++) {
+                    int previousRow = row - dr;
+                    int previousCol = col - dc;
+                    if (previousRow >= 0 && previousCol >= 0 && previousCol < columns) {
+                        // Not the first cell of its line
+                        continue;
+                    }
+                    int length = 0;
+                    for (int r = row, c = col; r < rows && c >= 0 && c < columns; r += dr, c += dc) {
+                        length++;
+                    }
+                    if (length >= window) {
+                        lines.add(new int[]{row * columns + col, dr * columns + dc, length});
+                    }
+                }
+            }
+        }
+        this.starts = lines.stream().mapToInt(line -> line[0]).toArray();
+        this.steps = lines.stream().mapToInt(line -> line[1]).toArray();
+        this.lengths = lines.stream().mapToInt(line -> line[2]).toArray();
+    }
+
+    void match(CompiledGame game, SymbolMatrix matrix, CompiledWinCombination combination, AppliedCombinations applied) {
+        for (int line = 0; line < starts.length; line++) {
+            int cell = starts[line];
+            int step = steps[line];
+            int length = lengths[line];
+            int symbol = CompiledGame.NO_SYMBOL;
+            int run = 0;
+            for (int k = 0; k < length; k++, cell += step) {
+                int current = matrix.symbolAt(cell);
+                if (current != symbol) {
+                    if (length - k < window) {
+                        break;
+                    }
+                    symbol = current;
+                    run = 0;
+                }
+                if (++run == window && game.isStandard(symbol)) {
+                    applied.apply(symbol, combination);
+                }
+            }
+        }
+    }
+}
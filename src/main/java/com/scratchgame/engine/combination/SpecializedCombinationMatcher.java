@@ -0,0 +1,196 @@
+package com.scratchgame.engine.combination;
+
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.CompiledWinCombination;
+import com.scratchgame.model.SymbolMatrix;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches win combinations with one {@link MethodHandle} composed for the game when it is
+ * first seen.
+ * <p>
+ * Every check the generic matcher interprets from the config becomes its own guard with the
+ * symbol, threshold or cell bound as a constant: one guard per standard symbol and
+ * same_symbols threshold, and per covered area a chain of guards comparing each cell with
+ * the first. The guards are joined into a single straight-line handle, which the JIT
+ * customizes and compiles with those constants folded in. Combinations generated from a
+ * pattern family are matched by scanning the family's lines, see {@link PatternLines}.
+ * Produces the same result as {@link CombinationMatcherImpl}.
+ */
+public class SpecializedCombinationMatcher implements CombinationMatcher {
+
+    // (matrix, applied, counts) -> void
+    private static final MethodType EVALUATOR = MethodType.methodType(void.class,
+            SymbolMatrix.class, AppliedCombinations.class, long[].class);
+
+    private static final MethodHandle REACHED;
+    private static final MethodHandle APPLY;
+    private static final MethodHandle STANDARD_AT;
+    private static final MethodHandle SAME;
+    private static final MethodHandle APPLY_AT;
+    private static final MethodHandle MATCH_PATTERN;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            REACHED = lookup.findStatic(SpecializedCombinationMatcher.class, "reached",
+                    MethodType.methodType(boolean.class, long[].class, int.class, int.class));
+            APPLY = lookup.findStatic(SpecializedCombinationMatcher.class, "apply",
+                    MethodType.methodType(void.class, AppliedCombinations.class, int.class, CompiledWinCombination.class));
+            STANDARD_AT = lookup.findStatic(SpecializedCombinationMatcher.class, "standardAt",
+                    MethodType.methodType(boolean.class, SymbolMatrix.class, boolean[].class, int.class));
+            SAME = lookup.findStatic(SpecializedCombinationMatcher.class, "same",
+                    MethodType.methodType(boolean.class, SymbolMatrix.class, int.class, int.class));
+            APPLY_AT = lookup.findStatic(SpecializedCombinationMatcher.class, "applyAt",
+                    MethodType.methodType(void.class, SymbolMatrix.class, AppliedCombinations.class, int.class,
+                            CompiledWinCombination.class));
+            MATCH_PATTERN = lookup.findVirtual(PatternLines.class, "match",
+                    MethodType.methodType(void.class, CompiledGame.class, SymbolMatrix.class,
+                            CompiledWinCombination.class, AppliedCombinations.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Evaluator evaluator;
+
+    @Override
+    public Map<String, List<String>> findWinningCombinations(CompiledGame game, SymbolMatrix matrix) {
+        AppliedCombinations applied = new AppliedCombinations(game);
+        findWinningCombinations(game, matrix, applied);
+        return applied.toMap();
+    }
+
+    @Override
+    public void findWinningCombinations(CompiledGame game, SymbolMatrix matrix, AppliedCombinations applied) {
+        Evaluator current = evaluator(game);
+        applied.clear();
+        int symbols = game.symbolCount();
+        long[] counts = applied.occupancy(symbols);
+        Arrays.fill(counts, 0, symbols, 0L);
+        for (int cell = 0; cell < current.cells; cell++) {
+            counts[matrix.symbolAt(cell)]++;
+        }
+        try {
+            current.handle.invokeExact(matrix, applied, counts);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Evaluator evaluator(CompiledGame game) {
+        Evaluator current = evaluator;
+        if (current == null || current.game != game) {
+            current = new Evaluator(game, compose(game));
+            evaluator = current;
+        }
+        return current;
+    }
+
+    static MethodHandle compose(CompiledGame game) {
+        List<MethodHandle> steps = new ArrayList<>();
+
+        // Thresholds are sorted by descending count, so each symbol applies them in config order
+        for (int symbol = 0; symbol < game.symbolCount(); symbol++) {
+            if (!game.isStandard(symbol)) {
+                continue;
+            }
+            for (CompiledWinCombination combination : game.sameSymbolCombinations()) {
+                MethodHandle reached = MethodHandles.insertArguments(REACHED, 1, symbol, Math.max(combination.count(), 1));
+                MethodHandle apply = MethodHandles.insertArguments(APPLY, 1, symbol, combination);
+                steps.add(guard(MethodHandles.dropArguments(reached, 0, SymbolMatrix.class, AppliedCombinations.class),
+                        MethodHandles.dropArguments(MethodHandles.dropArguments(apply, 0, SymbolMatrix.class),
+                                2, long[].class)));
+            }
+        }
+
+        boolean[] standard = new boolean[game.symbolCount()];
+        for (int symbol = 0; symbol < standard.length; symbol++) {
+            standard[symbol] = game.isStandard(symbol);
+        }
+        for (CompiledWinCombination combination : game.linearCombinations()) {
+            if (combination.pattern() != null) {
+                MethodHandle match = MethodHandles.insertArguments(MATCH_PATTERN, 0,
+                        new PatternLines(game, combination), game);
+                match = MethodHandles.insertArguments(match, 1, combination);
+                steps.add(MethodHandles.dropArguments(match, 2, long[].class));
+                continue;
+            }
+            for (int[] area : combination.coveredAreas()) {
+                steps.add(area(standard, area, combination));
+            }
+        }
+        return sequence(steps, 0, steps.size());
+    }
+
+    /**
+     * Applies the combination when the area's first cell holds a standard symbol that fills
+     * every other cell, testing the cells one guard each.
+     */
+    private static MethodHandle area(boolean[] standard, int[] area, CompiledWinCombination combination) {
+        int first = area[0];
+        MethodHandle step = MethodHandles.dropArguments(MethodHandles.insertArguments(APPLY_AT, 2, first, combination),
+                2, long[].class);
+        for (int a = area.length - 1; a > 0; a--) {
+            if (area[a] != first) {
+                step = guard(MethodHandles.insertArguments(SAME, 1, first, area[a]), step);
+            }
+        }
+        return guard(MethodHandles.insertArguments(STANDARD_AT, 1, standard, first), step);
+    }
+
+    private static MethodHandle guard(MethodHandle test, MethodHandle step) {
+        return MethodHandles.guardWithTest(test, step, MethodHandles.empty(EVALUATOR));
+    }
+
+    /**
+     * Joins the steps in order as a balanced tree, so large games do not build deep handles.
+     */
+    private static MethodHandle sequence(List<MethodHandle> steps, int from, int to) {
+        if (from == to) {
+            return MethodHandles.empty(EVALUATOR);
+        }
+        if (to - from == 1) {
+            return steps.get(from);
+        }
+        int middle = (from + to) >>> 1;
+        return MethodHandles.foldArguments(sequence(steps, middle, to), sequence(steps, from, middle));
+    }
+
+    private static boolean reached(long[] counts, int symbol, int threshold) {
+        return counts[symbol] >= threshold;
+    }
+
+    private static void apply(AppliedCombinations applied, int symbol, CompiledWinCombination combination) {
+        applied.apply(symbol, combination);
+    }
+
+    private static boolean standardAt(SymbolMatrix matrix, boolean[] standard, int cell) {
+        return standard[matrix.symbolAt(cell)];
+    }
+
+    private static boolean same(SymbolMatrix matrix, int first, int cell) {
+        return matrix.symbolAt(cell) == matrix.symbolAt(first);
+    }
+
+    private static void applyAt(SymbolMatrix matrix, AppliedCombinations applied, int cell,
+                                CompiledWinCombination combination) {
+        applied.apply(matrix.symbolAt(cell), combination);
+    }
+
+    private record Evaluator(CompiledGame game, MethodHandle handle, int cells) {
+
+        private Evaluator(CompiledGame game, MethodHandle handle) {
+            this(game, handle, game.cellCount());
+        }
+    }
+}
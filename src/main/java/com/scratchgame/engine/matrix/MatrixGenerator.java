@@ -1,8 +1,38 @@
 package com.scratchgame.engine.matrix;
 
-import com.scratchgame.model.Config;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
+import com.scratchgame.util.random.RandomSource;
 
 public interface MatrixGenerator {
 
-    String[][] generateMatrix(Config config);
+    SymbolMatrix generateMatrix(CompiledGame game);
+
+    /**
+     * Generates a matrix drawing from the given source instead of the generator's own,
+     * e.g. a per-worker stream or a seeded stream to replay a round.
+     */
+    SymbolMatrix generateMatrix(CompiledGame game, RandomSource randomSource);
+
+    /**
+     * Generates into an existing matrix, using {@code draws} as scratch space for at least
+     * {@link CompiledGame#drawCount()} values, so that rounds can be played without allocation.
+     */
+    default void generateMatrix(CompiledGame game, SymbolMatrix matrix, int[] draws) {
+        SymbolMatrix generated = generateMatrix(game);
+        for (int cell = 0; cell < matrix.cellCount(); cell++) {
+            matrix.set(cell, generated.symbolAt(cell));
+        }
+    }
+
+    /**
+     * Generates into an existing matrix drawing from the given source, e.g. to play or
+     * replay a round from a recorded seed without allocation.
+     */
+    default void generateMatrix(CompiledGame game, RandomSource randomSource, SymbolMatrix matrix, int[] draws) {
+        SymbolMatrix generated = generateMatrix(game, randomSource);
+        for (int cell = 0; cell < matrix.cellCount(); cell++) {
+            matrix.set(cell, generated.symbolAt(cell));
+        }
+    }
 }
@@ -1,66 +1,67 @@
 package com.scratchgame.engine.matrix;
 
-import com.scratchgame.model.CellProbability;
-import com.scratchgame.model.Config;
-import com.scratchgame.util.random.JavaRandomSource;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
+import com.scratchgame.util.random.RandomAlgorithm;
 import com.scratchgame.util.random.RandomSource;
-
-import java.util.List;
-import java.util.Map;
+import com.scratchgame.util.random.ThreadLocalRandomSource;
+import com.scratchgame.util.sampling.SamplingStrategy;
+import com.scratchgame.util.sampling.SymbolSampler;
 
 public class MatrixGeneratorImpl implements MatrixGenerator {
 
     private final RandomSource randomSource;
+    private final SamplingStrategy samplingStrategy;
 
     public MatrixGeneratorImpl() {
-        this.randomSource = new JavaRandomSource();
+        this(new ThreadLocalRandomSource(RandomAlgorithm.L64X128_MIX));
     }
 
-    public String[][] generateMatrix(Config config) {
-        int rows = config.rows();
-        int cols = config.columns();
-        String[][] matrix = new String[rows][cols];
-        List<CellProbability> stdSymbols = config.probabilities().standardSymbols();
-        CellProbability defaultCellProb = stdSymbols.isEmpty() ? null : stdSymbols.get(0);
+    public MatrixGeneratorImpl(RandomSource randomSource) {
+        this(randomSource, SamplingStrategy.ALIAS);
+    }
 
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                CellProbability cellProb = findCellProbability(stdSymbols, i, j);
-                if (cellProb == null) cellProb = defaultCellProb;
-                if (cellProb == null) {
-                    throw new RuntimeException("No standard symbol probability defined for cell (" + i + "," + j + ")");
-                }
-                matrix[i][j] = selectSymbol(cellProb.symbols());
-            }
-        }
+    public MatrixGeneratorImpl(RandomSource randomSource, SamplingStrategy samplingStrategy) {
+        this.randomSource = randomSource;
+        this.samplingStrategy = samplingStrategy;
+    }
 
-        int bonusRow = randomSource.nextInt(rows);
-        int bonusCol = randomSource.nextInt(cols);
-        String bonusSymbol = selectSymbol(config.probabilities().bonusSymbols().symbols());
-        matrix[bonusRow][bonusCol] = bonusSymbol;
+    @Override
+    public SymbolMatrix generateMatrix(CompiledGame game) {
+        return generateMatrix(game, randomSource);
+    }
 
+    @Override
+    public SymbolMatrix generateMatrix(CompiledGame game, RandomSource randomSource) {
+        SymbolMatrix matrix = new SymbolMatrix(game);
+        generate(game, randomSource, matrix, new int[game.drawCount()]);
         return matrix;
     }
 
-    private CellProbability findCellProbability(List<CellProbability> stdSymbols, int row, int col) {
-        for (CellProbability cp : stdSymbols) {
-            if (cp.row() == row && cp.column() == col) {
-                return cp;
-            }
-        }
-        return null;
+    @Override
+    public void generateMatrix(CompiledGame game, SymbolMatrix matrix, int[] draws) {
+        generate(game, randomSource, matrix, draws);
+    }
+
+    @Override
+    public void generateMatrix(CompiledGame game, RandomSource randomSource, SymbolMatrix matrix, int[] draws) {
+        generate(game, randomSource, matrix, draws);
     }
 
-    private String selectSymbol(Map<String, Integer> symbolWeights) {
-        int totalWeight = symbolWeights.values().stream().mapToInt(Integer::intValue).sum();
-        int randomValue = randomSource.nextInt(totalWeight);
-        int cumulative = 0;
-        for (Map.Entry<String, Integer> entry : symbolWeights.entrySet()) {
-            cumulative += entry.getValue();
-            if (randomValue < cumulative) {
-                return entry.getKey();
-            }
+    private void generate(CompiledGame game, RandomSource randomSource, SymbolMatrix matrix, int[] draws) {
+        int cells = game.cellCount();
+        int cols = game.columns();
+        SymbolSampler[] cellSamplers = game.cellSamplers(samplingStrategy);
+        int[] bounds = game.drawBounds(samplingStrategy);
+        randomSource.fill(bounds, draws, bounds.length);
+
+        for (int cell = 0; cell < cells; cell++) {
+            matrix.set(cell, cellSamplers[cell].sample(draws[cell]));
         }
-        return null;
+
+        int bonusRow = draws[cells];
+        int bonusCol = draws[cells + 1];
+        int bonusSymbol = game.bonusSampler(samplingStrategy).sample(draws[cells + 2]);
+        matrix.set(bonusRow * cols + bonusCol, bonusSymbol);
     }
 }
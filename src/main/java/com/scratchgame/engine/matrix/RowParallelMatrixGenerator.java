@@ -0,0 +1,122 @@
+package com.scratchgame.engine.matrix;
+
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
+import com.scratchgame.util.random.RandomSource;
+import com.scratchgame.util.sampling.SamplingStrategy;
+import com.scratchgame.util.sampling.SymbolSampler;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates large boards in bands of rows on a {@link ForkJoinPool}.
+ * <p>
+ * Boards of at least {@code threshold} cells are split into bands of rows sampled in
+ * parallel, each drawing from the {@link ThreadLocalRandom} of the worker running it; the
+ * bonus cell is then drawn on the calling thread. Smaller boards, and every call given its
+ * own {@link RandomSource}, go to the sequential generator, so seeded rounds stay
+ * reproducible.
+ */
+public class RowParallelMatrixGenerator implements MatrixGenerator {
+
+    public static final int DEFAULT_THRESHOLD = 64 * 64;
+    private static final int MIN_BAND_CELLS = 1024;
+
+    private final MatrixGenerator sequential;
+    private final SamplingStrategy samplingStrategy;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public RowParallelMatrixGenerator(MatrixGenerator sequential) {
+        this(sequential, SamplingStrategy.ALIAS, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public RowParallelMatrixGenerator(MatrixGenerator sequential,
+                                      SamplingStrategy samplingStrategy,
+                                      ForkJoinPool pool,
+                                      int threshold) {
+        this.sequential = sequential;
+        this.samplingStrategy = samplingStrategy;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public SymbolMatrix generateMatrix(CompiledGame game) {
+        if (game.cellCount() < threshold) {
+            return sequential.generateMatrix(game);
+        }
+        SymbolMatrix matrix = new SymbolMatrix(game);
+        generate(game, matrix);
+        return matrix;
+    }
+
+    @Override
+    public SymbolMatrix generateMatrix(CompiledGame game, RandomSource randomSource) {
+        return sequential.generateMatrix(game, randomSource);
+    }
+
+    @Override
+    public void generateMatrix(CompiledGame game, SymbolMatrix matrix, int[] draws) {
+        if (game.cellCount() < threshold) {
+            sequential.generateMatrix(game, matrix, draws);
+        } else {
+            generate(game, matrix);
+        }
+    }
+
+    @Override
+    public void generateMatrix(CompiledGame game, RandomSource randomSource, SymbolMatrix matrix, int[] draws) {
+        sequential.generateMatrix(game, randomSource, matrix, draws);
+    }
+
+    private void generate(CompiledGame game, SymbolMatrix matrix) {
+        SymbolSampler[] samplers = game.cellSamplers(samplingStrategy);
+        int bandRows = Math.max(1, MIN_BAND_CELLS / game.columns());
+        pool.invoke(new Band(game, samplers, matrix, 0, game.rows(), bandRows));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int bonusRow = random.nextInt(game.rows());
+        int bonusCol = random.nextInt(game.columns());
+        SymbolSampler bonusSampler = game.bonusSampler(samplingStrategy);
+        matrix.set(bonusRow * game.columns() + bonusCol, bonusSampler.sample(random.nextInt(bonusSampler.bound())));
+    }
+
+    private static final class Band extends RecursiveAction {
+
+        private final CompiledGame game;
+        private final SymbolSampler[] samplers;
+        private final SymbolMatrix matrix;
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+
+        private Band(CompiledGame game, SymbolSampler[] samplers, SymbolMatrix matrix, int fromRow, int toRow, int bandRows) {
+            this.game = game;
+            this.samplers = samplers;
+            this.matrix = matrix;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow > bandRows) {
+                int middle = (fromRow + toRow) >>> 1;
+                invokeAll(new Band(game, samplers, matrix, fromRow, middle, bandRows),
+                        new Band(game, samplers, matrix, middle, toRow, bandRows));
+                return;
+            }
+            // Bands write disjoint cells; invoke() publishes them to the caller when it returns
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int end = toRow * game.columns();
+            for (int cell = fromRow * game.columns(); cell < end; cell++) {
+                SymbolSampler sampler = samplers[cell];
+                matrix.set(cell, sampler.sample(random.nextInt(sampler.bound())));
+            }
+        }
+    }
+}
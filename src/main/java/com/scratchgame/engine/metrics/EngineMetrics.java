@@ -0,0 +1,27 @@
+package com.scratchgame.engine.metrics;
+
+/**
+ * Receives timings and outcomes of played rounds. Implementations must be safe for
+ * concurrent use, since one engine is shared by many threads.
+ */
+public interface EngineMetrics {
+
+    /**
+     * When false the engine skips all timing, so a disabled instance costs one branch per round.
+     */
+    boolean enabled();
+
+    /**
+     * Called before a round starts.
+     *
+     * @return an allocation mark to pass back to {@link #recordRound}, or -1 if the round is not sampled
+     */
+    long startRound();
+
+    void recordStage(Stage stage, long nanos);
+
+    /**
+     * @param bonusSymbol id of the applied bonus symbol, or {@link com.scratchgame.model.CompiledGame#NO_SYMBOL}
+     */
+    void recordRound(long allocationMark, long nanos, boolean win, int bonusSymbol);
+}
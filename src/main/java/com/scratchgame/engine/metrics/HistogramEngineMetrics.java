@@ -0,0 +1,134 @@
+package com.scratchgame.engine.metrics;
+
+import com.scratchgame.model.CompiledGame;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records stage latencies in {@link LatencyHistogram}s and round outcomes in striped counters.
+ * <p>
+ * Allocation per round is estimated from the thread's allocated byte counter on one round in
+ * {@value #ALLOCATION_SAMPLE_RATE}, since reading it costs about as much as a stage. Threads
+ * for which the JVM keeps no counter, such as virtual threads, are not sampled.
+ */
+public final class HistogramEngineMetrics implements EngineMetrics {
+
+    static final int ALLOCATION_SAMPLE_RATE = 64;
+
+    private final CompiledGame game;
+    private final LatencyHistogram[] stages = new LatencyHistogram[Stage.values().length];
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder winningRounds = new LongAdder();
+    private final AtomicLongArray bonusHits;
+    private final LongAdder sampledRounds = new LongAdder();
+    private final LongAdder sampledBytes = new LongAdder();
+    private final com.sun.management.ThreadMXBean threads;
+
+    public HistogramEngineMetrics(CompiledGame game) {
+        this.game = game;
+        for (int i = 0; i < stages.length; i++) {
+            stages[i] = new LatencyHistogram();
+        }
+        this.bonusHits = new AtomicLongArray(game.symbolCount());
+        this.threads = allocationCounter();
+    }
+
+    @Override
+    public boolean enabled() {
+        return true;
+    }
+
+    @Override
+    public long startRound() {
+        if (threads == null || ThreadLocalRandom.current().nextInt(ALLOCATION_SAMPLE_RATE) != 0) {
+            return -1;
+        }
+        return threads.getCurrentThreadAllocatedBytes();
+    }
+
+    @Override
+    public void recordStage(Stage stage, long nanos) {
+        stages[stage.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void recordRound(long allocationMark, long nanos, boolean win, int bonusSymbol) {
+        stages[Stage.ROUND.ordinal()].record(nanos);
+        rounds.increment();
+        if (win) {
+            winningRounds.increment();
+        }
+        if (bonusSymbol != CompiledGame.NO_SYMBOL) {
+            bonusHits.incrementAndGet(bonusSymbol);
+        }
+        if (allocationMark >= 0) {
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            if (allocated >= allocationMark) {
+                sampledBytes.add(allocated - allocationMark);
+                sampledRounds.increment();
+            }
+        }
+    }
+
+    public CompiledGame game() {
+        return game;
+    }
+
+    public LatencyHistogram.Snapshot latency(Stage stage) {
+        return stages[stage.ordinal()].snapshot();
+    }
+
+    public long rounds() {
+        return rounds.sum();
+    }
+
+    public long winningRounds() {
+        return winningRounds.sum();
+    }
+
+    /**
+     * @return how often each bonus symbol was applied, indexed by symbol id
+     */
+    public long[] bonusHits() {
+        long[] hits = new long[bonusHits.length()];
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = bonusHits.get(i);
+        }
+        return hits;
+    }
+
+    /**
+     * @return estimated bytes allocated per round, or NaN if no round was sampled
+     */
+    public double allocatedBytesPerRound() {
+        long sampled = sampledRounds.sum();
+        return sampled == 0 ? Double.NaN : (double) sampledBytes.sum() / sampled;
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : stages) {
+            histogram.reset();
+        }
+        rounds.reset();
+        winningRounds.reset();
+        for (int i = 0; i < bonusHits.length(); i++) {
+            bonusHits.set(i, 0L);
+        }
+        sampledRounds.reset();
+        sampledBytes.reset();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean counter
+                && counter.isThreadAllocatedMemorySupported()
+                && counter.isThreadAllocatedMemoryEnabled()) {
+            return counter;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.scratchgame.engine.metrics;
+
+public final class NoOpEngineMetrics implements EngineMetrics {
+
+    public static final NoOpEngineMetrics INSTANCE = new NoOpEngineMetrics();
+
+    private NoOpEngineMetrics() {
+    }
+
+    @Override
+    public boolean enabled() {
+        return false;
+    }
+
+    @Override
+    public long startRound() {
+        return -1;
+    }
+
+    @Override
+    public void recordStage(Stage stage, long nanos) {
+    }
+
+    @Override
+    public void recordRound(long allocationMark, long nanos, boolean win, int bonusSymbol) {
+    }
+}
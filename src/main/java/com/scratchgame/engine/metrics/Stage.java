@@ -0,0 +1,13 @@
+package com.scratchgame.engine.metrics;
+
+public enum Stage {
+    MATRIX_GENERATION,
+    COMBINATION_MATCHING,
+    REWARD_CALCULATION,
+    BONUS_LOOKUP,
+    ROUND;
+
+    public String label() {
+        return name().toLowerCase();
+    }
+}
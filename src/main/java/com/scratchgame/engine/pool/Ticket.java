@@ -0,0 +1,27 @@
+package com.scratchgame.engine.pool;
+
+import com.scratchgame.engine.reward.PayoutTable;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.GameResult;
+import com.scratchgame.model.SymbolMatrix;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fully evaluated round waiting to be played for some bet.
+ *
+ * @param factors reward of a unit bet before the bonus, see {@link PayoutTable#factors}
+ */
+record Ticket(SymbolMatrix matrix, Map<String, List<String>> wins, int bonusSymbol, double factors) {
+
+    GameResult play(PayoutTable payouts, double bettingAmount) {
+        CompiledGame game = matrix.game();
+        if (wins.isEmpty()) {
+            return new GameResult(matrix, 0.0, wins, null);
+        }
+        double reward = bettingAmount * factors * payouts.bonusMultiplier(bonusSymbol) + payouts.bonusExtra(bonusSymbol);
+        return new GameResult(matrix, reward, wins,
+                bonusSymbol != CompiledGame.NO_SYMBOL ? game.symbolName(bonusSymbol) : null);
+    }
+}
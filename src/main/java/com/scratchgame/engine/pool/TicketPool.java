@@ -0,0 +1,216 @@
+package com.scratchgame.engine.pool;
+
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.engine.combination.CombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGenerator;
+import com.scratchgame.engine.reward.PayoutTable;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.GameResult;
+import com.scratchgame.model.SymbolMatrix;
+import com.scratchgame.util.BonusSymbolFinder;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays rounds from tickets generated in advance.
+ * <p>
+ * Each background generator thread owns a {@link TicketRing} and keeps it full of evaluated
+ * rounds: matrix, applied combinations, bonus symbol and the bet-independent reward factor.
+ * {@link #playGame} takes a ticket from one of the rings and only scales its reward by the
+ * bet, so generation cost stays off the calling thread. When every ring is empty the round
+ * is generated in place and counted as a starvation.
+ * <p>
+ * {@link #close()} stops the generators and discards the tickets left, e.g. when the engine
+ * is replaced for a new config; rounds still played on a closed pool are generated in place.
+ */
+public final class TicketPool implements GameEngine, Closeable {
+
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final CompiledGame game;
+    private final MatrixGenerator matrixGenerator;
+    private final CombinationMatcher combinationMatcher;
+    private final PayoutTable payouts;
+    private final TicketRing[] rings;
+    private final List<Thread> generators = new ArrayList<>();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder starvations = new LongAdder();
+    private final LongAdder drained = new LongAdder();
+    private volatile boolean running;
+    private volatile boolean closed;
+
+    /**
+     * @param capacity   number of tickets kept ready, split between the generator threads
+     * @param generators number of generator threads
+     */
+    public TicketPool(CompiledGame game,
+                      MatrixGenerator matrixGenerator,
+                      CombinationMatcher combinationMatcher,
+                      int capacity,
+                      int generators) {
+        if (capacity < 1 || generators < 1) {
+            throw new IllegalArgumentException("Ticket pool needs a positive capacity and generator count");
+        }
+        this.game = game;
+        this.matrixGenerator = matrixGenerator;
+        this.combinationMatcher = combinationMatcher;
+        this.payouts = new PayoutTable(game);
+        this.rings = new TicketRing[generators];
+        int perRing = (capacity + generators - 1) / generators;
+        for (int i = 0; i < generators; i++) {
+            rings[i] = new TicketRing(perRing);
+        }
+    }
+
+    public CompiledGame game() {
+        return game;
+    }
+
+    public synchronized void start() {
+        if (closed || !generators.isEmpty()) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < rings.length; i++) {
+            TicketRing ring = rings[i];
+            generators.add(Thread.ofPlatform()
+                    .name("ticket-generator-" + i)
+                    .daemon()
+                    .start(() -> fill(ring)));
+        }
+    }
+
+    @Override
+    public GameResult playGame(double bettingAmount) {
+        Ticket ticket = take();
+        if (ticket == null) {
+            if (!closed) {
+                starvations.increment();
+            }
+            ticket = newTicket(new AppliedCombinations(game), new int[game.drawCount()]);
+        }
+        served.increment();
+        return ticket.play(payouts, bettingAmount);
+    }
+
+    /**
+     * Discards every ticket ready now; generators keep refilling while the pool runs.
+     *
+     * @return the number of tickets discarded
+     */
+    public int drain() {
+        int count = 0;
+        for (TicketRing ring : rings) {
+            while (ring.poll() != null) {
+                count++;
+            }
+        }
+        drained.add(count);
+        return count;
+    }
+
+    /**
+     * Stops the generators and drains the pool.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            running = false;
+            closed = true;
+        }
+        boolean interrupted = false;
+        for (Thread generator : generators) {
+            LockSupport.unpark(generator);
+            try {
+                generator.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        drain();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int capacity() {
+        int capacity = 0;
+        for (TicketRing ring : rings) {
+            capacity += ring.capacity();
+        }
+        return capacity;
+    }
+
+    /**
+     * @return the number of tickets ready to be played
+     */
+    public int available() {
+        int available = 0;
+        for (TicketRing ring : rings) {
+            available += ring.size();
+        }
+        return available;
+    }
+
+    public long generated() {
+        return generated.sum();
+    }
+
+    public long served() {
+        return served.sum();
+    }
+
+    /**
+     * @return rounds that found the pool empty and were generated in place
+     */
+    public long starvations() {
+        return starvations.sum();
+    }
+
+    public long drained() {
+        return drained.sum();
+    }
+
+    private Ticket take() {
+        int start = rings.length == 1 ? 0 : ThreadLocalRandom.current().nextInt(rings.length);
+        for (int i = 0; i < rings.length; i++) {
+            Ticket ticket = rings[(start + i) % rings.length].poll();
+            if (ticket != null) {
+                return ticket;
+            }
+        }
+        return null;
+    }
+
+    private void fill(TicketRing ring) {
+        AppliedCombinations applied = new AppliedCombinations(game);
+        int[] draws = new int[game.drawCount()];
+        while (running) {
+            if (ring.isFull()) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+                continue;
+            }
+            ring.offer(newTicket(applied, draws));
+            generated.increment();
+        }
+    }
+
+    private Ticket newTicket(AppliedCombinations applied, int[] draws) {
+        SymbolMatrix matrix = new SymbolMatrix(game);
+        matrixGenerator.generateMatrix(game, matrix, draws);
+        combinationMatcher.findWinningCombinations(game, matrix, applied);
+        if (applied.isEmpty()) {
+            return new Ticket(matrix, Map.of(), CompiledGame.NO_SYMBOL, 0.0);
+        }
+        return new Ticket(matrix, applied.toMap(), BonusSymbolFinder.findId(game, matrix, true), payouts.factors(applied));
+    }
+}
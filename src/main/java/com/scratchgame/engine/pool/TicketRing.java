@@ -0,0 +1,69 @@
+package com.scratchgame.engine.pool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded single-producer, multi-consumer ring of tickets.
+ * <p>
+ * The producer publishes a slot by advancing {@code tail} with a release store after writing
+ * it. Consumers read the slot at {@code head} and claim it by compare-and-set of {@code head};
+ * a consumer that loses the race, possibly after reading a slot the producer has since
+ * refilled, simply retries, since the counters never wrap. Neither side blocks.
+ */
+final class TicketRing {
+
+    private final AtomicReferenceArray<Ticket> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    TicketRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Must only be called from the single producer thread.
+     *
+     * @return false if the ring is full
+     */
+    boolean offer(Ticket ticket) {
+        long t = tail.getPlain();
+        if (t - head.get() >= slots.length()) {
+            return false;
+        }
+        slots.setPlain((int) (t & mask), ticket);
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    /**
+     * @return the oldest ticket, or null if the ring is empty
+     */
+    Ticket poll() {
+        while (true) {
+            long h = head.get();
+            if (h >= tail.getAcquire()) {
+                return null;
+            }
+            Ticket ticket = slots.get((int) (h & mask));
+            if (head.compareAndSet(h, h + 1)) {
+                return ticket;
+            }
+        }
+    }
+
+    boolean isFull() {
+        return tail.getPlain() - head.get() >= slots.length();
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.getAcquire() - head.get());
+    }
+}
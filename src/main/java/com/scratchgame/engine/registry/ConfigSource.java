@@ -0,0 +1,12 @@
+package com.scratchgame.engine.registry;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ConfigSource {
+
+    /**
+     * @return the raw config of the game, or null if there is no game with that id
+     */
+    byte[] read(String gameId) throws IOException;
+}
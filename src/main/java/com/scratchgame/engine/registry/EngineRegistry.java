@@ -0,0 +1,22 @@
+package com.scratchgame.engine.registry;
+
+import com.scratchgame.engine.GameEngine;
+
+/**
+ * Looks up ready-to-play engines for many game variants.
+ */
+public interface EngineRegistry {
+
+    /**
+     * @return the engine of the game, or null if there is no game with that id
+     * @throws IllegalArgumentException if the game's config cannot be played
+     */
+    GameEngine engine(String gameId);
+
+    /**
+     * Returns the engine for a raw config, shared with every game id whose config has the same content.
+     *
+     * @throws IllegalArgumentException if the config cannot be played
+     */
+    GameEngine engineForContent(byte[] config);
+}
@@ -0,0 +1,189 @@
+package com.scratchgame.engine.registry;
+
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.model.CompiledGame;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caches engines by the SHA-256 of their config, evicting the least recently used beyond
+ * a fixed capacity.
+ * <p>
+ * Game ids are aliases for content hashes, so variants with identical configs share one
+ * engine. A hit is two map lookups and, at most once between loads, one field write. Recency
+ * is tracked with a clock that only advances on loads, so eviction is approximate: engines
+ * played between the same two loads count as equally recent. Concurrent requests for the
+ * same config wait for a single load. A failed load is not cached.
+ * <p>
+ * The config of a game id is read only when the id has no cached engine, so an edited config
+ * takes effect once the engine of its previous content has been evicted.
+ */
+public class LruEngineRegistry implements EngineRegistry {
+
+    private final int capacity;
+    private final ConfigSource source;
+    private final Function<byte[], CompiledGame> compiler;
+    private final Function<CompiledGame, GameEngine> engineFactory;
+    private final Map<String, Entry> engines = new ConcurrentHashMap<>();
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LruEngineRegistry(int capacity,
+                             ConfigSource source,
+                             Function<byte[], CompiledGame> compiler,
+                             Function<CompiledGame, GameEngine> engineFactory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Engine cache size must be positive");
+        }
+        this.capacity = capacity;
+        this.source = source;
+        this.compiler = compiler;
+        this.engineFactory = engineFactory;
+    }
+
+    @Override
+    public GameEngine engine(String gameId) {
+        String hash = hashes.get(gameId);
+        if (hash != null) {
+            Entry entry = engines.get(hash);
+            if (entry != null) {
+                return hit(entry);
+            }
+        }
+
+        byte[] config;
+        try {
+            config = source.read(gameId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read game " + gameId, e);
+        }
+        if (config == null) {
+            return null;
+        }
+        hash = hash(config);
+        GameEngine engine = engine(hash, config);
+        hashes.put(gameId, hash);
+        return engine;
+    }
+
+    @Override
+    public GameEngine engineForContent(byte[] config) {
+        return engine(hash(config), config);
+    }
+
+    public int size() {
+        return engines.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long loads() {
+        return loads.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private GameEngine engine(String hash, byte[] config) {
+        Entry entry = engines.get(hash);
+        if (entry != null) {
+            return hit(entry);
+        }
+
+        Entry created = new Entry(clock.getAndIncrement());
+        entry = engines.putIfAbsent(hash, created);
+        if (entry != null) {
+            return hit(entry);
+        }
+        loads.increment();
+        try {
+            created.engine.complete(engineFactory.apply(compiler.apply(config)));
+        } catch (Throwable e) {
+            // Errors too, or the entry would stay behind with waiters that never wake up
+            engines.remove(hash, created);
+            created.engine.completeExceptionally(e);
+            throw e;
+        }
+        evict(created);
+        return created.engine.join();
+    }
+
+    private GameEngine hit(Entry entry) {
+        hits.increment();
+        long now = clock.get();
+        if (entry.lastUsed != now) {
+            entry.lastUsed = now;
+        }
+        try {
+            return entry.engine.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void evict(Entry loaded) {
+        synchronized (evictionLock) {
+            while (engines.size() > capacity) {
+                String victim = null;
+                long oldest = Long.MAX_VALUE;
+                for (Map.Entry<String, Entry> candidate : engines.entrySet()) {
+                    Entry entry = candidate.getValue();
+                    // Engines still loading have waiters and are never evicted
+                    if (entry != loaded && entry.engine.isDone() && entry.lastUsed < oldest) {
+                        oldest = entry.lastUsed;
+                        victim = candidate.getKey();
+                    }
+                }
+                if (victim == null) {
+                    return;
+                }
+                engines.remove(victim);
+                String evicted = victim;
+                hashes.values().removeIf(evicted::equals);
+                evictions.increment();
+            }
+        }
+    }
+
+    private static String hash(byte[] config) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(config));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final CompletableFuture<GameEngine> engine = new CompletableFuture<>();
+        private volatile long lastUsed;
+
+        private Entry(long lastUsed) {
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.scratchgame.engine.reward;
+
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.model.BonusImpact;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.CompiledWinCombination;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bet-independent payout factors of one game.
+ * <p>
+ * A symbol's win is identified by its signature: the symbol id in the top byte and the bitmask
+ * of applied combination ids below it. Its factor, the symbol's reward multiplier times those of
+ * its combinations, is computed on first use and kept in a lock-free open-addressing table, so
+ * a round's reward is {@code bet * sum of factors}, then the bonus. Slots hold immutable
+ * entries set once by compare-and-set, so a lookup is a read and a compare. Signatures need
+ * the combination ids to fit below the top byte; games with more combinations, or signatures
+ * that do not find a free slot within a few probes, have their factor computed directly.
+ */
+public final class PayoutTable {
+
+    static final int MAX_COMBINATIONS = Long.SIZE - Byte.SIZE;
+    private static final int CAPACITY = 1 << 12;
+    private static final int MAX_PROBES = 16;
+
+    private final CompiledGame game;
+    private final boolean memoized;
+    private final AtomicReferenceArray<Entry> entries;
+    private final double[] bonusMultipliers;
+    private final double[] bonusExtras;
+
+    public PayoutTable(CompiledGame game) {
+        this.game = game;
+        this.memoized = game.combinations().length <= MAX_COMBINATIONS;
+        this.entries = new AtomicReferenceArray<>(memoized ? CAPACITY : 0);
+        this.bonusMultipliers = new double[game.symbolCount()];
+        this.bonusExtras = new double[game.symbolCount()];
+        for (int id = 0; id < game.symbolCount(); id++) {
+            bonusMultipliers[id] = game.isBonus(id) && game.impact(id) == BonusImpact.MULTIPLY_REWARD
+                    ? game.rewardMultiplier(id)
+                    : 1.0;
+            bonusExtras[id] = game.isBonus(id) && game.impact(id) == BonusImpact.EXTRA_BONUS
+                    ? game.extra(id)
+                    : 0.0;
+        }
+    }
+
+    public CompiledGame game() {
+        return game;
+    }
+
+    /**
+     * @param combinations bitmask of the combination ids applied to the symbol; only ids below
+     *                     64 can be given, so games with more go through another path
+     * @return the symbol's reward multiplier times those of its combinations
+     */
+    public double factor(int symbol, long combinations) {
+        if (!memoized) {
+            return compute(symbol, combinations);
+        }
+        long signature = (long) symbol << MAX_COMBINATIONS | combinations;
+        int mask = CAPACITY - 1;
+        int slot = (int) mix(signature) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++, slot = (slot + 1) & mask) {
+            Entry entry = entries.get(slot);
+            if (entry == null) {
+                Entry created = new Entry(signature, compute(symbol, combinations));
+                if (entries.compareAndSet(slot, null, created)) {
+                    return created.factor();
+                }
+                entry = entries.get(slot);
+            }
+            if (entry.signature() == signature) {
+                return entry.factor();
+            }
+        }
+        return compute(symbol, combinations);
+    }
+
+    /**
+     * @return the sum of the factors of every symbol with wins, i.e. the reward of a unit bet
+     *         before the bonus is applied
+     */
+    public double factors(AppliedCombinations applied) {
+        boolean signatures = game.combinations().length <= Long.SIZE;
+        double factors = 0.0;
+        for (int symbol = 0; symbol < game.symbolCount(); symbol++) {
+            if (!applied.hasWins(symbol)) {
+                continue;
+            }
+            if (signatures) {
+                factors += factor(symbol, applied.signature(symbol));
+            } else {
+                double factor = game.rewardMultiplier(symbol);
+                for (int id = applied.nextApplied(symbol, 0); id >= 0; id = applied.nextApplied(symbol, id + 1)) {
+                    factor *= game.combinations()[id].rewardMultiplier();
+                }
+                factors += factor;
+            }
+        }
+        return factors;
+    }
+
+    /**
+     * @return the factor the reward is multiplied by for the applied bonus symbol, 1 if none
+     */
+    public double bonusMultiplier(int bonusSymbol) {
+        return bonusSymbol == CompiledGame.NO_SYMBOL ? 1.0 : bonusMultipliers[bonusSymbol];
+    }
+
+    /**
+     * @return the amount added to the reward for the applied bonus symbol, 0 if none
+     */
+    public double bonusExtra(int bonusSymbol) {
+        return bonusSymbol == CompiledGame.NO_SYMBOL ? 0.0 : bonusExtras[bonusSymbol];
+    }
+
+    private double compute(int symbol, long combinations) {
+        CompiledWinCombination[] all = game.combinations();
+        double factor = game.rewardMultiplier(symbol);
+        for (long bits = combinations; bits != 0; bits &= bits - 1) {
+            factor *= all[Long.numberOfTrailingZeros(bits)].rewardMultiplier();
+        }
+        return factor;
+    }
+
+    private static long mix(long signature) {
+        long h = signature * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private record Entry(long signature, double factor) {
+    }
+}
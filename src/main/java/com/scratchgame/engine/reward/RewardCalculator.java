@@ -1,14 +1,35 @@
 package com.scratchgame.engine.reward;
 
-import com.scratchgame.model.Config;
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
 
 import java.util.List;
 import java.util.Map;
 
 public interface RewardCalculator {
 
-    double calculateReward(Config config,
+    double calculateReward(CompiledGame game,
                            double bettingAmount,
                            Map<String, List<String>> winningCombinations,
-                           String[][] matrix);
+                           SymbolMatrix matrix);
+
+    default double calculateReward(CompiledGame game,
+                                   double bettingAmount,
+                                   AppliedCombinations winningCombinations,
+                                   SymbolMatrix matrix) {
+        return calculateReward(game, bettingAmount, winningCombinations.toMap(), matrix);
+    }
+
+    /**
+     * Same as above for a round whose applied bonus symbol is already known, so the matrix
+     * need not be scanned for it again.
+     */
+    default double calculateReward(CompiledGame game,
+                                   double bettingAmount,
+                                   AppliedCombinations winningCombinations,
+                                   SymbolMatrix matrix,
+                                   int bonusSymbol) {
+        return calculateReward(game, bettingAmount, winningCombinations, matrix);
+    }
 }
@@ -1,62 +1,90 @@
 package com.scratchgame.engine.reward;
 
-import com.scratchgame.model.Config;
-import com.scratchgame.model.SymbolConfig;
-import com.scratchgame.model.WinCombinationConfig;
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
 import com.scratchgame.util.BonusSymbolFinder;
 
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Sums the {@link PayoutTable} factors of the winning symbols, multiplies by the bet once and
+ * applies the bonus.
+ */
 public class RewardCalculatorImpl implements RewardCalculator {
 
-    private static final String MULTIPLY_REWARD = "multiply_reward";
-    private static final String EXTRA_BONUS = "extra_bonus";
+    private volatile PayoutTable table;
 
     @Override
-    public double calculateReward(Config config,
+    public double calculateReward(CompiledGame game,
                                   double bettingAmount,
                                   Map<String, List<String>> winningCombinations,
-                                  String[][] matrix) {
+                                  SymbolMatrix matrix) {
 
         if (winningCombinations.isEmpty()) {
             return 0.0;
         }
 
-        double baseReward = winningCombinations.entrySet().stream()
-                .mapToDouble(entry -> calculateSymbolReward(config, bettingAmount, entry.getKey(), entry.getValue()))
-                .sum();
+        PayoutTable payouts = table(game);
+        double factors = 0.0;
+        for (Map.Entry<String, List<String>> entry : winningCombinations.entrySet()) {
+            int symbol = game.symbolId(entry.getKey());
+            if (game.combinations().length <= Long.SIZE) {
+                long applied = 0;
+                for (String name : entry.getValue()) {
+                    applied |= 1L << game.combination(name).id();
+                }
+                factors += payouts.factor(symbol, applied);
+            } else {
+                double factor = game.rewardMultiplier(symbol);
+                for (String name : entry.getValue()) {
+                    factor *= game.combination(name).rewardMultiplier();
+                }
+                factors += factor;
+            }
+        }
 
-        return applyBonusReward(config, baseReward, matrix);
+        return payout(payouts, bettingAmount * factors, BonusSymbolFinder.findId(game, matrix, true));
     }
 
-    private double calculateSymbolReward(Config config,
-                                         double bettingAmount,
-                                         String symbol,
-                                         List<String> winCombinationNames) {
-
-        SymbolConfig symbolConfig = config.symbols().get(symbol);
-        double reward = bettingAmount * symbolConfig.rewardMultiplier();
+    @Override
+    public double calculateReward(CompiledGame game,
+                                  double bettingAmount,
+                                  AppliedCombinations winningCombinations,
+                                  SymbolMatrix matrix) {
 
-        return winCombinationNames.stream()
-                .map(config.winCombinations()::get)
-                .map(WinCombinationConfig::rewardMultiplier)
-                .reduce(reward, (acc, multiplier) -> acc * multiplier);
+        if (winningCombinations.isEmpty()) {
+            return 0.0;
+        }
+        return calculateReward(game, bettingAmount, winningCombinations, matrix, BonusSymbolFinder.findId(game, matrix, true));
     }
 
-    private double applyBonusReward(Config config, double currentReward, String[][] matrix) {
-        String bonusSymbol = BonusSymbolFinder.find(config, matrix, true);
+    @Override
+    public double calculateReward(CompiledGame game,
+                                  double bettingAmount,
+                                  AppliedCombinations winningCombinations,
+                                  SymbolMatrix matrix,
+                                  int bonusSymbol) {
 
-        if (bonusSymbol == null) {
-            return currentReward;
+        if (winningCombinations.isEmpty()) {
+            return 0.0;
         }
 
-        SymbolConfig sc = config.symbols().get(bonusSymbol);
-        if (MULTIPLY_REWARD.equals(sc.impact())) {
-            return currentReward * sc.rewardMultiplier();
-        } else if (EXTRA_BONUS.equals(sc.impact())) {
-            return currentReward + sc.extra();
+        PayoutTable payouts = table(game);
+        return payout(payouts, bettingAmount * payouts.factors(winningCombinations), bonusSymbol);
+    }
+
+    private static double payout(PayoutTable payouts, double baseReward, int bonusSymbol) {
+        return baseReward * payouts.bonusMultiplier(bonusSymbol) + payouts.bonusExtra(bonusSymbol);
+    }
+
+    private PayoutTable table(CompiledGame game) {
+        PayoutTable current = table;
+        if (current == null || current.game() != game) {
+            current = new PayoutTable(game);
+            table = current;
         }
-        return currentReward;
+        return current;
     }
 }
@@ -1,8 +1,34 @@
 package com.scratchgame.infrastructure.cli;
 
+import com.scratchgame.model.CompileConfiguration;
+import com.scratchgame.model.ExactRtpConfiguration;
 import com.scratchgame.model.GameConfiguration;
+import com.scratchgame.model.MergeConfiguration;
+import com.scratchgame.model.PlayConfiguration;
+import com.scratchgame.model.ReplayConfiguration;
+import com.scratchgame.model.ServerConfiguration;
+import com.scratchgame.model.SimulationConfiguration;
+import com.scratchgame.model.StreamConfiguration;
 
 public interface ArgumentParser {
 
     GameConfiguration parse();
+
+    PlayConfiguration parsePlay();
+
+    SimulationConfiguration parseSimulation();
+
+    ExactRtpConfiguration parseExactRtp();
+
+    ServerConfiguration parseServer();
+
+    CompileConfiguration parseCompile();
+
+    ReplayConfiguration parseReplay();
+
+    MergeConfiguration parseMerge();
+
+    StreamConfiguration parseStream();
+
+    RunMode mode();
 }
@@ -1,14 +1,57 @@
 package com.scratchgame.infrastructure.cli;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.infrastructure.io.JsonConfigReader;
+import com.scratchgame.infrastructure.snapshot.GameSnapshot;
+import com.scratchgame.model.CompileConfiguration;
+import com.scratchgame.model.CompiledGame;
 import com.scratchgame.model.Config;
+import com.scratchgame.model.ExactRtpConfiguration;
 import com.scratchgame.model.GameConfiguration;
+import com.scratchgame.model.MergeConfiguration;
+import com.scratchgame.model.OutputFormat;
+import com.scratchgame.model.PlayConfiguration;
+import com.scratchgame.model.ReplayConfiguration;
+import com.scratchgame.model.ServerConfiguration;
+import com.scratchgame.model.SimulationConfiguration;
+import com.scratchgame.model.StreamConfiguration;
+import com.scratchgame.util.random.RandomAlgorithm;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 public class CommandLineArgumentParser implements ArgumentParser {
 
+    private static final String CONFIG = "--config";
+    private static final String BETTING_AMOUNT = "--betting-amount";
+    private static final String SIMULATE = "--simulate";
+    private static final String SEED = "--seed";
+    private static final String THREADS = "--threads";
+    private static final String EXACT = "--exact";
+    private static final String RNG = "--rng";
+    private static final String SERVER = "--server";
+    private static final String PORT = "--port";
+    private static final int DEFAULT_PORT = 8080;
+    private static final String ROUNDS = "--rounds";
+    private static final String FORMAT = "--format";
+    private static final String METRICS = "--metrics";
+    private static final String GAME = "--game";
+    private static final String COMPILE_CONFIG = "--compile-config";
+    private static final String WATCH = "--watch";
+    private static final String GAMES = "--games";
+    private static final String CACHE_SIZE = "--cache-size";
+    private static final int DEFAULT_CACHE_SIZE = 64;
+    private static final String JOURNAL = "--journal";
+    private static final String REPLAY = "--replay";
+    private static final String POOL = "--pool";
+    private static final String POOL_THREADS = "--pool-threads";
+    private static final String SHARD = "--shard";
+    private static final String STATISTICS = "--statistics";
+    private static final String MERGE = "--merge";
+    private static final String STREAM = "--stream";
+    private static final String STDIN = "-";
+
     private final String[] args;
 
     public CommandLineArgumentParser(String[] args) {
@@ -17,31 +60,293 @@ public class CommandLineArgumentParser implements ArgumentParser {
 
     @Override
     public GameConfiguration parse() {
-        String configPath = null;
-        Double bettingAmount = null;
+        String configPath = option(CONFIG);
+        String bettingAmount = option(BETTING_AMOUNT);
 
-        for (int i = 0; i < args.length; i++) {
-            if ("--config".equals(args[i]) && i + 1 < args.length) {
-                configPath = args[i + 1];
-                i++;
-            } else if ("--betting-amount".equals(args[i]) && i + 1 < args.length) {
-                try {
-                    bettingAmount = Double.parseDouble(args[i + 1]);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Betting amount must be a valid number");
-                }
-                i++;
+        if (configPath == null || bettingAmount == null) {
+            throw new IllegalArgumentException("Missing required arguments");
+        }
+
+        return new GameConfiguration(readConfig(configPath), parseBettingAmount(bettingAmount));
+    }
+
+    @Override
+    public PlayConfiguration parsePlay() {
+        double bettingAmount = bettingAmount();
+        CompiledGame game = game();
+        String rounds = option(ROUNDS);
+        long count = rounds != null ? parseLong(rounds, "Number of rounds") : 1;
+        if (count <= 0) {
+            throw new IllegalArgumentException("Number of rounds must be positive");
+        }
+        String format = option(FORMAT);
+
+        return new PlayConfiguration(game, bettingAmount, count,
+                format != null ? OutputFormat.fromName(format) : OutputFormat.PRETTY, hasFlag(METRICS), journal());
+    }
+
+    @Override
+    public SimulationConfiguration parseSimulation() {
+        double bettingAmount = bettingAmount();
+        CompiledGame game = game();
+        long rounds = parseLong(option(SIMULATE), "Number of simulated rounds");
+        if (rounds <= 0) {
+            throw new IllegalArgumentException("Number of simulated rounds must be positive");
+        }
+        String seed = option(SEED);
+        String rng = option(RNG);
+        String shard = option(SHARD);
+        String statistics = option(STATISTICS);
+        int index = 0;
+        int count = 1;
+        if (shard != null) {
+            // Every shard must play its share of the same stream
+            if (seed == null || statistics == null) {
+                throw new IllegalArgumentException("--shard needs --seed and --statistics");
+            }
+            int slash = shard.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Shard must be given as <index>/<count>");
+            }
+            index = (int) parseLong(shard.substring(0, slash), "Shard index");
+            count = (int) parseLong(shard.substring(slash + 1), "Shard count");
+            if (count <= 0 || index < 0 || index >= count) {
+                throw new IllegalArgumentException("Shard index must be between 0 and the shard count minus one");
             }
         }
 
-        if (configPath == null || bettingAmount == null) {
+        return new SimulationConfiguration(game, bettingAmount, rounds,
+                seed != null ? parseLong(seed, "Seed") : System.nanoTime(),
+                rng != null ? RandomAlgorithm.fromName(rng) : RandomAlgorithm.SPLITTABLE, threads(),
+                index, count, statistics != null ? Path.of(statistics) : null);
+    }
+
+    @Override
+    public ExactRtpConfiguration parseExactRtp() {
+        double bettingAmount = bettingAmount();
+        return new ExactRtpConfiguration(game(), bettingAmount, threads());
+    }
+
+    @Override
+    public ServerConfiguration parseServer() {
+        String games = option(GAMES);
+        // Variants alone are enough to run a server
+        CompiledGame game = games == null || option(CONFIG) != null || option(GAME) != null ? game() : null;
+        String port = option(PORT);
+        int value = port != null ? (int) parseLong(port, "Port") : DEFAULT_PORT;
+        if (value < 0 || value > 65535) {
+            throw new IllegalArgumentException("Port must be between 0 and 65535");
+        }
+        Path watchedConfig = null;
+        if (hasFlag(WATCH)) {
+            if (option(GAME) != null || option(CONFIG) == null) {
+                throw new IllegalArgumentException("--watch needs a JSON config given with --config");
+            }
+            watchedConfig = Path.of(option(CONFIG));
+        }
+        int size = cacheSize();
+        Path journal = journal();
+        if (journal != null && game == null) {
+            throw new IllegalArgumentException("--journal needs the game given with --config or --game");
+        }
+        // Variants are played by registry engines, which would issue rounds the journal never sees
+        if (journal != null && games != null) {
+            throw new IllegalArgumentException("--journal cannot be combined with --games");
+        }
+        String pool = option(POOL);
+        int poolSize = pool != null ? (int) parseLong(pool, "Pool size") : 0;
+        String poolThreads = option(POOL_THREADS);
+        int generators = poolThreads != null ? (int) parseLong(poolThreads, "Pool threads") : 1;
+        if (pool != null) {
+            if (poolSize <= 0 || generators <= 0) {
+                throw new IllegalArgumentException("Pool size and pool threads must be positive");
+            }
+            if (game == null) {
+                throw new IllegalArgumentException("--pool needs the game given with --config or --game");
+            }
+            // Pooled rounds are generated ahead of time, untimed and without a recorded seed
+            if (journal != null || hasFlag(METRICS)) {
+                throw new IllegalArgumentException("--pool cannot be combined with --journal or --metrics");
+            }
+        }
+        return new ServerConfiguration(game, value, hasFlag(METRICS), watchedConfig,
+                games != null ? Path.of(games) : null, size, journal, poolSize, generators);
+    }
+
+    @Override
+    public CompileConfiguration parseCompile() {
+        String configPath = option(CONFIG);
+        String output = option(COMPILE_CONFIG);
+        if (configPath == null || output == null) {
             throw new IllegalArgumentException("Missing required arguments");
         }
+        return new CompileConfiguration(CompiledGame.compile(readConfig(configPath)), Path.of(output));
+    }
+
+    @Override
+    public ReplayConfiguration parseReplay() {
+        CompiledGame game = game();
+        return new ReplayConfiguration(game, Path.of(option(REPLAY)), threads());
+    }
+
+    /**
+     * Takes every argument after --merge up to the next option as a statistics file.
+     */
+    @Override
+    public MergeConfiguration parseMerge() {
+        CompiledGame game = game();
+        List<Path> snapshots = new ArrayList<>();
+        for (int i = indexOf(MERGE) + 1; i < args.length && !args[i].startsWith("--"); i++) {
+            snapshots.add(Path.of(args[i]));
+        }
+        if (snapshots.isEmpty()) {
+            throw new IllegalArgumentException("--merge needs at least one statistics file");
+        }
+        return new MergeConfiguration(game, snapshots);
+    }
+
+    /**
+     * Reads requests from the file given after --stream, or from standard input if there is
+     * none or it is "-".
+     */
+    @Override
+    public StreamConfiguration parseStream() {
+        String games = option(GAMES);
+        // Requests can name every game they play
+        CompiledGame game = games == null || option(CONFIG) != null || option(GAME) != null ? game() : null;
+        int index = indexOf(STREAM) + 1;
+        Path input = index < args.length && !args[index].startsWith("--") && !STDIN.equals(args[index])
+                ? Path.of(args[index])
+                : null;
+        return new StreamConfiguration(game, input, games != null ? Path.of(games) : null, cacheSize(), threads());
+    }
+
+    @Override
+    public RunMode mode() {
+        if (option(COMPILE_CONFIG) != null) {
+            return RunMode.COMPILE;
+        } else if (option(REPLAY) != null) {
+            return RunMode.REPLAY;
+        } else if (hasFlag(MERGE)) {
+            return RunMode.MERGE;
+        } else if (hasFlag(STREAM)) {
+            return RunMode.STREAM;
+        } else if (hasFlag(SERVER)) {
+            return RunMode.SERVER;
+        } else if (option(SIMULATE) != null) {
+            return RunMode.SIMULATE;
+        } else if (hasFlag(EXACT)) {
+            return RunMode.EXACT;
+        }
+        return RunMode.PLAY;
+    }
+
+    /**
+     * Loads the game from a snapshot given with --game, which needs no JSON parsing,
+     * or else compiles the JSON config given with --config.
+     */
+    private CompiledGame game() {
+        String snapshot = option(GAME);
+        if (snapshot != null) {
+            return readSnapshot(snapshot);
+        }
+        String configPath = option(CONFIG);
+        if (configPath == null) {
+            throw new IllegalArgumentException("Missing required arguments");
+        }
+        return CompiledGame.compile(readConfig(configPath));
+    }
+
+    /**
+     * Journaled rounds are replayed against the game they were played with, and are
+     * not timed, so a journal excludes reloading and metrics.
+     */
+    private Path journal() {
+        String journal = option(JOURNAL);
+        if (journal == null) {
+            return null;
+        }
+        if (hasFlag(WATCH) || hasFlag(METRICS)) {
+            throw new IllegalArgumentException("--journal cannot be combined with --watch or --metrics");
+        }
+        return Path.of(journal);
+    }
+
+    private double bettingAmount() {
+        String bettingAmount = option(BETTING_AMOUNT);
+        if (bettingAmount == null) {
+            throw new IllegalArgumentException("Missing required arguments");
+        }
+        return parseBettingAmount(bettingAmount);
+    }
+
+    private int cacheSize() {
+        String cacheSize = option(CACHE_SIZE);
+        int size = cacheSize != null ? (int) parseLong(cacheSize, "Cache size") : DEFAULT_CACHE_SIZE;
+        if (size <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        return size;
+    }
+
+    private int threads() {
+        String threads = option(THREADS);
+        int count = threads != null ? (int) parseLong(threads, "Number of threads") : Runtime.getRuntime().availableProcessors();
+        if (count <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive");
+        }
+        return count;
+    }
+
+    private boolean hasFlag(String name) {
+        return indexOf(name) >= 0;
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < args.length; i++) {
+            if (name.equals(args[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String option(String name) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (name.equals(args[i])) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static double parseBettingAmount(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Betting amount must be a valid number");
+        }
+    }
+
+    private static long parseLong(String value, String name) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a valid integer");
+        }
+    }
+
+    private static CompiledGame readSnapshot(String snapshotPath) {
+        try {
+            return GameSnapshot.read(Path.of(snapshotPath));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error reading game snapshot: " + e.getMessage());
+        }
+    }
 
+    private static Config readConfig(String configPath) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            Config config = mapper.readValue(new File(configPath), Config.class);
-            return new GameConfiguration(config, bettingAmount);
+            return new JsonConfigReader().read(Path.of(configPath));
         } catch (IOException e) {
             throw new IllegalArgumentException("Error reading config file: " + e.getMessage());
         }
@@ -0,0 +1,12 @@
+package com.scratchgame.infrastructure.cli;
+
+public enum RunMode {
+    PLAY,
+    SIMULATE,
+    EXACT,
+    SERVER,
+    COMPILE,
+    REPLAY,
+    MERGE,
+    STREAM
+}
@@ -0,0 +1,39 @@
+package com.scratchgame.infrastructure.io;
+
+import com.scratchgame.engine.registry.ConfigSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the config of game {@code <id>} from {@code <id>.json} in a directory.
+ * Ids may only contain letters, digits, '_', '-' and '.', so they cannot leave the directory.
+ */
+public class DirectoryConfigSource implements ConfigSource {
+
+    private static final Pattern GAME_ID = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9_.-]*");
+
+    private final Path directory;
+
+    public DirectoryConfigSource(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Games directory " + directory + " does not exist");
+        }
+        this.directory = directory;
+    }
+
+    @Override
+    public byte[] read(String gameId) throws IOException {
+        if (!GAME_ID.matcher(gameId).matches()) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(directory.resolve(gameId + ".json"));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
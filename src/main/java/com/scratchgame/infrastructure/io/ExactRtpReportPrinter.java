@@ -0,0 +1,10 @@
+package com.scratchgame.infrastructure.io;
+
+import com.scratchgame.simulation.exact.ExactRtpReport;
+
+import java.io.IOException;
+
+public interface ExactRtpReportPrinter {
+
+    void print(ExactRtpReport report) throws IOException;
+}
@@ -0,0 +1,20 @@
+package com.scratchgame.infrastructure.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.model.Config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class JsonConfigReader {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public Config read(Path path) throws IOException {
+        return mapper.readValue(path.toFile(), Config.class);
+    }
+
+    public Config read(byte[] content) throws IOException {
+        return mapper.readValue(content, Config.class);
+    }
+}
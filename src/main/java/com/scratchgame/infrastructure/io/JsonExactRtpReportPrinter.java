@@ -0,0 +1,24 @@
+package com.scratchgame.infrastructure.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.simulation.exact.ExactRtpReport;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class JsonExactRtpReportPrinter implements ExactRtpReportPrinter {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Override
+    public void print(ExactRtpReport report) throws IOException {
+        // Print the distribution in ascending payout order
+        Map<Double, Double> distribution = new TreeMap<>(report.payoutDistribution());
+        ExactRtpReport sorted = new ExactRtpReport(report.bettingAmount(), report.expectedPayout(), report.rtp(),
+                report.hitFrequency(), report.payoutVariance(), report.maxWin(), report.statesExplored(), distribution);
+
+        String jsonOutput = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(sorted);
+        System.out.println(jsonOutput);
+    }
+}
@@ -1,6 +1,7 @@
 package com.scratchgame.infrastructure.io;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.scratchgame.model.GameResult;
 
 import java.io.IOException;
@@ -9,10 +10,14 @@ import java.util.Map;
 
 public class JsonGameResultPrinter implements GameResultPrinter {
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final ObjectWriter writer = new ObjectMapper().writerWithDefaultPrettyPrinter();
 
     @Override
     public void print(GameResult result) throws IOException {
+        System.out.println(toJson(result));
+    }
+
+    public String toJson(GameResult result) throws IOException {
         Map<String, Object> output = new LinkedHashMap<>();
         output.put("matrix", result.matrix());
         output.put("reward", result.reward());
@@ -22,7 +27,6 @@ public class JsonGameResultPrinter implements GameResultPrinter {
             output.put("appliedBonusSymbol", result.appliedBonusSymbol());
         }
 
-        String jsonOutput = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(output);
-        System.out.println(jsonOutput);
+        return writer.writeValueAsString(output);
     }
 }
@@ -0,0 +1,17 @@
+package com.scratchgame.infrastructure.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.infrastructure.journal.ReplayReport;
+
+import java.io.IOException;
+
+public class JsonReplayReportPrinter implements ReplayReportPrinter {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Override
+    public void print(ReplayReport report) throws IOException {
+        String jsonOutput = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        System.out.println(jsonOutput);
+    }
+}
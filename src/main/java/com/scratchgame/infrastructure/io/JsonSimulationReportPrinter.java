@@ -0,0 +1,17 @@
+package com.scratchgame.infrastructure.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.simulation.SimulationReport;
+
+import java.io.IOException;
+
+public class JsonSimulationReportPrinter implements SimulationReportPrinter {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Override
+    public void print(SimulationReport report) throws IOException {
+        String jsonOutput = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        System.out.println(jsonOutput);
+    }
+}
@@ -0,0 +1,8 @@
+package com.scratchgame.infrastructure.io;
+
+import com.scratchgame.engine.metrics.HistogramEngineMetrics;
+
+public interface MetricsReportPrinter {
+
+    void print(HistogramEngineMetrics metrics);
+}
@@ -0,0 +1,10 @@
+package com.scratchgame.infrastructure.io;
+
+import com.scratchgame.infrastructure.journal.ReplayReport;
+
+import java.io.IOException;
+
+public interface ReplayReportPrinter {
+
+    void print(ReplayReport report) throws IOException;
+}
@@ -0,0 +1,10 @@
+package com.scratchgame.infrastructure.io;
+
+import com.scratchgame.simulation.SimulationReport;
+
+import java.io.IOException;
+
+public interface SimulationReportPrinter {
+
+    void print(SimulationReport report) throws IOException;
+}
@@ -0,0 +1,150 @@
+package com.scratchgame.infrastructure.io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.GameResult;
+import com.scratchgame.model.OutputFormat;
+import com.scratchgame.model.SymbolMatrix;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes results straight to a {@link JsonGenerator} over its own reusable buffer,
+ * without building intermediate maps or strings.
+ * <p>
+ * {@link OutputFormat#PRETTY} produces the same text as {@link JsonGameResultPrinter};
+ * {@link OutputFormat#NDJSON} writes one compact result per line. The underlying stream is
+ * flushed every {@code flushEvery} results and on {@link #flush()}, and is not closed by
+ * {@link #close()}. Not thread-safe.
+ */
+public class StreamingGameResultWriter implements GameResultPrinter, Flushable, Closeable {
+
+    public static final int DEFAULT_FLUSH_EVERY = 1024;
+
+    private static final SerializedString MATRIX = new SerializedString("matrix");
+    private static final SerializedString REWARD = new SerializedString("reward");
+    private static final SerializedString APPLIED_WINNING_COMBINATIONS = new SerializedString("appliedWinningCombinations");
+    private static final SerializedString APPLIED_BONUS_SYMBOL = new SerializedString("appliedBonusSymbol");
+    private static final SerializedString ERROR = new SerializedString("error");
+
+    private final JsonGenerator generator;
+    private final String lineSeparator;
+    private final int flushEvery;
+    private int pending;
+    private CompiledGame game;
+    private SerializedString[] symbolNames;
+
+    public StreamingGameResultWriter(OutputStream out, OutputFormat format) throws IOException {
+        this(out, format, DEFAULT_FLUSH_EVERY);
+    }
+
+    public StreamingGameResultWriter(OutputStream out, OutputFormat format, int flushEvery) throws IOException {
+        if (flushEvery <= 0) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        this.generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (format == OutputFormat.PRETTY) {
+            generator.setPrettyPrinter(new DefaultPrettyPrinter().withRootSeparator(""));
+            this.lineSeparator = System.lineSeparator();
+        } else {
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            this.lineSeparator = "\n";
+        }
+        this.flushEvery = flushEvery;
+    }
+
+    @Override
+    public void print(GameResult result) throws IOException {
+        write(result);
+    }
+
+    public void write(GameResult result) throws IOException {
+        SymbolMatrix matrix = result.symbolMatrix();
+        SerializedString[] names = symbolNames(matrix.game());
+
+        generator.writeStartObject();
+        generator.writeFieldName(MATRIX);
+        generator.writeStartArray();
+        int cols = matrix.columns();
+        for (int row = 0; row < matrix.rows(); row++) {
+            generator.writeStartArray();
+            for (int col = 0; col < cols; col++) {
+                generator.writeString(names[matrix.symbolAt(row * cols + col)]);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+        generator.writeFieldName(REWARD);
+        generator.writeNumber(result.reward());
+
+        if (result.reward() > 0) {
+            generator.writeFieldName(APPLIED_WINNING_COMBINATIONS);
+            generator.writeStartObject();
+            for (Map.Entry<String, List<String>> entry : result.appliedWinningCombinations().entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                generator.writeStartArray();
+                for (String combination : entry.getValue()) {
+                    generator.writeString(combination);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+            generator.writeFieldName(APPLIED_BONUS_SYMBOL);
+            generator.writeString(result.appliedBonusSymbol());
+        }
+        generator.writeEndObject();
+        generator.writeRaw(lineSeparator);
+
+        if (++pending >= flushEvery) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes {@code {"error": message}} in place of a result that could not be played.
+     */
+    public void writeError(String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ERROR);
+        generator.writeString(message);
+        generator.writeEndObject();
+        generator.writeRaw(lineSeparator);
+
+        if (++pending >= flushEvery) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        pending = 0;
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private SerializedString[] symbolNames(CompiledGame current) {
+        if (current != game) {
+            symbolNames = new SerializedString[current.symbolCount()];
+            for (int id = 0; id < symbolNames.length; id++) {
+                symbolNames[id] = new SerializedString(current.symbolName(id));
+            }
+            game = current;
+        }
+        return symbolNames;
+    }
+}
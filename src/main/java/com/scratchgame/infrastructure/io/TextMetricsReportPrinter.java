@@ -0,0 +1,58 @@
+package com.scratchgame.infrastructure.io;
+
+import com.scratchgame.engine.metrics.HistogramEngineMetrics;
+import com.scratchgame.engine.metrics.LatencyHistogram;
+import com.scratchgame.engine.metrics.Stage;
+
+import java.io.PrintStream;
+
+public class TextMetricsReportPrinter implements MetricsReportPrinter {
+
+    private final PrintStream out;
+
+    public TextMetricsReportPrinter() {
+        this(System.err);
+    }
+
+    public TextMetricsReportPrinter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void print(HistogramEngineMetrics metrics) {
+        out.print(format(metrics));
+        out.flush();
+    }
+
+    public String format(HistogramEngineMetrics metrics) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-22s %12s %10s %10s %10s %10s %10s%n",
+                "stage (ns)", "count", "mean", "p50", "p99", "p99.9", "max"));
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram.Snapshot latency = metrics.latency(stage);
+            report.append(String.format("%-22s %12d %10.0f %10d %10d %10d %10d%n", stage.label(), latency.count(),
+                    latency.mean(), latency.percentile(50), latency.percentile(99), latency.percentile(99.9),
+                    latency.max()));
+        }
+
+        long rounds = metrics.rounds();
+        long wins = metrics.winningRounds();
+        report.append(String.format("rounds %d, winning %d (%.2f%%)%n", rounds, wins,
+                rounds == 0 ? 0.0 : 100.0 * wins / rounds));
+        double allocation = metrics.allocatedBytesPerRound();
+        report.append(Double.isNaN(allocation)
+                ? String.format("allocation per round: not sampled%n")
+                : String.format("allocation per round: %.0f bytes%n", allocation));
+
+        long[] bonusHits = metrics.bonusHits();
+        StringBuilder bonuses = new StringBuilder();
+        for (int id = 0; id < bonusHits.length; id++) {
+            if (bonusHits[id] != 0) {
+                bonuses.append(bonuses.isEmpty() ? "" : ", ")
+                        .append(metrics.game().symbolName(id)).append('=').append(bonusHits[id]);
+            }
+        }
+        report.append(String.format("bonus hits: %s%n", bonuses.isEmpty() ? "none" : bonuses));
+        return report.toString();
+    }
+}
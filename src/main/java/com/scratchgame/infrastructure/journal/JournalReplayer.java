@@ -0,0 +1,122 @@
+package com.scratchgame.infrastructure.journal;
+
+import com.scratchgame.engine.RoundOutcome;
+import com.scratchgame.engine.SeededGameEngine;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.combination.SpecializedCombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
+import com.scratchgame.util.random.CurrentThreadRandomSource;
+import com.scratchgame.util.random.SeededRandomSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32C;
+
+/**
+ * Replays every journaled round from its recorded seed and bet, and checks that it produces
+ * the recorded matrix, bonus symbol and reward, bit for bit.
+ * <p>
+ * Segments are checked for complete records first, one task per segment, then the rounds
+ * are replayed in chunks of {@value #CHUNK} in parallel.
+ */
+public class JournalReplayer {
+
+    static final int CHUNK = 1 << 14;
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    private final CompiledGame game;
+    private final int parallelism;
+    private final SeededGameEngine engine;
+
+    public JournalReplayer(CompiledGame game, int parallelism) {
+        this.game = game;
+        this.parallelism = parallelism;
+        this.engine = new SeededGameEngine(game, new MatrixGeneratorImpl(new CurrentThreadRandomSource()),
+                BitboardCombinationMatcher.supports(game) ? new BitboardCombinationMatcher() : new SpecializedCombinationMatcher(),
+                new RewardCalculatorImpl());
+    }
+
+    public ReplayReport replay(Path directory) throws IOException {
+        List<Path> paths = JournalSegment.list(directory);
+        List<JournalSegment> segments = new ArrayList<>();
+        for (Path path : paths) {
+            JournalSegment segment = JournalSegment.open(path, false);
+            segment.checkLayout(game);
+            segments.add(segment);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int[] valid = pool.submit(() -> segments.parallelStream()
+                    .mapToInt(segment -> segment.validRecords(new CRC32C()))
+                    .toArray()).join();
+
+            // A segment prepared ahead but never written to belongs to no round yet, so the
+            // live segment is the last one with records
+            int live = segments.size() - 1;
+            while (live > 0 && valid[live] == 0) {
+                live--;
+            }
+
+            List<String> damaged = new ArrayList<>();
+            List<Chunk> chunks = new ArrayList<>();
+            long rounds = 0;
+            for (int s = 0; s < segments.size(); s++) {
+                JournalSegment segment = segments.get(s);
+                if (s < live && valid[s] < segment.capacity()) {
+                    damaged.add(segment.path().getFileName().toString());
+                }
+                for (int from = 0; from < valid[s]; from += CHUNK) {
+                    chunks.add(new Chunk(segment, from, Math.min(valid[s], from + CHUNK)));
+                }
+                rounds += valid[s];
+            }
+
+            List<List<Long>> mismatches = pool.submit(() -> chunks.parallelStream()
+                    .map(this::replay)
+                    .toList()).join();
+            List<Long> mismatched = mismatches.stream().flatMap(List::stream).toList();
+            return new ReplayReport(segments.size(), rounds, mismatched.size(),
+                    mismatched.subList(0, Math.min(mismatched.size(), MAX_REPORTED_MISMATCHES)), damaged);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return the ids of the rounds in the chunk that did not replay to their record
+     */
+    private List<Long> replay(Chunk chunk) {
+        JournalSegment segment = chunk.segment;
+        RoundOutcome outcome = new RoundOutcome(game);
+        SeededRandomSource source = new SeededRandomSource(0);
+        List<Long> mismatched = new ArrayList<>();
+        for (int index = chunk.from; index < chunk.to; index++) {
+            engine.play(segment.seed(index), segment.bettingAmount(index), source, outcome);
+            if (!matches(segment, index, outcome)) {
+                mismatched.add(segment.roundId(index));
+            }
+        }
+        return mismatched;
+    }
+
+    private boolean matches(JournalSegment segment, int index, RoundOutcome outcome) {
+        SymbolMatrix matrix = outcome.matrix();
+        for (int cell = 0; cell < game.cellCount(); cell++) {
+            if (segment.symbolAt(index, cell) != matrix.symbolAt(cell)) {
+                return false;
+            }
+        }
+        return segment.bonusSymbol(index) == outcome.bonusSymbol()
+                && Double.doubleToLongBits(segment.reward(index)) == Double.doubleToLongBits(outcome.reward());
+    }
+
+    private record Chunk(JournalSegment segment, int from, int to) {
+    }
+}
@@ -0,0 +1,237 @@
+package com.scratchgame.infrastructure.journal;
+
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped journal file of fixed-size records.
+ * <p>
+ * Little-endian layout: a {@value #HEADER_SIZE}-byte header with magic, version, record size,
+ * grid size, symbol count and the id of the first round, then records of round id, seed, bet,
+ * reward, bonus symbol id as a short, one byte per cell and a CRC32C of the record's bytes
+ * before it. Files are named after their first round id, so they sort in round order.
+ */
+final class JournalSegment {
+
+    static final int HEADER_SIZE = 64;
+
+    private static final int MAGIC = 0x4C4A4753;
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".journal";
+    private static final int PAGE_SIZE = 4096;
+
+    private static final int ROUND_ID = 0;
+    private static final int SEED = 8;
+    private static final int BET = 16;
+    private static final int REWARD = 24;
+    private static final int BONUS = 32;
+    private static final int SYMBOLS = 34;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final ByteBuffer writeView;
+    private final int rows;
+    private final int columns;
+    private final int symbolCount;
+    private final int cells;
+    private final int recordSize;
+    private final int checksumOffset;
+    private final int capacity;
+    private final long firstRoundId;
+
+    private JournalSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Invalid journal segment " + path);
+        }
+        this.recordSize = buffer.getInt(8);
+        this.rows = buffer.getInt(12);
+        this.columns = buffer.getInt(16);
+        this.symbolCount = buffer.getInt(20);
+        this.firstRoundId = buffer.getLong(24);
+        this.cells = rows * columns;
+        if (cells <= 0 || recordSize != recordSize(cells)) {
+            throw new IllegalArgumentException("Invalid journal segment " + path);
+        }
+        this.checksumOffset = align(SYMBOLS + cells, Integer.BYTES);
+        this.capacity = (buffer.capacity() - HEADER_SIZE) / recordSize;
+        this.writeView = buffer.duplicate();
+    }
+
+    static int recordSize(int cells) {
+        return align(align(SYMBOLS + cells, Integer.BYTES) + Integer.BYTES, Long.BYTES);
+    }
+
+    static Path path(Path directory, long firstRoundId) {
+        return directory.resolve(String.format("%020d%s", firstRoundId, SUFFIX));
+    }
+
+    static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    static JournalSegment create(Path directory, CompiledGame game, int size, long firstRoundId) throws IOException {
+        Path path = path(directory, firstRoundId);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        // Fault every page in now rather than on the append that first reaches it
+        for (int offset = 0; offset < buffer.capacity(); offset += PAGE_SIZE) {
+            buffer.put(offset, (byte) 0);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, recordSize(game.cellCount()));
+        buffer.putInt(12, game.rows());
+        buffer.putInt(16, game.columns());
+        buffer.putInt(20, game.symbolCount());
+        buffer.putLong(24, firstRoundId);
+        return new JournalSegment(path, buffer);
+    }
+
+    static JournalSegment open(Path path, boolean writable) throws IOException {
+        MappedByteBuffer buffer;
+        if (writable) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            }
+        } else {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        return new JournalSegment(path, buffer);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the segment was written for a game of another shape
+     */
+    void checkLayout(CompiledGame game) {
+        if (rows != game.rows() || columns != game.columns() || symbolCount != game.symbolCount()) {
+            throw new IllegalArgumentException("Journal segment " + path + " was written for a " + rows + "x" + columns
+                    + " game with " + symbolCount + " symbols");
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long firstRoundId() {
+        return firstRoundId;
+    }
+
+    /**
+     * Not thread-safe: records are written by one thread at a time.
+     */
+    void write(int index, long roundId, long seed, double bettingAmount, SymbolMatrix matrix, double reward,
+               int bonusSymbol, CRC32C crc) {
+        int offset = offset(index);
+        buffer.putLong(offset + ROUND_ID, roundId);
+        buffer.putLong(offset + SEED, seed);
+        buffer.putDouble(offset + BET, bettingAmount);
+        buffer.putDouble(offset + REWARD, reward);
+        buffer.putShort(offset + BONUS, (short) bonusSymbol);
+        for (int cell = 0; cell < cells; cell++) {
+            buffer.put(offset + SYMBOLS + cell, (byte) matrix.symbolAt(cell));
+        }
+        crc.reset();
+        writeView.limit(offset + checksumOffset).position(offset);
+        crc.update(writeView);
+        buffer.putInt(offset + checksumOffset, (int) crc.getValue());
+    }
+
+    /**
+     * @return whether the record is complete, i.e. its checksum matches
+     */
+    boolean valid(int index, CRC32C crc) {
+        int offset = offset(index);
+        return buffer.getInt(offset + checksumOffset) == checksum(offset, crc);
+    }
+
+    /**
+     * @return the number of complete records before the first incomplete one
+     */
+    int validRecords(CRC32C crc) {
+        int count = 0;
+        while (count < capacity && valid(count, crc)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Zeroes every record from {@code index} on, so stale bytes left by a crash can never
+     * pass for records written later.
+     */
+    void clear(int index) {
+        for (int offset = offset(index); offset + Long.BYTES <= buffer.capacity(); offset += Long.BYTES) {
+            buffer.putLong(offset, 0L);
+        }
+    }
+
+    long roundId(int index) {
+        return buffer.getLong(offset(index) + ROUND_ID);
+    }
+
+    long seed(int index) {
+        return buffer.getLong(offset(index) + SEED);
+    }
+
+    double bettingAmount(int index) {
+        return buffer.getDouble(offset(index) + BET);
+    }
+
+    double reward(int index) {
+        return buffer.getDouble(offset(index) + REWARD);
+    }
+
+    int bonusSymbol(int index) {
+        return buffer.getShort(offset(index) + BONUS);
+    }
+
+    int symbolAt(int index, int cell) {
+        return buffer.get(offset(index) + SYMBOLS + cell) & 0xFF;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    private int offset(int index) {
+        return HEADER_SIZE + index * recordSize;
+    }
+
+    private int checksum(int offset, CRC32C crc) {
+        crc.reset();
+        crc.update(buffer.slice(offset, checksumOffset));
+        return (int) crc.getValue();
+    }
+
+    private static int align(int value, int alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+}
@@ -0,0 +1,178 @@
+package com.scratchgame.infrastructure.journal;
+
+import com.scratchgame.engine.GameJournal;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal of fixed-size binary records appended to memory-mapped segment files.
+ * <p>
+ * An append is a few stores into the mapping and a CRC32C of the record under a short lock.
+ * Once a segment is half full, the next one is created and its pages faulted in on a
+ * background thread, so appends neither wait for the file system nor take page faults.
+ * Records reach the file as soon as the process writes them, so they survive a crash of the
+ * process, and {@link #flush()} forces them to the device. On opening, the records of the
+ * newest segment are checked in order; the first one whose checksum fails, and everything
+ * after it, is discarded and appending resumes there.
+ */
+public final class MappedGameJournal implements GameJournal {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private final Path directory;
+    private final CompiledGame game;
+    private final int segmentSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private JournalSegment segment;
+    private CompletableFuture<JournalSegment> prepared;
+    private int next;
+    private long nextRoundId;
+    private boolean closed;
+
+    public MappedGameJournal(Path directory, CompiledGame game) throws IOException {
+        this(directory, game, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public MappedGameJournal(Path directory, CompiledGame game, int segmentSize) throws IOException {
+        if (segmentSize < JournalSegment.HEADER_SIZE + JournalSegment.recordSize(game.cellCount())) {
+            throw new IllegalArgumentException("Journal segments must hold at least one record");
+        }
+        this.directory = directory;
+        this.game = game;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    @Override
+    public long append(long seed, double bettingAmount, SymbolMatrix matrix, double reward, int bonusSymbol) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            if (segment == null || next == segment.capacity()) {
+                roll();
+            }
+            long roundId = nextRoundId++;
+            segment.write(next++, roundId, seed, bettingAmount, matrix, reward, bonusSymbol, crc);
+            if (prepared == null && next >= segment.capacity() / 2) {
+                prepare();
+            }
+            return roundId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the id the next appended round will get
+     */
+    public long nextRoundId() {
+        lock.lock();
+        try {
+            return nextRoundId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void flush() {
+        lock.lock();
+        try {
+            if (segment != null) {
+                segment.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (!closed) {
+                flush();
+                segment = null;
+                closed = true;
+                discardPrepared();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> segments = new ArrayList<>(JournalSegment.list(directory));
+        if (segments.isEmpty()) {
+            return;
+        }
+        JournalSegment last = JournalSegment.open(segments.getLast(), true);
+        last.checkLayout(game);
+        int valid = last.validRecords(crc);
+        // A segment prepared ahead but never written to belongs to no round yet
+        while (valid == 0 && segments.size() > 1) {
+            Files.delete(segments.removeLast());
+            last = JournalSegment.open(segments.getLast(), true);
+            valid = last.validRecords(crc);
+        }
+        last.clear(valid);
+        segment = last;
+        next = valid;
+        nextRoundId = valid > 0 ? last.roundId(valid - 1) + 1 : last.firstRoundId();
+    }
+
+    private void roll() {
+        try {
+            JournalSegment created = prepared != null ? prepared.join() : null;
+            prepared = null;
+            if (created == null || created.firstRoundId() != nextRoundId) {
+                if (created != null) {
+                    Files.delete(created.path());
+                }
+                created = JournalSegment.create(directory, game, segmentSize, nextRoundId);
+            }
+            segment = created;
+            next = 0;
+        } catch (IOException | CompletionException e) {
+            throw new UncheckedIOException("Could not start journal segment in " + directory,
+                    e instanceof IOException io ? io : new IOException(e.getCause()));
+        }
+    }
+
+    private void prepare() {
+        long firstRoundId = segment.firstRoundId() + segment.capacity();
+        prepared = CompletableFuture.supplyAsync(() -> {
+            try {
+                return JournalSegment.create(directory, game, segmentSize, firstRoundId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, task -> Thread.ofPlatform().name("journal-segment").daemon().start(task));
+    }
+
+    private void discardPrepared() {
+        if (prepared != null) {
+            try {
+                Files.deleteIfExists(prepared.join().path());
+            } catch (IOException | CompletionException e) {
+                // Recovery removes an empty newest segment anyway
+            }
+            prepared = null;
+        }
+    }
+}
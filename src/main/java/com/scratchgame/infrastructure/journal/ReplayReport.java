@@ -0,0 +1,15 @@
+package com.scratchgame.infrastructure.journal;
+
+import java.util.List;
+
+/**
+ * @param mismatchedRounds ids of the first rounds that did not replay to their recorded outcome
+ * @param damagedSegments  segments other than the newest that end before they are full
+ */
+public record ReplayReport(int segments, long rounds, long mismatches, List<Long> mismatchedRounds,
+                           List<String> damagedSegments) {
+
+    public boolean verified() {
+        return mismatches == 0 && damagedSegments.isEmpty();
+    }
+}
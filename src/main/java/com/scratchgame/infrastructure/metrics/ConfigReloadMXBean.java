@@ -0,0 +1,20 @@
+package com.scratchgame.infrastructure.metrics;
+
+/**
+ * JMX view of {@link com.scratchgame.infrastructure.reload.ReloadStatistics}.
+ * Latencies are in nanoseconds.
+ */
+public interface ConfigReloadMXBean {
+
+    long getReloads();
+
+    long getFailedReloads();
+
+    double getMeanReloadLatency();
+
+    long getMaxReloadLatency();
+
+    String getLastReload();
+
+    String getLastError();
+}
@@ -0,0 +1,34 @@
+package com.scratchgame.infrastructure.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link com.scratchgame.engine.metrics.HistogramEngineMetrics}.
+ * Latency maps are keyed by stage label and hold nanoseconds.
+ */
+public interface EngineMetricsMXBean {
+
+    long getRounds();
+
+    long getWinningRounds();
+
+    double getHitRate();
+
+    double getAllocatedBytesPerRound();
+
+    Map<String, Long> getBonusHits();
+
+    Map<String, Double> getMeanLatency();
+
+    Map<String, Long> getP50Latency();
+
+    Map<String, Long> getP99Latency();
+
+    Map<String, Long> getP999Latency();
+
+    Map<String, Long> getMaxLatency();
+
+    String getReport();
+
+    void reset();
+}
@@ -0,0 +1,69 @@
+package com.scratchgame.infrastructure.metrics;
+
+import com.scratchgame.infrastructure.reload.ReloadStatistics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+
+public class JmxConfigReload implements ConfigReloadMXBean {
+
+    private static final String DOMAIN = "com.scratchgame";
+
+    private final ReloadStatistics statistics;
+
+    public JmxConfigReload(ReloadStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Registers the statistics with the platform MBean server as
+     * {@code com.scratchgame:type=ConfigReload,name=<name>}.
+     */
+    public static ObjectName register(ReloadStatistics statistics, String name) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=ConfigReload,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(new JmxConfigReload(statistics), objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register reload statistics: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long getReloads() {
+        return statistics.reloads();
+    }
+
+    @Override
+    public long getFailedReloads() {
+        return statistics.failures();
+    }
+
+    @Override
+    public double getMeanReloadLatency() {
+        return statistics.latency().mean();
+    }
+
+    @Override
+    public long getMaxReloadLatency() {
+        return statistics.latency().max();
+    }
+
+    @Override
+    public String getLastReload() {
+        Instant lastReload = statistics.lastReload();
+        return lastReload != null ? lastReload.toString() : null;
+    }
+
+    @Override
+    public String getLastError() {
+        return statistics.lastError();
+    }
+}
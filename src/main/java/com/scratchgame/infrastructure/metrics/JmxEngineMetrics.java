@@ -0,0 +1,120 @@
+package com.scratchgame.infrastructure.metrics;
+
+import com.scratchgame.engine.metrics.HistogramEngineMetrics;
+import com.scratchgame.engine.metrics.LatencyHistogram;
+import com.scratchgame.engine.metrics.Stage;
+import com.scratchgame.infrastructure.io.TextMetricsReportPrinter;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+public class JmxEngineMetrics implements EngineMetricsMXBean {
+
+    private static final String DOMAIN = "com.scratchgame";
+
+    private final HistogramEngineMetrics metrics;
+
+    public JmxEngineMetrics(HistogramEngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server as
+     * {@code com.scratchgame:type=EngineMetrics,name=<name>}.
+     */
+    public static ObjectName register(HistogramEngineMetrics metrics, String name) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=EngineMetrics,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(new JmxEngineMetrics(metrics), objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register engine metrics: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long getRounds() {
+        return metrics.rounds();
+    }
+
+    @Override
+    public long getWinningRounds() {
+        return metrics.winningRounds();
+    }
+
+    @Override
+    public double getHitRate() {
+        long rounds = metrics.rounds();
+        return rounds == 0 ? 0.0 : (double) metrics.winningRounds() / rounds;
+    }
+
+    @Override
+    public double getAllocatedBytesPerRound() {
+        return metrics.allocatedBytesPerRound();
+    }
+
+    @Override
+    public Map<String, Long> getBonusHits() {
+        long[] hits = metrics.bonusHits();
+        Map<String, Long> byName = new TreeMap<>();
+        for (int id = 0; id < hits.length; id++) {
+            if (metrics.game().isBonus(id)) {
+                byName.put(metrics.game().symbolName(id), hits[id]);
+            }
+        }
+        return byName;
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatency() {
+        return byStage(LatencyHistogram.Snapshot::mean);
+    }
+
+    @Override
+    public Map<String, Long> getP50Latency() {
+        return byStage(latency -> latency.percentile(50));
+    }
+
+    @Override
+    public Map<String, Long> getP99Latency() {
+        return byStage(latency -> latency.percentile(99));
+    }
+
+    @Override
+    public Map<String, Long> getP999Latency() {
+        return byStage(latency -> latency.percentile(99.9));
+    }
+
+    @Override
+    public Map<String, Long> getMaxLatency() {
+        return byStage(LatencyHistogram.Snapshot::max);
+    }
+
+    @Override
+    public String getReport() {
+        return new TextMetricsReportPrinter().format(metrics);
+    }
+
+    @Override
+    public void reset() {
+        metrics.reset();
+    }
+
+    private <T> Map<String, T> byStage(Function<LatencyHistogram.Snapshot, T> value) {
+        Map<String, T> values = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            values.put(stage.label(), value.apply(metrics.latency(stage)));
+        }
+        return values;
+    }
+}
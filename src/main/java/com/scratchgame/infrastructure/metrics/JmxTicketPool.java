@@ -0,0 +1,84 @@
+package com.scratchgame.infrastructure.metrics;
+
+import com.scratchgame.engine.pool.TicketPool;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+public class JmxTicketPool implements TicketPoolMXBean {
+
+    private static final String DOMAIN = "com.scratchgame";
+
+    private final TicketPool pool;
+    private long lastGenerated;
+    private long lastRead = System.nanoTime();
+
+    public JmxTicketPool(TicketPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Registers the pool with the platform MBean server as
+     * {@code com.scratchgame:type=TicketPool,name=<name>}.
+     */
+    public static ObjectName register(TicketPool pool, String name) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=TicketPool,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(new JmxTicketPool(pool), objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register ticket pool: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return pool.capacity();
+    }
+
+    @Override
+    public int getAvailable() {
+        return pool.available();
+    }
+
+    @Override
+    public double getFillLevel() {
+        return (double) pool.available() / pool.capacity();
+    }
+
+    @Override
+    public long getGenerated() {
+        return pool.generated();
+    }
+
+    @Override
+    public long getServed() {
+        return pool.served();
+    }
+
+    @Override
+    public long getStarvations() {
+        return pool.starvations();
+    }
+
+    @Override
+    public long getDrained() {
+        return pool.drained();
+    }
+
+    @Override
+    public synchronized double getRefillRate() {
+        long now = System.nanoTime();
+        long generated = pool.generated();
+        double rate = now == lastRead ? 0.0 : (generated - lastGenerated) * 1e9 / (now - lastRead);
+        lastGenerated = generated;
+        lastRead = now;
+        return rate;
+    }
+}
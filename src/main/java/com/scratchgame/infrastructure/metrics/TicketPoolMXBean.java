@@ -0,0 +1,29 @@
+package com.scratchgame.infrastructure.metrics;
+
+/**
+ * JMX view of a {@link com.scratchgame.engine.pool.TicketPool}.
+ */
+public interface TicketPoolMXBean {
+
+    int getCapacity();
+
+    int getAvailable();
+
+    /**
+     * @return available tickets as a fraction of the capacity
+     */
+    double getFillLevel();
+
+    long getGenerated();
+
+    long getServed();
+
+    long getStarvations();
+
+    long getDrained();
+
+    /**
+     * @return tickets generated per second since the previous read of this attribute
+     */
+    double getRefillRate();
+}
@@ -0,0 +1,129 @@
+package com.scratchgame.infrastructure.reload;
+
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.ReloadableGameEngine;
+import com.scratchgame.model.CompiledGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Rebuilds the engine whenever the watched file changes and swaps it into a
+ * {@link ReloadableGameEngine}.
+ * <p>
+ * Loading, validation and engine construction all run on the watcher's own thread, so
+ * rounds keep being played on the old engine until the new one is published. Editors
+ * usually write a file in several steps, so events are collected until the file has been
+ * quiet for {@value #SETTLE_MILLIS} ms. The outcome of each such reload goes to the
+ * {@link ReloadListener}. A file that fails to load is reported in the
+ * {@link ReloadStatistics} and the old engine stays in place until the next change.
+ * A replaced engine that is {@link Closeable} is closed once the new one is published.
+ */
+public final class ConfigWatcher implements Closeable {
+
+    static final long SETTLE_MILLIS = 100;
+
+    private final Path file;
+    private final GameLoader loader;
+    private final Function<CompiledGame, GameEngine> engineFactory;
+    private final ReloadableGameEngine engine;
+    private final ReloadListener listener;
+    private final ReloadStatistics statistics = new ReloadStatistics();
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public ConfigWatcher(Path file, GameLoader loader, Function<CompiledGame, GameEngine> engineFactory,
+                         ReloadableGameEngine engine) throws IOException {
+        this(file, loader, engineFactory, engine, ReloadListener.NONE);
+    }
+
+    public ConfigWatcher(Path file, GameLoader loader, Function<CompiledGame, GameEngine> engineFactory,
+                         ReloadableGameEngine engine, ReloadListener listener) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.loader = loader;
+        this.engineFactory = engineFactory;
+        this.engine = engine;
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = Thread.ofPlatform().name("config-watcher").daemon().unstarted(this::watch);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+
+    public ReloadStatistics statistics() {
+        return statistics;
+    }
+
+    /**
+     * Loads the file and publishes a new engine for it.
+     *
+     * @return whether the new engine was published
+     */
+    public boolean reload() {
+        long start = System.nanoTime();
+        try {
+            GameEngine next = engineFactory.apply(loader.load(file));
+            GameEngine previous = engine.swap(next);
+            if (previous instanceof Closeable closeable) {
+                // Drops whatever the old engine prepared for the old game, e.g. pooled tickets
+                closeable.close();
+            }
+            statistics.recordSuccess(System.nanoTime() - start);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            statistics.recordFailure(e.getMessage());
+            return false;
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+                // Keep collecting until the writer is done with the file
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(key);
+                }
+                if (changed) {
+                    if (reload()) {
+                        listener.reloaded(file);
+                    } else {
+                        listener.failed(file, statistics.lastError());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            changed |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context());
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,15 @@
+package com.scratchgame.infrastructure.reload;
+
+import com.scratchgame.model.CompiledGame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@FunctionalInterface
+public interface GameLoader {
+
+    /**
+     * @throws IllegalArgumentException if the file holds a game that cannot be played
+     */
+    CompiledGame load(Path file) throws IOException;
+}
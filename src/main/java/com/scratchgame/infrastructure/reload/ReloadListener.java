@@ -0,0 +1,24 @@
+package com.scratchgame.infrastructure.reload;
+
+import java.nio.file.Path;
+
+/**
+ * Told the outcome of every reload a {@link ConfigWatcher} attempts after the file changed,
+ * on the watcher's thread.
+ */
+public interface ReloadListener {
+
+    ReloadListener NONE = new ReloadListener() {
+        @Override
+        public void reloaded(Path file) {
+        }
+
+        @Override
+        public void failed(Path file, String error) {
+        }
+    };
+
+    void reloaded(Path file);
+
+    void failed(Path file, String error);
+}
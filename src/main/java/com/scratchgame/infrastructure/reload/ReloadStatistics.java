@@ -0,0 +1,56 @@
+package com.scratchgame.infrastructure.reload;
+
+import com.scratchgame.engine.metrics.LatencyHistogram;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outcome of every reload attempt. Latency runs from the moment the change settled to
+ * the moment the new engine was published.
+ */
+public final class ReloadStatistics {
+
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile Instant lastReload;
+    private volatile String lastError;
+
+    void recordSuccess(long nanos) {
+        latency.record(nanos);
+        reloads.incrementAndGet();
+        lastReload = Instant.now();
+    }
+
+    void recordFailure(String error) {
+        failures.incrementAndGet();
+        lastError = error;
+    }
+
+    public long reloads() {
+        return reloads.get();
+    }
+
+    public long failures() {
+        return failures.get();
+    }
+
+    public LatencyHistogram.Snapshot latency() {
+        return latency.snapshot();
+    }
+
+    /**
+     * @return when the last successful reload was published, or null if none was
+     */
+    public Instant lastReload() {
+        return lastReload;
+    }
+
+    /**
+     * @return the message of the last failed reload, or null if none failed
+     */
+    public String lastError() {
+        return lastError;
+    }
+}
@@ -0,0 +1,10 @@
+package com.scratchgame.infrastructure.server;
+
+public interface GameServer {
+
+    void start();
+
+    void stop();
+
+    int port();
+}
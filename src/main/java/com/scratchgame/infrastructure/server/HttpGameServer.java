@@ -0,0 +1,152 @@
+package com.scratchgame.infrastructure.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.registry.EngineRegistry;
+import com.scratchgame.infrastructure.io.JsonGameResultPrinter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves {@code POST /play} on the JDK HTTP server, one virtual thread per exchange.
+ * <p>
+ * The engine is shared by every request, so it must be safe for concurrent use, and the
+ * response body is exactly what {@link JsonGameResultPrinter} prints for the CLI. With an
+ * {@link EngineRegistry}, {@code POST /play/<game id>} plays the given variant.
+ */
+public class HttpGameServer implements GameServer {
+
+    private static final String PLAY_PATH = "/play";
+    private static final String GAME_PATH = PLAY_PATH + "/";
+    private static final String JSON = "application/json";
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    private final GameEngine engine;
+    private final EngineRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonGameResultPrinter printer = new JsonGameResultPrinter();
+
+    public HttpGameServer(GameEngine engine, int port) {
+        this(engine, null, port);
+    }
+
+    /**
+     * @param engine   the engine for {@code /play}, or null to serve only registry games
+     * @param registry the games for {@code /play/<game id>}, or null to serve only {@code engine}
+     */
+    public HttpGameServer(GameEngine engine, EngineRegistry registry, int port) {
+        this.engine = engine;
+        this.registry = registry;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not bind port " + port, e);
+        }
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(PLAY_PATH, this::handlePlay);
+    }
+
+    @Override
+    public void start() {
+        server.start();
+    }
+
+    @Override
+    public void stop() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.close();
+    }
+
+    @Override
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handlePlay(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+            GameEngine game;
+            try {
+                game = engine(exchange.getRequestURI().getPath());
+            } catch (IllegalArgumentException | UncheckedIOException e) {
+                sendError(exchange, 500, "Game could not be loaded: " + e.getMessage());
+                return;
+            }
+            if (game == null) {
+                sendError(exchange, 404, "Not found");
+                return;
+            }
+
+            double bettingAmount;
+            try {
+                bettingAmount = readBettingAmount(exchange.getRequestBody());
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            String body;
+            try {
+                body = printer.toJson(game.playGame(bettingAmount));
+            } catch (RuntimeException e) {
+                sendError(exchange, 500, "Game failed");
+                return;
+            }
+            send(exchange, 200, body);
+        }
+    }
+
+    private GameEngine engine(String path) {
+        if (PLAY_PATH.equals(path)) {
+            return engine;
+        }
+        if (registry != null && path.startsWith(GAME_PATH) && path.length() > GAME_PATH.length()) {
+            return registry.engine(path.substring(GAME_PATH.length()));
+        }
+        return null;
+    }
+
+    private double readBettingAmount(InputStream body) throws IOException {
+        PlayRequest request;
+        try {
+            request = mapper.readValue(body, PlayRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body must be a JSON object with betting_amount");
+        }
+        if (request == null || request.bettingAmount() == null) {
+            throw new IllegalArgumentException("Missing required field betting_amount");
+        }
+        return request.bettingAmount();
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, mapper.writeValueAsString(Map.of("error", message)));
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
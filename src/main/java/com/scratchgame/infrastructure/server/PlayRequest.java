@@ -0,0 +1,6 @@
+package com.scratchgame.infrastructure.server;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record PlayRequest(@JsonProperty("betting_amount") Double bettingAmount) {
+}
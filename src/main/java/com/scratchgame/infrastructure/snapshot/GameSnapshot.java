@@ -0,0 +1,303 @@
+package com.scratchgame.infrastructure.snapshot;
+
+import com.scratchgame.model.BonusImpact;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.CompiledWinCombination;
+import com.scratchgame.model.PatternFamily;
+import com.scratchgame.model.WeightTable;
+import com.scratchgame.model.WinCondition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary form of a {@link CompiledGame}, so that a validated game can be loaded
+ * without parsing JSON.
+ * <p>
+ * Big-endian layout: magic, version, the grid size, every symbol with its flags, multiplier,
+ * impact and extra, the distinct weight tables followed by the table index of each cell,
+ * the bonus table, every combination with its parsed covered areas or the pattern family
+ * they are expanded from again, the group count and a
+ * CRC32 of everything before it. Cells that shared a table when compiled share it again
+ * when loaded.
+ */
+public final class GameSnapshot {
+
+    private static final int MAGIC = 0x53434753;
+    private static final int VERSION = 2;
+    private static final int STANDARD_FLAG = 1;
+    private static final int BONUS_FLAG = 2;
+
+    private GameSnapshot() {
+        // Prevent instantiation
+    }
+
+    public static void write(CompiledGame game, Path path) throws IOException {
+        Files.write(path, encode(game));
+    }
+
+    /**
+     * @return the SHA-256 of the game's snapshot form, which is the same whether the game was
+     * compiled from a JSON config or loaded from a snapshot
+     */
+    public static byte[] fingerprint(CompiledGame game) throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(encode(game));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static byte[] encode(CompiledGame game) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(game.rows());
+        out.writeInt(game.columns());
+
+        out.writeInt(game.symbolCount());
+        for (int id = 0; id < game.symbolCount(); id++) {
+            writeString(out, game.symbolName(id));
+            out.writeByte((game.isStandard(id) ? STANDARD_FLAG : 0) | (game.isBonus(id) ? BONUS_FLAG : 0));
+            out.writeDouble(game.rewardMultiplier(id));
+            out.writeByte(game.impact(id).ordinal());
+            out.writeDouble(game.extra(id));
+        }
+
+        Map<WeightTable, Integer> tableIndex = new IdentityHashMap<>();
+        List<WeightTable> tables = new ArrayList<>();
+        for (int cell = 0; cell < game.cellCount(); cell++) {
+            tableIndex.computeIfAbsent(game.cellTable(cell), table -> {
+                tables.add(table);
+                return tables.size() - 1;
+            });
+        }
+        out.writeInt(tables.size());
+        for (WeightTable table : tables) {
+            writeTable(out, table);
+        }
+        for (int cell = 0; cell < game.cellCount(); cell++) {
+            out.writeInt(tableIndex.get(game.cellTable(cell)));
+        }
+        writeTable(out, game.bonusTable());
+
+        out.writeInt(game.combinations().length);
+        for (CompiledWinCombination combination : game.combinations()) {
+            writeString(out, combination.name());
+            out.writeDouble(combination.rewardMultiplier());
+            out.writeByte(combination.when().ordinal());
+            out.writeInt(combination.count());
+            out.writeInt(combination.group());
+            out.writeByte(combination.pattern() != null ? combination.pattern().ordinal() + 1 : 0);
+            if (combination.pattern() != null) {
+                continue;
+            }
+            out.writeInt(combination.coveredAreas().length);
+            for (int[] area : combination.coveredAreas()) {
+                writeInts(out, area);
+            }
+        }
+        out.writeInt(game.groupCount());
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Maps the snapshot into memory and rebuilds the game from it.
+     *
+     * @throws IllegalArgumentException if the file is not a valid snapshot of this version
+     */
+    public static CompiledGame read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    static CompiledGame read(ByteBuffer buffer) {
+        try {
+            return decode(buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid game snapshot: truncated or corrupt");
+        }
+    }
+
+    private static CompiledGame decode(ByteBuffer buffer) {
+        if (buffer.remaining() < 3 * Integer.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Invalid game snapshot: not a snapshot file");
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("Invalid game snapshot: unsupported version " + buffer.getInt(Integer.BYTES));
+        }
+        int payloadEnd = buffer.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, payloadEnd));
+        if ((int) crc.getValue() != buffer.getInt(payloadEnd)) {
+            throw new IllegalArgumentException("Invalid game snapshot: checksum mismatch");
+        }
+
+        ByteBuffer in = buffer.slice(2 * Integer.BYTES, payloadEnd - 2 * Integer.BYTES);
+        int rows = positive(in.getInt(), "rows");
+        int columns = positive(in.getInt(), "columns");
+        int cells = Math.multiplyExact(rows, columns);
+
+        int symbolCount = in.getInt();
+        if (symbolCount < 0 || symbolCount > CompiledGame.MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Invalid game snapshot: " + symbolCount + " symbols");
+        }
+        String[] names = new String[symbolCount];
+        boolean[] standard = new boolean[symbolCount];
+        boolean[] bonus = new boolean[symbolCount];
+        double[] multipliers = new double[symbolCount];
+        BonusImpact[] impacts = new BonusImpact[symbolCount];
+        double[] extras = new double[symbolCount];
+        for (int id = 0; id < symbolCount; id++) {
+            names[id] = readString(in);
+            int flags = in.get();
+            standard[id] = (flags & STANDARD_FLAG) != 0;
+            bonus[id] = (flags & BONUS_FLAG) != 0;
+            multipliers[id] = in.getDouble();
+            impacts[id] = BonusImpact.values()[in.get()];
+            extras[id] = in.getDouble();
+        }
+
+        WeightTable[] tables = new WeightTable[in.getInt()];
+        for (int t = 0; t < tables.length; t++) {
+            tables[t] = readTable(in, symbolCount);
+        }
+        WeightTable[] cellTables = new WeightTable[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            cellTables[cell] = tables[in.getInt()];
+        }
+        WeightTable bonusTable = readTable(in, symbolCount);
+
+        CompiledWinCombination[] combinations = new CompiledWinCombination[in.getInt()];
+        int groupLimit = combinations.length;
+        int groupsUsed = 0;
+        for (int id = 0; id < combinations.length; id++) {
+            String name = readString(in);
+            double multiplier = in.getDouble();
+            WinCondition when = WinCondition.values()[in.get()];
+            int count = in.getInt();
+            int group = in.getInt();
+            if (group < 0 || group >= groupLimit) {
+                throw new IllegalArgumentException("Invalid game snapshot: group " + group + " of " + name);
+            }
+            groupsUsed = Math.max(groupsUsed, group + 1);
+            int pattern = in.get();
+            if (pattern != 0) {
+                PatternFamily family = PatternFamily.values()[pattern - 1];
+                if (family == PatternFamily.IN_A_ROW && (count < 2 || count > Math.max(rows, columns))) {
+                    throw new IllegalArgumentException("Invalid game snapshot: run length " + count + " of " + name);
+                }
+                combinations[id] = new CompiledWinCombination(id, name, multiplier, when, count, group,
+                        family.expand(rows, columns, count), family);
+                continue;
+            }
+            int[][] areas = new int[in.getInt()][];
+            for (int a = 0; a < areas.length; a++) {
+                areas[a] = readInts(in, in.getInt());
+                for (int cell : areas[a]) {
+                    if (cell < 0 || cell >= cells) {
+                        throw new IllegalArgumentException("Invalid game snapshot: cell " + cell + " in " + name);
+                    }
+                }
+            }
+            combinations[id] = new CompiledWinCombination(id, name, multiplier, when, count, group, areas);
+        }
+        int groupCount = in.getInt();
+        if (groupCount < groupsUsed || groupCount > groupLimit) {
+            throw new IllegalArgumentException("Invalid game snapshot: " + groupCount + " groups");
+        }
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException("Invalid game snapshot: trailing data");
+        }
+
+        return new CompiledGame(rows, columns, names, standard, bonus, multipliers, impacts, extras,
+                cellTables, bonusTable, combinations, groupCount);
+    }
+
+    private static void writeTable(DataOutputStream out, WeightTable table) throws IOException {
+        writeInts(out, table.symbolIds());
+        for (int weight : table.weights()) {
+            out.writeInt(weight);
+        }
+    }
+
+    private static WeightTable readTable(ByteBuffer in, int symbolCount) {
+        int[] symbolIds = readInts(in, in.getInt());
+        int[] weights = readInts(in, symbolIds.length);
+        int[] cumulative = new int[weights.length];
+        int total = 0;
+        for (int k = 0; k < weights.length; k++) {
+            if (symbolIds[k] < 0 || symbolIds[k] >= symbolCount || weights[k] < 0) {
+                throw new IllegalArgumentException("Invalid game snapshot: bad weight table entry");
+            }
+            total = Math.addExact(total, weights[k]);
+            cumulative[k] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Invalid game snapshot: weight table without positive total");
+        }
+        return new WeightTable(symbolIds, weights, cumulative);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer in, int length) {
+        if (length < 0 || length > in.remaining() / Integer.BYTES) {
+            throw new IllegalArgumentException("Invalid game snapshot: truncated or corrupt");
+        }
+        int[] values = new int[length];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + length * Integer.BYTES);
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Invalid game snapshot: truncated or corrupt");
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int positive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Invalid game snapshot: " + name + " must be positive");
+        }
+        return value;
+    }
+}
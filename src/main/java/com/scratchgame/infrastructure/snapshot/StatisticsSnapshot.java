@@ -0,0 +1,170 @@
+package com.scratchgame.infrastructure.snapshot;
+
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.simulation.PayoutHistogram;
+import com.scratchgame.simulation.SimulationShard;
+import com.scratchgame.simulation.SimulationStatistics;
+import com.scratchgame.util.random.RandomAlgorithm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary form of a {@link SimulationShard}, written by each process of a sharded
+ * simulation and merged afterwards.
+ * <p>
+ * Big-endian layout: magic, version, the SHA-256 of the game's {@link GameSnapshot} form,
+ * the run's rounds, seed, betting amount and random algorithm, the shard index and count,
+ * the shard's round and winning round counts, the hits per combination and per symbol,
+ * every distinct payout with its count and a CRC32 of everything before it. Only counts
+ * are stored, so merged shards report exactly what a single process would.
+ */
+public final class StatisticsSnapshot {
+
+    private static final int MAGIC = 0x53435353;
+    private static final int VERSION = 1;
+    private static final int FINGERPRINT_BYTES = 32;
+
+    private StatisticsSnapshot() {
+        // Prevent instantiation
+    }
+
+    public static void write(SimulationShard shard, Path path) throws IOException {
+        Files.write(path, encode(shard));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the file is not a valid statistics snapshot of this
+     *                                  version, or was written for another game
+     */
+    public static SimulationShard read(Path path, CompiledGame game) throws IOException {
+        return read(ByteBuffer.wrap(Files.readAllBytes(path)), game);
+    }
+
+    static byte[] encode(SimulationShard shard) throws IOException {
+        SimulationStatistics statistics = shard.statistics();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.write(GameSnapshot.fingerprint(statistics.game()));
+        out.writeLong(shard.rounds());
+        out.writeLong(shard.seed());
+        out.writeDouble(shard.bettingAmount());
+        out.writeByte(shard.randomAlgorithm().ordinal());
+        out.writeInt(shard.shard());
+        out.writeInt(shard.shardCount());
+
+        out.writeLong(statistics.rounds());
+        out.writeLong(statistics.winningRounds());
+        writeLongs(out, statistics.combinationHits());
+        writeLongs(out, statistics.bonusHits());
+        PayoutHistogram payouts = statistics.payouts();
+        out.writeInt(payouts.size());
+        for (double payout : payouts.payouts()) {
+            out.writeDouble(payout);
+            out.writeLong(payouts.count(payout));
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static SimulationShard read(ByteBuffer buffer, CompiledGame game) throws IOException {
+        try {
+            return decode(buffer, game);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid statistics snapshot: truncated or corrupt");
+        }
+    }
+
+    private static SimulationShard decode(ByteBuffer buffer, CompiledGame game) throws IOException {
+        if (buffer.remaining() < 3 * Integer.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Invalid statistics snapshot: not a statistics file");
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("Invalid statistics snapshot: unsupported version "
+                    + buffer.getInt(Integer.BYTES));
+        }
+        int payloadEnd = buffer.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, payloadEnd));
+        if ((int) crc.getValue() != buffer.getInt(payloadEnd)) {
+            throw new IllegalArgumentException("Invalid statistics snapshot: checksum mismatch");
+        }
+
+        ByteBuffer in = buffer.slice(2 * Integer.BYTES, payloadEnd - 2 * Integer.BYTES);
+        byte[] fingerprint = new byte[FINGERPRINT_BYTES];
+        in.get(fingerprint);
+        if (!MessageDigest.isEqual(fingerprint, GameSnapshot.fingerprint(game))) {
+            throw new IllegalArgumentException("Invalid statistics snapshot: written for another game");
+        }
+        long rounds = in.getLong();
+        long seed = in.getLong();
+        double bettingAmount = in.getDouble();
+        RandomAlgorithm algorithm = RandomAlgorithm.values()[in.get()];
+        int shard = in.getInt();
+        int shardCount = in.getInt();
+        if (shardCount <= 0 || shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("Invalid statistics snapshot: shard " + shard + "/" + shardCount);
+        }
+
+        long shardRounds = in.getLong();
+        long winningRounds = in.getLong();
+        long[] combinationHits = readLongs(in, game.combinations().length);
+        long[] bonusHits = readLongs(in, game.symbolCount());
+        int distinct = in.getInt();
+        if (distinct < 0 || distinct > in.remaining() / (2 * Long.BYTES)) {
+            throw new IllegalArgumentException("Invalid statistics snapshot: truncated or corrupt");
+        }
+        PayoutHistogram payouts = new PayoutHistogram();
+        long counted = 0;
+        for (int i = 0; i < distinct; i++) {
+            double payout = in.getDouble();
+            long count = in.getLong();
+            if (count <= 0) {
+                throw new IllegalArgumentException("Invalid statistics snapshot: bad payout count");
+            }
+            payouts.add(payout, count);
+            counted += count;
+        }
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException("Invalid statistics snapshot: trailing data");
+        }
+        if (counted != shardRounds || winningRounds < 0 || winningRounds > shardRounds) {
+            throw new IllegalArgumentException("Invalid statistics snapshot: inconsistent round counts");
+        }
+
+        return new SimulationShard(rounds, seed, bettingAmount, algorithm, shard, shardCount,
+                SimulationStatistics.of(game, shardRounds, winningRounds, combinationHits, bonusHits, payouts));
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    private static long[] readLongs(ByteBuffer in, int expected) {
+        int length = in.getInt();
+        if (length != expected) {
+            throw new IllegalArgumentException("Invalid statistics snapshot: " + length
+                    + " counts where the game has " + expected);
+        }
+        long[] values = new long[length];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + length * Long.BYTES);
+        return values;
+    }
+}
@@ -0,0 +1,99 @@
+package com.scratchgame.infrastructure.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * One column file of fixed-width little-endian values, mapped into memory in blocks of
+ * {@code 1 << blockShift} rounds. Blocks are mapped as the column grows, so no mapping
+ * exceeds the 2 GB limit of a {@link ByteBuffer} however many rounds the column holds.
+ */
+final class Column {
+
+    private final FileChannel channel;
+    private final int width;
+    private final int blockShift;
+    private final int blockMask;
+    private volatile ByteBuffer[] blocks = new ByteBuffer[0];
+
+    Column(Path path, int width, int blockShift) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.width = width;
+        this.blockShift = blockShift;
+        this.blockMask = (1 << blockShift) - 1;
+    }
+
+    int width() {
+        return width;
+    }
+
+    /**
+     * Maps every block needed to hold {@code rounds} rounds. Called by the writer only.
+     */
+    void reserve(long rounds) throws IOException {
+        ByteBuffer[] current = blocks;
+        int needed = (int) ((rounds + blockMask) >>> blockShift);
+        if (needed <= current.length) {
+            return;
+        }
+        ByteBuffer[] grown = Arrays.copyOf(current, needed);
+        long blockBytes = (long) width << blockShift;
+        for (int block = current.length; block < needed; block++) {
+            grown[block] = channel.map(FileChannel.MapMode.READ_WRITE, block * blockBytes, blockBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        blocks = grown;
+    }
+
+    ByteBuffer block(long round) {
+        return blocks[(int) (round >>> blockShift)];
+    }
+
+    int offset(long round) {
+        return ((int) round & blockMask) * width;
+    }
+
+    double getDouble(long round) {
+        return block(round).getDouble(offset(round));
+    }
+
+    void putDouble(long round, double value) {
+        block(round).putDouble(offset(round), value);
+    }
+
+    long getLong(long round) {
+        return block(round).getLong(offset(round));
+    }
+
+    void putLong(long round, long value) {
+        block(round).putLong(offset(round), value);
+    }
+
+    short getShort(long round) {
+        return block(round).getShort(offset(round));
+    }
+
+    void putShort(long round, short value) {
+        block(round).putShort(offset(round), value);
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Cuts the file down to the rounds it holds, so a closed store takes no more disk than
+     * its data.
+     */
+    void close(long rounds) throws IOException {
+        blocks = new ByteBuffer[0];
+        channel.truncate(rounds * width);
+        channel.close();
+    }
+}
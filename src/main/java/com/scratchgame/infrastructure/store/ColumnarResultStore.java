@@ -0,0 +1,369 @@
+package com.scratchgame.infrastructure.store;
+
+import com.scratchgame.engine.ResultSink;
+import com.scratchgame.engine.RoundOutcome;
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.infrastructure.snapshot.GameSnapshot;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.GameResult;
+import com.scratchgame.model.SymbolMatrix;
+import com.scratchgame.simulation.PayoutHistogram;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Stores played rounds column by column in memory-mapped files outside the Java heap, for
+ * filtered scans over millions of rounds.
+ * <p>
+ * A store is a directory with one file per column: reward and bet as doubles, the applied
+ * bonus symbol id as a short, the ids of the applied combinations as a 64-bit mask and the
+ * matrix with every symbol id packed into as few bits as the game's symbols need, 30 bytes
+ * per round on a 3x3 board with 6 symbols. A small header file holds the round count and
+ * the fingerprint of the game, so a store reopens without reading any round.
+ * <p>
+ * Rounds are appended by one thread at a time. Scans run in parallel on the common
+ * {@link java.util.concurrent.ForkJoinPool}, may overlap appends and see every round appended
+ * before they started.
+ */
+public final class ColumnarResultStore implements Closeable {
+
+    static final int DEFAULT_BLOCK_SHIFT = 20;
+
+    private static final int MAGIC = 0x53435253;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int FINGERPRINT = 32;
+    private static final String HEADER = "store.header";
+    private static final int SCAN_ROUNDS = 1 << 16;
+    private static final int MAX_COMBINATIONS = Long.SIZE;
+
+    private final Path directory;
+    private final CompiledGame game;
+    private final byte[] fingerprint;
+    private final int blockShift;
+    private final int symbolBits;
+    private final int symbolMask;
+    private final Column reward;
+    private final Column bet;
+    private final Column bonus;
+    private final Column combinations;
+    private final Column matrix;
+    private volatile long size;
+    private boolean closed;
+
+    private ColumnarResultStore(Path directory, CompiledGame game, byte[] fingerprint, int blockShift, long size)
+            throws IOException {
+        this.directory = directory;
+        this.game = game;
+        this.fingerprint = fingerprint;
+        this.blockShift = blockShift;
+        this.symbolBits = symbolBits(game);
+        this.symbolMask = (1 << symbolBits) - 1;
+        this.reward = new Column(directory.resolve("reward.column"), Double.BYTES, blockShift);
+        this.bet = new Column(directory.resolve("bet.column"), Double.BYTES, blockShift);
+        this.bonus = new Column(directory.resolve("bonus.column"), Short.BYTES, blockShift);
+        this.combinations = new Column(directory.resolve("combinations.column"), Long.BYTES, blockShift);
+        this.matrix = new Column(directory.resolve("matrix.column"),
+                (game.cellCount() * symbolBits + Byte.SIZE - 1) / Byte.SIZE, blockShift);
+        for (Column column : columns()) {
+            column.reserve(size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Creates an empty store in {@code directory}, which is created if missing.
+     *
+     * @throws IllegalArgumentException if the directory already holds a store, or the game has
+     *                                  more than 64 combinations
+     */
+    public static ColumnarResultStore create(Path directory, CompiledGame game) throws IOException {
+        return create(directory, game, DEFAULT_BLOCK_SHIFT);
+    }
+
+    static ColumnarResultStore create(Path directory, CompiledGame game, int blockShift) throws IOException {
+        checkGame(game);
+        Files.createDirectories(directory);
+        if (Files.exists(directory.resolve(HEADER))) {
+            throw new IllegalArgumentException("Result store already exists in " + directory);
+        }
+        ColumnarResultStore store = new ColumnarResultStore(directory, game, GameSnapshot.fingerprint(game),
+                blockShift, 0);
+        store.writeHeader();
+        return store;
+    }
+
+    /**
+     * Reopens a store for scans and further appends. Rounds are not read until scanned.
+     *
+     * @throws IllegalArgumentException if the directory holds no store, or one of another game
+     */
+    public static ColumnarResultStore open(Path directory, CompiledGame game) throws IOException {
+        checkGame(game);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(directory.resolve(HEADER), StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read the whole header
+            }
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Invalid result store header in " + directory);
+        }
+        byte[] fingerprint = GameSnapshot.fingerprint(game);
+        if (!Arrays.equals(fingerprint, 0, FINGERPRINT, header.array(), 32, 32 + FINGERPRINT)) {
+            throw new IllegalArgumentException("Result store in " + directory + " was written for another game");
+        }
+        int blockShift = header.getInt(8);
+        long size = header.getLong(16);
+        if (blockShift <= 0 || blockShift > 24 || size < 0) {
+            throw new IllegalArgumentException("Invalid result store header in " + directory);
+        }
+        return new ColumnarResultStore(directory, game, fingerprint, blockShift, size);
+    }
+
+    public CompiledGame game() {
+        return game;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return a sink appending every round of a batch played at {@code bettingAmount}, e.g.
+     * for {@link com.scratchgame.engine.GameEngine#playGames}
+     */
+    public ResultSink sink(double bettingAmount) {
+        return outcome -> append(outcome, bettingAmount);
+    }
+
+    public void append(RoundOutcome outcome, double bettingAmount) {
+        AppliedCombinations applied = outcome.combinations();
+        long mask = 0;
+        for (int symbol = 0; symbol < game.symbolCount(); symbol++) {
+            mask |= applied.signature(symbol);
+        }
+        append(outcome.matrix(), bettingAmount, outcome.reward(), outcome.bonusSymbol(), mask);
+    }
+
+    public void append(GameResult result, double bettingAmount) {
+        long mask = 0;
+        for (List<String> names : result.appliedWinningCombinations().values()) {
+            for (String name : names) {
+                mask |= 1L << game.combination(name).id();
+            }
+        }
+        int bonusSymbol = result.appliedBonusSymbol() != null
+                ? game.symbolId(result.appliedBonusSymbol())
+                : CompiledGame.NO_SYMBOL;
+        append(result.symbolMatrix(), bettingAmount, result.reward(), bonusSymbol, mask);
+    }
+
+    private void append(SymbolMatrix symbols, double bettingAmount, double payout, int bonusSymbol, long mask) {
+        if (closed) {
+            throw new IllegalStateException("Result store is closed");
+        }
+        long round = size;
+        if ((round & ((1L << blockShift) - 1)) == 0) {
+            try {
+                for (Column column : columns()) {
+                    column.reserve(round + 1);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot grow result store in " + directory, e);
+            }
+        }
+        reward.putDouble(round, payout);
+        bet.putDouble(round, bettingAmount);
+        bonus.putShort(round, (short) bonusSymbol);
+        combinations.putLong(round, mask);
+        writeMatrix(round, symbols);
+        // Publishes the round to scans
+        size = round + 1;
+    }
+
+    public double reward(long round) {
+        return reward.getDouble(round);
+    }
+
+    public double bet(long round) {
+        return bet.getDouble(round);
+    }
+
+    /**
+     * @return id of the applied bonus symbol, or {@link CompiledGame#NO_SYMBOL}
+     */
+    public int bonusSymbol(long round) {
+        return bonus.getShort(round);
+    }
+
+    /**
+     * @return the bitmask of the ids of the combinations applied in the round, to any symbol
+     */
+    public long combinations(long round) {
+        return combinations.getLong(round);
+    }
+
+    public int symbolAt(long round, int cell) {
+        ByteBuffer block = matrix.block(round);
+        int offset = matrix.offset(round);
+        int bit = cell * symbolBits;
+        int index = bit >>> 3;
+        int value = block.get(offset + index) & 0xFF;
+        if (index + 1 < matrix.width()) {
+            value |= (block.get(offset + index + 1) & 0xFF) << Byte.SIZE;
+        }
+        return (value >>> (bit & 7)) & symbolMask;
+    }
+
+    public SymbolMatrix matrix(long round) {
+        SymbolMatrix symbols = new SymbolMatrix(game);
+        for (int cell = 0; cell < game.cellCount(); cell++) {
+            symbols.set(cell, symbolAt(round, cell));
+        }
+        return symbols;
+    }
+
+    public long count(RoundFilter filter) {
+        long end = size;
+        return slices(end).map(slice -> {
+            long count = 0;
+            for (long round = slice * SCAN_ROUNDS, last = Math.min(end, round + SCAN_ROUNDS); round < last; round++) {
+                if (filter.test(this, round)) {
+                    count++;
+                }
+            }
+            return count;
+        }).sum();
+    }
+
+    /**
+     * @return how often each reward occurs among the selected rounds
+     */
+    public PayoutHistogram rewards(RoundFilter filter) {
+        long end = size;
+        return slices(end).mapToObj(slice -> {
+            PayoutHistogram histogram = new PayoutHistogram();
+            for (long round = slice * SCAN_ROUNDS, last = Math.min(end, round + SCAN_ROUNDS); round < last; round++) {
+                if (filter.test(this, round)) {
+                    histogram.add(reward(round));
+                }
+            }
+            return histogram;
+        }).reduce((left, right) -> {
+            left.merge(right);
+            return left;
+        }).orElseGet(PayoutHistogram::new);
+    }
+
+    /**
+     * @return the first {@code limit} selected rounds in ascending order
+     */
+    public long[] find(RoundFilter filter, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        long end = size;
+        List<long[]> found = slices(end).mapToObj(slice -> {
+            long[] rounds = new long[Math.min(limit, SCAN_ROUNDS)];
+            int count = 0;
+            for (long round = slice * SCAN_ROUNDS, last = Math.min(end, round + SCAN_ROUNDS);
+                 round < last && count < rounds.length; round++) {
+                if (filter.test(this, round)) {
+                    rounds[count++] = round;
+                }
+            }
+            return Arrays.copyOf(rounds, count);
+        }).toList();
+        return found.stream().flatMapToLong(LongStream::of).limit(limit).toArray();
+    }
+
+    /**
+     * Forces every appended round and the round count to disk.
+     */
+    public void flush() throws IOException {
+        for (Column column : columns()) {
+            column.force();
+        }
+        writeHeader();
+    }
+
+    /**
+     * Flushes the store and trims its files to the rounds they hold. Scans must have ended.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flush();
+        for (Column column : columns()) {
+            column.close(size);
+        }
+    }
+
+    private void writeMatrix(long round, SymbolMatrix symbols) {
+        ByteBuffer block = matrix.block(round);
+        int offset = matrix.offset(round);
+        long pending = 0;
+        int pendingBits = 0;
+        for (int cell = 0; cell < game.cellCount(); cell++) {
+            pending |= (long) symbols.symbolAt(cell) << pendingBits;
+            pendingBits += symbolBits;
+            while (pendingBits >= Byte.SIZE) {
+                block.put(offset++, (byte) pending);
+                pending >>>= Byte.SIZE;
+                pendingBits -= Byte.SIZE;
+            }
+        }
+        if (pendingBits > 0) {
+            block.put(offset, (byte) pending);
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, blockShift);
+        header.putInt(12, symbolBits);
+        header.putLong(16, size);
+        header.put(32, fingerprint);
+        try (FileChannel channel = FileChannel.open(directory.resolve(HEADER), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(false);
+        }
+    }
+
+    private Column[] columns() {
+        return new Column[]{reward, bet, bonus, combinations, matrix};
+    }
+
+    private static LongStream slices(long end) {
+        return LongStream.range(0, (end + SCAN_ROUNDS - 1) / SCAN_ROUNDS).parallel();
+    }
+
+    private static int symbolBits(CompiledGame game) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(game.symbolCount() - 1));
+    }
+
+    private static void checkGame(CompiledGame game) {
+        if (game.combinations().length > MAX_COMBINATIONS) {
+            throw new IllegalArgumentException("Result store supports at most " + MAX_COMBINATIONS + " win combinations");
+        }
+    }
+}
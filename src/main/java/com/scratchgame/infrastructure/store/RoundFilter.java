@@ -0,0 +1,40 @@
+package com.scratchgame.infrastructure.store;
+
+/**
+ * Selects stored rounds by reading only the columns it needs.
+ */
+@FunctionalInterface
+public interface RoundFilter {
+
+    boolean test(ColumnarResultStore store, long round);
+
+    default RoundFilter and(RoundFilter other) {
+        return (store, round) -> test(store, round) && other.test(store, round);
+    }
+
+    static RoundFilter all() {
+        return (store, round) -> true;
+    }
+
+    static RoundFilter wins() {
+        return (store, round) -> store.combinations(round) != 0;
+    }
+
+    /**
+     * Rounds whose reward exceeds {@code multiple} times their bet.
+     */
+    static RoundFilter paysMoreThan(double multiple) {
+        return (store, round) -> store.reward(round) > multiple * store.bet(round);
+    }
+
+    /**
+     * @param symbol id of the bonus symbol, or {@link com.scratchgame.model.CompiledGame#NO_SYMBOL}
+     */
+    static RoundFilter bonus(int symbol) {
+        return (store, round) -> store.bonusSymbol(round) == symbol;
+    }
+
+    static RoundFilter combination(int id) {
+        return (store, round) -> (store.combinations(round) & 1L << id) != 0;
+    }
+}
@@ -0,0 +1,214 @@
+package com.scratchgame.infrastructure.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.scratchgame.engine.RoundOutcome;
+import com.scratchgame.engine.SeededGameEngine;
+import com.scratchgame.infrastructure.io.StreamingGameResultWriter;
+import com.scratchgame.model.OutputFormat;
+import com.scratchgame.util.random.SeededRandomSource;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Plays a stream of NDJSON play requests on a pool of workers and writes one NDJSON result
+ * per request, in the order of the requests.
+ * <p>
+ * A reader thread cuts the input into batches of lines, which workers parse, play and
+ * serialize into a byte buffer each. The caller's thread writes the buffers in input order
+ * and flushes whenever it has caught up with the workers. At most {@code maxInFlight}
+ * batches are read ahead of the one being written, so a slow consumer stops the reader
+ * instead of filling the heap.
+ * <p>
+ * A request that cannot be played, e.g. malformed or of an unknown game, gets an
+ * {@code {"error": ...}} line in its place. Blank lines are skipped.
+ */
+public class NdjsonPlayPipeline {
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final byte[] END = new byte[0];
+
+    private final SeededGameEngine engine;
+    private final Function<String, SeededGameEngine> games;
+    private final int threads;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final ObjectReader reader = new ObjectMapper().readerFor(StreamRequest.class);
+
+    /**
+     * @param engine  the engine of requests without a game id, or null to require one
+     * @param games   looks up the engine of a game id, returning null if there is no such
+     *                game, or null to reject requests with a game id
+     * @param threads how many workers play requests
+     */
+    public NdjsonPlayPipeline(SeededGameEngine engine, Function<String, SeededGameEngine> games, int threads) {
+        this(engine, games, threads, DEFAULT_BATCH_SIZE, 4 * threads);
+    }
+
+    public NdjsonPlayPipeline(SeededGameEngine engine, Function<String, SeededGameEngine> games,
+                              int threads, int batchSize, int maxInFlight) {
+        if (threads <= 0 || batchSize <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("Threads, batch size and batches in flight must be positive");
+        }
+        this.engine = engine;
+        this.games = games;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Plays every request read from {@code in} until its end. Neither stream is closed.
+     *
+     * @return the number of requests, including those answered with an error
+     */
+    public long run(InputStream in, OutputStream out) throws IOException {
+        BlockingQueue<Future<byte[]>> pending = new ArrayBlockingQueue<>(maxInFlight);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long[] requests = new long[1];
+        Thread readerThread = Thread.ofPlatform().name("ndjson-reader").daemon().start(() -> {
+            try {
+                read(in, pending, workers, requests);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            write(pending, out);
+            readerThread.join();
+            return requests[0];
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing results", e);
+        } finally {
+            readerThread.interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    private void read(InputStream in, BlockingQueue<Future<byte[]>> pending, ExecutorService workers, long[] requests)
+            throws InterruptedException {
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            List<String> batch = new ArrayList<>(batchSize);
+            long count = 0;
+            for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(line);
+                count++;
+                if (batch.size() == batchSize) {
+                    List<String> full = batch;
+                    pending.put(workers.submit(() -> play(full)));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                List<String> last = batch;
+                pending.put(workers.submit(() -> play(last)));
+            }
+            requests[0] = count;
+            pending.put(CompletableFuture.completedFuture(END));
+        } catch (IOException e) {
+            pending.put(CompletableFuture.failedFuture(new UncheckedIOException("Could not read requests", e)));
+        }
+    }
+
+    private static void write(BlockingQueue<Future<byte[]>> pending, OutputStream out)
+            throws IOException, InterruptedException {
+        while (true) {
+            byte[] results;
+            try {
+                results = pending.take().get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+                throw new IllegalStateException("Requests could not be played", e.getCause());
+            }
+            if (results == END) {
+                out.flush();
+                return;
+            }
+            out.write(results);
+            if (pending.isEmpty()) {
+                out.flush();
+            }
+        }
+    }
+
+    private byte[] play(List<String> lines) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(lines.size() * 128);
+        StreamingGameResultWriter writer = new StreamingGameResultWriter(buffer, OutputFormat.NDJSON, Integer.MAX_VALUE);
+        SeededRandomSource source = new SeededRandomSource(0);
+        // Consecutive requests mostly play the same game
+        SeededGameEngine last = null;
+        RoundOutcome outcome = null;
+        for (String line : lines) {
+            StreamRequest request;
+            try {
+                request = reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                writer.writeError("Request must be a JSON object with betting_amount");
+                continue;
+            }
+            if (request == null || request.bettingAmount() == null) {
+                writer.writeError("Missing required field betting_amount");
+                continue;
+            }
+            SeededGameEngine current;
+            try {
+                current = engine(request.game());
+            } catch (IllegalArgumentException | UncheckedIOException e) {
+                writer.writeError("Game could not be loaded: " + e.getMessage());
+                continue;
+            }
+            if (current == null) {
+                writer.writeError(request.game() != null ? "Unknown game " + request.game() : "Missing required field game");
+                continue;
+            }
+            if (current != last) {
+                last = current;
+                outcome = new RoundOutcome(current.game());
+            }
+            long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+            try {
+                current.play(seed, request.bettingAmount(), source, outcome);
+            } catch (RuntimeException e) {
+                writer.writeError("Game failed");
+                continue;
+            }
+            writer.write(outcome.toGameResult());
+        }
+        writer.close();
+        return buffer.toByteArray();
+    }
+
+    private SeededGameEngine engine(String gameId) {
+        if (gameId == null) {
+            return engine;
+        }
+        return games != null ? games.apply(gameId) : null;
+    }
+}
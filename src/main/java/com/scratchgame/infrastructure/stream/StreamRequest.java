@@ -0,0 +1,12 @@
+package com.scratchgame.infrastructure.stream;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One line of a play request stream.
+ *
+ * @param seed the seed to play the round from, or null for a fresh one
+ * @param game the id of the game variant to play, or null for the default game
+ */
+public record StreamRequest(@JsonProperty("betting_amount") Double bettingAmount, Long seed, String game) {
+}
@@ -0,0 +1,16 @@
+package com.scratchgame.model;
+
+public enum BonusImpact {
+    NONE,
+    MULTIPLY_REWARD,
+    EXTRA_BONUS;
+
+    public static BonusImpact fromConfig(String impact) {
+        if ("multiply_reward".equals(impact)) {
+            return MULTIPLY_REWARD;
+        } else if ("extra_bonus".equals(impact)) {
+            return EXTRA_BONUS;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,6 @@
+package com.scratchgame.model;
+
+import java.nio.file.Path;
+
+public record CompileConfiguration(CompiledGame game, Path output) {
+}
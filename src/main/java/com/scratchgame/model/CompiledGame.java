@@ -0,0 +1,409 @@
+package com.scratchgame.model;
+
+import com.scratchgame.util.sampling.SamplingStrategy;
+import com.scratchgame.util.sampling.SymbolSampler;
+
+import java.util.*;
+
+/**
+ * Immutable, indexed form of a {@link Config}, built once at load time so that the
+ * play path works with int symbol ids and flat arrays instead of string maps.
+ * Symbol and combination ids are assigned in name order, which keeps them stable across processes.
+ */
+public final class CompiledGame {
+
+    public static final int NO_SYMBOL = -1;
+    public static final int MAX_SYMBOLS = 256;
+
+    private static final String STANDARD = "standard";
+    private static final String BONUS = "bonus";
+    private static final String MISS = "MISS";
+    private static final String SPLIT_REGEX = ":";
+    private static final int BONUS_DRAWS = 3;
+
+    private final int rows;
+    private final int columns;
+    private final String[] symbolNames;
+    private final Map<String, Integer> symbolIds;
+    private final boolean[] standard;
+    private final boolean[] bonus;
+    private final double[] rewardMultipliers;
+    private final BonusImpact[] impacts;
+    private final double[] extras;
+    private final WeightTable[] cellTables;
+    private final WeightTable bonusTable;
+    private final Map<SamplingStrategy, SymbolSampler[]> cellSamplers = new EnumMap<>(SamplingStrategy.class);
+    private final Map<SamplingStrategy, SymbolSampler> bonusSamplers = new EnumMap<>(SamplingStrategy.class);
+    private final Map<SamplingStrategy, int[]> drawBounds = new EnumMap<>(SamplingStrategy.class);
+    private final CompiledWinCombination[] combinations;
+    private final CompiledWinCombination[] sameSymbolCombinations;
+    private final CompiledWinCombination[] linearCombinations;
+    private final Map<String, CompiledWinCombination> combinationsByName;
+    private final int groupCount;
+
+    public CompiledGame(int rows,
+                        int columns,
+                        String[] symbolNames,
+                        boolean[] standard,
+                        boolean[] bonus,
+                        double[] rewardMultipliers,
+                        BonusImpact[] impacts,
+                        double[] extras,
+                        WeightTable[] cellTables,
+                        WeightTable bonusTable,
+                        CompiledWinCombination[] combinations,
+                        int groupCount) {
+        if (symbolNames.length > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("At most " + MAX_SYMBOLS + " symbols are supported, got " + symbolNames.length);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.symbolNames = symbolNames;
+        this.standard = standard;
+        this.bonus = bonus;
+        this.rewardMultipliers = rewardMultipliers;
+        this.impacts = impacts;
+        this.extras = extras;
+        this.cellTables = cellTables;
+        this.bonusTable = bonusTable;
+        this.combinations = combinations;
+        this.groupCount = groupCount;
+
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < symbolNames.length; i++) {
+            ids.put(symbolNames[i], i);
+        }
+        this.symbolIds = Map.copyOf(ids);
+
+        for (SamplingStrategy strategy : SamplingStrategy.values()) {
+            Map<WeightTable, SymbolSampler> samplers = new IdentityHashMap<>();
+            SymbolSampler[] perCell = new SymbolSampler[cellTables.length];
+            for (int cell = 0; cell < cellTables.length; cell++) {
+                perCell[cell] = samplers.computeIfAbsent(cellTables[cell], strategy::create);
+            }
+            cellSamplers.put(strategy, perCell);
+            bonusSamplers.put(strategy, strategy.create(bonusTable));
+
+            int cells = cellTables.length;
+            int[] bounds = new int[cells + BONUS_DRAWS];
+            for (int cell = 0; cell < cells; cell++) {
+                bounds[cell] = perCell[cell].bound();
+            }
+            bounds[cells] = rows;
+            bounds[cells + 1] = columns;
+            bounds[cells + 2] = bonusSamplers.get(strategy).bound();
+            drawBounds.put(strategy, bounds);
+        }
+
+        Map<String, CompiledWinCombination> byName = new HashMap<>();
+        for (CompiledWinCombination combination : combinations) {
+            byName.put(combination.name(), combination);
+        }
+        this.combinationsByName = Map.copyOf(byName);
+        this.sameSymbolCombinations = Arrays.stream(combinations)
+                .filter(c -> c.when() == WinCondition.SAME_SYMBOLS)
+                .toArray(CompiledWinCombination[]::new);
+        this.linearCombinations = Arrays.stream(combinations)
+                .filter(c -> c.when() == WinCondition.LINEAR_SYMBOLS)
+                .toArray(CompiledWinCombination[]::new);
+    }
+
+    /**
+     * Validates the config and resolves it into its indexed form.
+     *
+     * @throws IllegalArgumentException if the config cannot be played
+     */
+    public static CompiledGame compile(Config config) {
+        int rows = config.rows();
+        int columns = config.columns();
+        Probabilities probabilities = config.probabilities();
+        if (probabilities == null || probabilities.bonusSymbols() == null
+                || probabilities.bonusSymbols().symbols() == null) {
+            throw new IllegalArgumentException("Config must define bonus symbol probabilities");
+        }
+        List<CellProbability> stdSymbols = probabilities.standardSymbols() != null
+                ? probabilities.standardSymbols() : List.of();
+
+        SortedSet<String> names = new TreeSet<>(config.symbols().keySet());
+        stdSymbols.forEach(cp -> names.addAll(cp.symbols().keySet()));
+        names.addAll(probabilities.bonusSymbols().symbols().keySet());
+        String[] symbolNames = names.toArray(String[]::new);
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < symbolNames.length; i++) {
+            ids.put(symbolNames[i], i);
+        }
+
+        int symbolCount = symbolNames.length;
+        boolean[] standard = new boolean[symbolCount];
+        boolean[] bonus = new boolean[symbolCount];
+        double[] rewardMultipliers = new double[symbolCount];
+        BonusImpact[] impacts = new BonusImpact[symbolCount];
+        double[] extras = new double[symbolCount];
+        for (int id = 0; id < symbolCount; id++) {
+            String name = symbolNames[id];
+            SymbolConfig sc = config.symbols().get(name);
+            impacts[id] = BonusImpact.NONE;
+            if (sc == null) {
+                continue;
+            }
+            standard[id] = STANDARD.equals(sc.type());
+            bonus[id] = BONUS.equals(sc.type()) && !MISS.equals(name);
+            if (standard[id]) {
+                rewardMultipliers[id] = require(sc.rewardMultiplier(), "Standard symbol " + name + " has no reward_multiplier");
+            } else if (bonus[id]) {
+                impacts[id] = BonusImpact.fromConfig(sc.impact());
+                if (impacts[id] == BonusImpact.MULTIPLY_REWARD) {
+                    rewardMultipliers[id] = require(sc.rewardMultiplier(), "Bonus symbol " + name + " has no reward_multiplier");
+                } else if (impacts[id] == BonusImpact.EXTRA_BONUS) {
+                    extras[id] = require(sc.extra(), "Bonus symbol " + name + " has no extra");
+                }
+            }
+        }
+
+        WeightTable[] cellTables = compileCellTables(rows, columns, stdSymbols, ids);
+        WeightTable bonusTable = compileWeights(probabilities.bonusSymbols().symbols(), ids);
+
+        Map<String, Integer> groups = new HashMap<>();
+        List<Map.Entry<String, WinCombinationConfig>> sameSymbols = new ArrayList<>();
+        List<Map.Entry<String, WinCombinationConfig>> linear = new ArrayList<>();
+        // Config maps have no stable iteration order; name order keeps combination ids reproducible
+        for (Map.Entry<String, WinCombinationConfig> entry : new TreeMap<>(config.winCombinations()).entrySet()) {
+            WinCondition when = WinCondition.fromConfig(entry.getValue().when());
+            if (when == WinCondition.SAME_SYMBOLS) {
+                if (entry.getValue().count() == null) {
+                    throw new IllegalArgumentException("Win combination " + entry.getKey() + " has no count");
+                }
+                sameSymbols.add(entry);
+            } else if (when == WinCondition.LINEAR_SYMBOLS
+                    && (entry.getValue().coveredAreas() != null || entry.getValue().pattern() != null)) {
+                linear.add(entry);
+            }
+        }
+        // Highest thresholds first, so the largest same_symbols combination of a group is applied
+        sameSymbols.sort((a, b) -> Integer.compare(b.getValue().count(), a.getValue().count()));
+
+        List<CompiledWinCombination> combinations = new ArrayList<>();
+        for (Map.Entry<String, WinCombinationConfig> entry : sameSymbols) {
+            WinCombinationConfig wc = entry.getValue();
+            int group = groups.computeIfAbsent(wc.group(), k -> groups.size());
+            combinations.add(new CompiledWinCombination(combinations.size(), entry.getKey(), wc.rewardMultiplier(),
+                    WinCondition.SAME_SYMBOLS, wc.count(), group, new int[0][]));
+        }
+        for (Map.Entry<String, WinCombinationConfig> entry : linear) {
+            WinCombinationConfig wc = entry.getValue();
+            int group = groups.computeIfAbsent(wc.group(), k -> groups.size());
+            if (wc.pattern() != null) {
+                PatternFamily pattern = parsePattern(entry.getKey(), wc, rows, columns);
+                int count = pattern == PatternFamily.IN_A_ROW ? wc.count() : 0;
+                combinations.add(new CompiledWinCombination(combinations.size(), entry.getKey(), wc.rewardMultiplier(),
+                        WinCondition.LINEAR_SYMBOLS, count, group, pattern.expand(rows, columns, count), pattern));
+                continue;
+            }
+            int[][] areas = wc.coveredAreas().stream()
+                    .filter(area -> area != null && !area.isEmpty())
+                    .map(area -> parseArea(entry.getKey(), area, rows, columns))
+                    .toArray(int[][]::new);
+            combinations.add(new CompiledWinCombination(combinations.size(), entry.getKey(), wc.rewardMultiplier(),
+                    WinCondition.LINEAR_SYMBOLS, 0, group, areas));
+        }
+
+        return new CompiledGame(rows, columns, symbolNames, standard, bonus, rewardMultipliers, impacts, extras,
+                cellTables, bonusTable, combinations.toArray(CompiledWinCombination[]::new), groups.size());
+    }
+
+    private static WeightTable[] compileCellTables(int rows,
+                                                   int columns,
+                                                   List<CellProbability> stdSymbols,
+                                                   Map<String, Integer> ids) {
+        Map<Integer, CellProbability> byCell = new HashMap<>();
+        for (CellProbability cp : stdSymbols) {
+            // Entries for cells outside the grid apply to no cell
+            if (cp.row() >= 0 && cp.row() < rows && cp.column() >= 0 && cp.column() < columns) {
+                byCell.putIfAbsent(cp.row() * columns + cp.column(), cp);
+            }
+        }
+        CellProbability defaultCellProb = stdSymbols.isEmpty() ? null : stdSymbols.get(0);
+
+        // Cells sharing one weight map share one table
+        Map<Map<String, Integer>, WeightTable> tables = new HashMap<>();
+        WeightTable[] cellTables = new WeightTable[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                int cell = i * columns + j;
+                CellProbability cellProb = byCell.getOrDefault(cell, defaultCellProb);
+                if (cellProb == null) {
+                    throw new IllegalArgumentException("No standard symbol probability defined for cell (" + i + "," + j + ")");
+                }
+                cellTables[cell] = tables.computeIfAbsent(cellProb.symbols(), weights -> compileWeights(weights, ids));
+            }
+        }
+        return cellTables;
+    }
+
+    private static WeightTable compileWeights(Map<String, Integer> symbolWeights, Map<String, Integer> ids) {
+        int size = symbolWeights.size();
+        int[] symbolIds = new int[size];
+        int[] weights = new int[size];
+        int[] cumulative = new int[size];
+        int total = 0;
+        int k = 0;
+        for (Map.Entry<String, Integer> entry : symbolWeights.entrySet()) {
+            Integer weight = entry.getValue();
+            if (weight == null || weight < 0) {
+                throw new IllegalArgumentException("Invalid weight for symbol " + entry.getKey() + ": " + weight);
+            }
+            total = Math.addExact(total, weight);
+            symbolIds[k] = ids.get(entry.getKey());
+            weights[k] = weight;
+            cumulative[k] = total;
+            k++;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Symbol weights must have a positive total");
+        }
+        return new WeightTable(symbolIds, weights, cumulative);
+    }
+
+    private static PatternFamily parsePattern(String winName, WinCombinationConfig wc, int rows, int columns) {
+        PatternFamily pattern = PatternFamily.fromConfig(wc.pattern());
+        if (pattern == null) {
+            throw new IllegalArgumentException("Win combination " + winName + " has unknown pattern " + wc.pattern());
+        }
+        if (wc.coveredAreas() != null) {
+            throw new IllegalArgumentException("Win combination " + winName + " has both a pattern and covered_areas");
+        }
+        if (pattern == PatternFamily.IN_A_ROW
+                && (wc.count() == null || wc.count() < 2 || wc.count() > Math.max(rows, columns))) {
+            throw new IllegalArgumentException("Win combination " + winName + " needs a count between 2 and "
+                    + Math.max(rows, columns) + " cells in a row");
+        }
+        return pattern;
+    }
+
+    private static int[] parseArea(String winName, List<String> area, int rows, int columns) {
+        int[] cells = new int[area.size()];
+        for (int k = 0; k < cells.length; k++) {
+            String[] coords = area.get(k).split(SPLIT_REGEX);
+            int row = Integer.parseInt(coords[0].trim());
+            int col = Integer.parseInt(coords[1].trim());
+            if (row < 0 || row >= rows || col < 0 || col >= columns) {
+                throw new IllegalArgumentException("Covered area cell " + area.get(k) + " of " + winName
+                        + " is outside the " + rows + "x" + columns + " matrix");
+            }
+            cells[k] = row * columns + col;
+        }
+        return cells;
+    }
+
+    private static double require(Number value, String message) {
+        if (value == null) {
+            throw new IllegalArgumentException(message);
+        }
+        return value.doubleValue();
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public int cellCount() {
+        return rows * columns;
+    }
+
+    public int symbolCount() {
+        return symbolNames.length;
+    }
+
+    public String symbolName(int id) {
+        return symbolNames[id];
+    }
+
+    public int symbolId(String name) {
+        Integer id = symbolIds.get(name);
+        return id != null ? id : NO_SYMBOL;
+    }
+
+    public boolean isStandard(int id) {
+        return standard[id];
+    }
+
+    /**
+     * @return whether the symbol is a bonus that can be applied, i.e. any bonus except MISS
+     */
+    public boolean isBonus(int id) {
+        return bonus[id];
+    }
+
+    public double rewardMultiplier(int id) {
+        return rewardMultipliers[id];
+    }
+
+    public BonusImpact impact(int id) {
+        return impacts[id];
+    }
+
+    public double extra(int id) {
+        return extras[id];
+    }
+
+    public WeightTable cellTable(int cell) {
+        return cellTables[cell];
+    }
+
+    public WeightTable bonusTable() {
+        return bonusTable;
+    }
+
+    /**
+     * @return samplers indexed by cell, precomputed for every strategy; cells sharing a table share a sampler
+     */
+    public SymbolSampler[] cellSamplers(SamplingStrategy strategy) {
+        return cellSamplers.get(strategy);
+    }
+
+    public SymbolSampler bonusSampler(SamplingStrategy strategy) {
+        return bonusSamplers.get(strategy);
+    }
+
+    /**
+     * @return number of random draws per round
+     */
+    public int drawCount() {
+        return cellTables.length + BONUS_DRAWS;
+    }
+
+    /**
+     * @return bounds of every draw of a round in draw order: one per cell, then the bonus row,
+     * the bonus column and the bonus symbol
+     */
+    public int[] drawBounds(SamplingStrategy strategy) {
+        return drawBounds.get(strategy);
+    }
+
+    /**
+     * @return all combinations ordered by id: same_symbols by descending count, then linear_symbols
+     */
+    public CompiledWinCombination[] combinations() {
+        return combinations;
+    }
+
+    public CompiledWinCombination[] sameSymbolCombinations() {
+        return sameSymbolCombinations;
+    }
+
+    public CompiledWinCombination[] linearCombinations() {
+        return linearCombinations;
+    }
+
+    public CompiledWinCombination combination(String name) {
+        return combinationsByName.get(name);
+    }
+
+    public int groupCount() {
+        return groupCount;
+    }
+}
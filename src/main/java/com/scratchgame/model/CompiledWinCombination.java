@@ -0,0 +1,26 @@
+package com.scratchgame.model;
+
+/**
+ * A win combination with its group resolved to an int id and its covered areas
+ * pre-parsed into flat cell indices ({@code row * columns + column}).
+ *
+ * @param count   the threshold of a same_symbols combination, or the run length of an
+ *                {@link PatternFamily#IN_A_ROW} pattern
+ * @param pattern the family the covered areas were expanded from, or null if they were listed
+ */
+public record CompiledWinCombination(
+        int id,
+        String name,
+        double rewardMultiplier,
+        WinCondition when,
+        int count,
+        int group,
+        int[][] coveredAreas,
+        PatternFamily pattern
+) {
+
+    public CompiledWinCombination(int id, String name, double rewardMultiplier, WinCondition when, int count,
+                                  int group, int[][] coveredAreas) {
+        this(id, name, rewardMultiplier, when, count, group, coveredAreas, null);
+    }
+}
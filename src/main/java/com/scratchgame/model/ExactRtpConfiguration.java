@@ -0,0 +1,4 @@
+package com.scratchgame.model;
+
+public record ExactRtpConfiguration(CompiledGame game, double bettingAmount, int threads) {
+}
@@ -4,9 +4,13 @@ import java.util.List;
 import java.util.Map;
 
 public record GameResult (
-        String[][] matrix,
+        SymbolMatrix symbolMatrix,
         double reward,
         Map<String, List<String>> appliedWinningCombinations,
         String appliedBonusSymbol
 ) {
+
+    public String[][] matrix() {
+        return symbolMatrix.toArray();
+    }
 }
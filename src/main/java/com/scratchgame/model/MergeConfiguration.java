@@ -0,0 +1,7 @@
+package com.scratchgame.model;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public record MergeConfiguration(CompiledGame game, List<Path> snapshots) {
+}
@@ -0,0 +1,15 @@
+package com.scratchgame.model;
+
+public enum OutputFormat {
+    PRETTY,
+    NDJSON;
+
+    public static OutputFormat fromName(String name) {
+        for (OutputFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown output format: " + name);
+    }
+}
@@ -0,0 +1,98 @@
+package com.scratchgame.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Families of linear_symbols areas derived from the board shape, so that large boards need
+ * not list their covered areas cell by cell. Every family is a set of line directions and a
+ * window length: an area is any window of that many consecutive cells along such a line.
+ */
+public enum PatternFamily {
+
+    /**
+     * Every full row.
+     */
+    ROWS,
+    /**
+     * Every full column.
+     */
+    COLUMNS,
+    /**
+     * Every diagonal window of {@code min(rows, columns)} cells in both directions; on a
+     * square board, the two main diagonals.
+     */
+    DIAGONALS,
+    /**
+     * Every window of {@code count} cells along a row, a column or a diagonal of either direction.
+     */
+    IN_A_ROW;
+
+    private static final int[][] HORIZONTAL = {{0, 1}};
+    private static final int[][] VERTICAL = {{1, 0}};
+    private static final int[][] DIAGONAL = {{1, 1}, {1, -1}};
+    private static final int[][] ALL = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    public static PatternFamily fromConfig(String pattern) {
+        return switch (pattern) {
+            case "rows" -> ROWS;
+            case "columns" -> COLUMNS;
+            case "diagonals" -> DIAGONALS;
+            case "in_a_row" -> IN_A_ROW;
+            default -> null;
+        };
+    }
+
+    /**
+     * @return {row step, column step} of every line direction of the family
+     */
+    public int[][] directions() {
+        return switch (this) {
+            case ROWS -> HORIZONTAL;
+            case COLUMNS -> VERTICAL;
+            case DIAGONALS -> DIAGONAL;
+            case IN_A_ROW -> ALL;
+        };
+    }
+
+    /**
+     * @param count the run length of {@link #IN_A_ROW}, ignored by the other families
+     * @return the number of consecutive cells every area of the family covers
+     */
+    public int windowLength(int rows, int columns, int count) {
+        return switch (this) {
+            case ROWS -> columns;
+            case COLUMNS -> rows;
+            case DIAGONALS -> Math.min(rows, columns);
+            case IN_A_ROW -> count;
+        };
+    }
+
+    /**
+     * @return the covered areas of the family on a {@code rows x columns} board as flat cell
+     * indices, direction by direction with windows in row-major order of their first cell
+     */
+    public int[][] expand(int rows, int columns, int count) {
+        int length = windowLength(rows, columns, count);
+        List<int[]> areas = new ArrayList<>();
+        for (int[] direction : directions()) {
+            int dr = direction[0];
+            int dc = direction[1];
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < columns; col++) {
+                    int lastRow = row + dr * (length - 1);
+                    int lastCol = col + dc * (length - 1);
+                    if (lastRow >= rows || lastCol < 0 || lastCol >= columns) {
+                        continue;
+                    }
+                    int[] area = new int[length];
+                    for (int k = 0; k < length; k++) {
+                        area[k] = (row + dr * k) * columns + col + dc * k;
+                    }
+                    areas.add(area);
+                }
+            }
+        }
+        return areas.toArray(int[][]::new);
+    }
+}
@@ -0,0 +1,10 @@
+package com.scratchgame.model;
+
+import java.nio.file.Path;
+
+/**
+ * @param journal the directory to journal every round to, or null
+ */
+public record PlayConfiguration(CompiledGame game, double bettingAmount, long rounds, OutputFormat outputFormat,
+                                boolean metrics, Path journal) {
+}
@@ -0,0 +1,6 @@
+package com.scratchgame.model;
+
+import java.nio.file.Path;
+
+public record ReplayConfiguration(CompiledGame game, Path journal, int threads) {
+}
@@ -0,0 +1,17 @@
+package com.scratchgame.model;
+
+import java.nio.file.Path;
+
+/**
+ * @param game           the game served at /play, or null if only game variants are served
+ * @param watchedConfig  the JSON config to reload the game from when it changes, or null
+ * @param gamesDirectory the directory of game variants served at /play/&lt;game id&gt;, or null
+ * @param cacheSize      how many game variants are kept ready to play
+ * @param journal        the directory to journal every round of the game at /play to, or null
+ * @param poolSize       how many tickets of the game at /play are generated ahead, 0 for none
+ * @param poolThreads    how many threads generate those tickets
+ */
+public record ServerConfiguration(CompiledGame game, int port, boolean metrics, Path watchedConfig,
+                                  Path gamesDirectory, int cacheSize, Path journal,
+                                  int poolSize, int poolThreads) {
+}
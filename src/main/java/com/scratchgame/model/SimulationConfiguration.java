@@ -0,0 +1,20 @@
+package com.scratchgame.model;
+
+import com.scratchgame.util.random.RandomAlgorithm;
+
+import java.nio.file.Path;
+
+/**
+ * @param statistics where to write the statistics of shard {@code shard} of {@code shardCount}
+ *                   instead of printing a report, or {@code null}
+ */
+public record SimulationConfiguration(CompiledGame game,
+                                      double bettingAmount,
+                                      long rounds,
+                                      long seed,
+                                      RandomAlgorithm randomAlgorithm,
+                                      int threads,
+                                      int shard,
+                                      int shardCount,
+                                      Path statistics) {
+}
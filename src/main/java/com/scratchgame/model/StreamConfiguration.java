@@ -0,0 +1,12 @@
+package com.scratchgame.model;
+
+import java.nio.file.Path;
+
+/**
+ * @param game           the game of requests without a game id, or null if every request names one
+ * @param input          the file to read requests from, or null for standard input
+ * @param gamesDirectory the directory of game variants requests can name, or null
+ * @param cacheSize      how many game variants are kept ready to play
+ */
+public record StreamConfiguration(CompiledGame game, Path input, Path gamesDirectory, int cacheSize, int threads) {
+}
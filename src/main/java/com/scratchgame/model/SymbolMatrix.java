@@ -0,0 +1,98 @@
+package com.scratchgame.model;
+
+import java.util.Arrays;
+
+/**
+ * Row-major matrix of symbol ids stored in a flat {@code byte[]}.
+ * The {@code String[][]} form is only materialized on demand by {@link #toArray()}.
+ */
+public final class SymbolMatrix {
+
+    private final CompiledGame game;
+    private final byte[] cells;
+    private String[][] view;
+
+    public SymbolMatrix(CompiledGame game) {
+        this(game, new byte[game.cellCount()]);
+    }
+
+    private SymbolMatrix(CompiledGame game, byte[] cells) {
+        this.game = game;
+        this.cells = cells;
+    }
+
+    public static SymbolMatrix of(CompiledGame game, String[][] matrix) {
+        SymbolMatrix symbolMatrix = new SymbolMatrix(game);
+        for (int row = 0; row < game.rows(); row++) {
+            for (int col = 0; col < game.columns(); col++) {
+                int id = game.symbolId(matrix[row][col]);
+                if (id == CompiledGame.NO_SYMBOL) {
+                    throw new IllegalArgumentException("Unknown symbol " + matrix[row][col]);
+                }
+                symbolMatrix.set(row * game.columns() + col, id);
+            }
+        }
+        return symbolMatrix;
+    }
+
+    public CompiledGame game() {
+        return game;
+    }
+
+    public int rows() {
+        return game.rows();
+    }
+
+    public int columns() {
+        return game.columns();
+    }
+
+    public int cellCount() {
+        return cells.length;
+    }
+
+    public int symbolAt(int cell) {
+        return cells[cell] & 0xFF;
+    }
+
+    public int symbolAt(int row, int col) {
+        return symbolAt(row * game.columns() + col);
+    }
+
+    public void set(int cell, int symbol) {
+        cells[cell] = (byte) symbol;
+        view = null;
+    }
+
+    public SymbolMatrix copy() {
+        return new SymbolMatrix(game, cells.clone());
+    }
+
+    public String[][] toArray() {
+        String[][] current = view;
+        if (current == null) {
+            int cols = game.columns();
+            current = new String[game.rows()][cols];
+            for (int cell = 0; cell < cells.length; cell++) {
+                current[cell / cols][cell % cols] = game.symbolName(symbolAt(cell));
+            }
+            view = current;
+        }
+        return current;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SymbolMatrix other && game == other.game && Arrays.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(cells);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(toArray());
+    }
+}
@@ -0,0 +1,16 @@
+package com.scratchgame.model;
+
+/**
+ * Symbol weights of one probability distribution, resolved to symbol ids.
+ * Entries keep the iteration order of the source weight map.
+ */
+public record WeightTable(int[] symbolIds, int[] weights, int[] cumulativeWeights) {
+
+    public int size() {
+        return symbolIds.length;
+    }
+
+    public int totalWeight() {
+        return cumulativeWeights[cumulativeWeights.length - 1];
+    }
+}
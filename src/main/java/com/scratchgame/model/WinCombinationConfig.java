@@ -1,14 +1,29 @@
 package com.scratchgame.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
 
+/**
+ * @param pattern a {@link PatternFamily} generating the covered areas of a linear_symbols
+ *                combination, in place of listing them
+ */
 public record WinCombinationConfig(
         @JsonProperty("reward_multiplier") double rewardMultiplier,
         String when,
         Integer count,
         String group,
-        @JsonProperty("covered_areas") List<List<String>> coveredAreas
+        @JsonProperty("covered_areas") List<List<String>> coveredAreas,
+        String pattern
 ) {
+
+    @JsonCreator
+    public WinCombinationConfig {
+    }
+
+    public WinCombinationConfig(double rewardMultiplier, String when, Integer count, String group,
+                                List<List<String>> coveredAreas) {
+        this(rewardMultiplier, when, count, group, coveredAreas, null);
+    }
 }
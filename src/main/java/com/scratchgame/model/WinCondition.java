@@ -0,0 +1,15 @@
+package com.scratchgame.model;
+
+public enum WinCondition {
+    SAME_SYMBOLS,
+    LINEAR_SYMBOLS;
+
+    public static WinCondition fromConfig(String when) {
+        if ("same_symbols".equals(when)) {
+            return SAME_SYMBOLS;
+        } else if ("linear_symbols".equals(when)) {
+            return LINEAR_SYMBOLS;
+        }
+        return null;
+    }
+}
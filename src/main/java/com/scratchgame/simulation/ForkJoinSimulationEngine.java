@@ -0,0 +1,167 @@
+package com.scratchgame.simulation;
+
+import com.scratchgame.engine.BatchGameEngine;
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.GameEngineImpl;
+import com.scratchgame.engine.batch.BatchMatcher;
+import com.scratchgame.engine.batch.RoundBatch;
+import com.scratchgame.engine.combination.CombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculator;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.util.random.RandomAlgorithm;
+import com.scratchgame.util.random.RandomGeneratorSource;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays rounds in fixed-size chunks on a {@link ForkJoinPool}.
+ * <p>
+ * Every chunk draws from its own generator of the configured {@link RandomAlgorithm}, seeded
+ * with the chunk-th output of a master {@code SplittableRandom(seed)}, so the rounds played
+ * and the merged statistics depend only on the master seed, never on the number of threads.
+ * For the same reason a run can be split into shards of consecutive chunks played by
+ * separate processes, see {@link #runShard}.
+ */
+public class ForkJoinSimulationEngine implements SimulationEngine {
+
+    static final int CHUNK_ROUNDS = 1 << 16;
+
+    // SplittableRandom's default gamma, used to address the master stream by chunk index
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final CompiledGame game;
+    private final CombinationMatcher combinationMatcher;
+    private final RewardCalculator rewardCalculator;
+    private final RandomAlgorithm randomAlgorithm;
+    private final int parallelism;
+    private final BatchMatcher batchMatcher;
+
+    public ForkJoinSimulationEngine(CompiledGame game,
+                                    CombinationMatcher combinationMatcher,
+                                    RewardCalculator rewardCalculator,
+                                    int parallelism) {
+        this(game, combinationMatcher, rewardCalculator, RandomAlgorithm.SPLITTABLE, parallelism);
+    }
+
+    public ForkJoinSimulationEngine(CompiledGame game,
+                                    CombinationMatcher combinationMatcher,
+                                    RewardCalculator rewardCalculator,
+                                    RandomAlgorithm randomAlgorithm,
+                                    int parallelism) {
+        this(game, combinationMatcher, rewardCalculator, randomAlgorithm, parallelism, null);
+    }
+
+    /**
+     * @param batchMatcher matches the rounds of each chunk in batches when the game fits a
+     *                     {@link RoundBatch}, which plays the same rounds; {@code null} to
+     *                     always match round by round with {@code combinationMatcher}
+     */
+    public ForkJoinSimulationEngine(CompiledGame game,
+                                    CombinationMatcher combinationMatcher,
+                                    RewardCalculator rewardCalculator,
+                                    RandomAlgorithm randomAlgorithm,
+                                    int parallelism,
+                                    BatchMatcher batchMatcher) {
+        this.game = game;
+        this.combinationMatcher = combinationMatcher;
+        this.rewardCalculator = rewardCalculator;
+        this.randomAlgorithm = randomAlgorithm;
+        this.parallelism = parallelism;
+        this.batchMatcher = batchMatcher != null && RoundBatch.supports(game) ? batchMatcher : null;
+    }
+
+    @Override
+    public SimulationReport simulate(long rounds, double bettingAmount, long seed) {
+        return SimulationReport.from(run(rounds, bettingAmount, seed), bettingAmount, seed);
+    }
+
+    public SimulationStatistics run(long rounds, double bettingAmount, long seed) {
+        if (rounds <= 0) {
+            throw new IllegalArgumentException("Number of rounds must be positive");
+        }
+        return play(rounds, bettingAmount, seed, 0, chunks(rounds));
+    }
+
+    /**
+     * Plays shard {@code shard} of {@code shardCount} of a run: the consecutive chunks that
+     * fall to it, with exactly the rounds a single process would play for them. Merging the
+     * statistics of every shard gives those of {@link #run} with the same arguments.
+     */
+    public SimulationStatistics runShard(long rounds, double bettingAmount, long seed, int shard, int shardCount) {
+        if (rounds <= 0) {
+            throw new IllegalArgumentException("Number of rounds must be positive");
+        }
+        if (shardCount <= 0 || shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("Shard must be between 0 and " + (shardCount - 1));
+        }
+        long chunks = chunks(rounds);
+        long fromChunk = chunks * shard / shardCount;
+        long toChunk = chunks * (shard + 1) / shardCount;
+        return fromChunk == toChunk
+                ? new SimulationStatistics(game)
+                : play(rounds, bettingAmount, seed, fromChunk, toChunk);
+    }
+
+    private SimulationStatistics play(long rounds, double bettingAmount, long seed, long fromChunk, long toChunk) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new ChunkTask(rounds, bettingAmount, seed, fromChunk, toChunk));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static long chunks(long rounds) {
+        return (rounds + CHUNK_ROUNDS - 1) / CHUNK_ROUNDS;
+    }
+
+    static long chunkSeed(long seed, long chunk) {
+        // Equals the (chunk + 1)-th nextLong() of new SplittableRandom(seed)
+        return new SplittableRandom(seed + chunk * GOLDEN_GAMMA).nextLong();
+    }
+
+    SimulationStatistics playChunk(long rounds, double bettingAmount, long seed, long chunk) {
+        long first = chunk * CHUNK_ROUNDS;
+        long count = Math.min(CHUNK_ROUNDS, rounds - first);
+        RandomGeneratorSource randomSource = RandomGeneratorSource.of(randomAlgorithm, chunkSeed(seed, chunk));
+        GameEngine engine = batchMatcher != null
+                ? new BatchGameEngine(game, new MatrixGeneratorImpl(randomSource), batchMatcher, rewardCalculator)
+                : new GameEngineImpl(game, new MatrixGeneratorImpl(randomSource), combinationMatcher, rewardCalculator);
+
+        SimulationStatistics statistics = new SimulationStatistics(game);
+        engine.playGames((int) count, bettingAmount, statistics::record);
+        return statistics;
+    }
+
+    private final class ChunkTask extends RecursiveTask<SimulationStatistics> {
+
+        private final long rounds;
+        private final double bettingAmount;
+        private final long seed;
+        private final long fromChunk;
+        private final long toChunk;
+
+        private ChunkTask(long rounds, double bettingAmount, long seed, long fromChunk, long toChunk) {
+            this.rounds = rounds;
+            this.bettingAmount = bettingAmount;
+            this.seed = seed;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected SimulationStatistics compute() {
+            if (toChunk - fromChunk == 1) {
+                return playChunk(rounds, bettingAmount, seed, fromChunk);
+            }
+            long middle = (fromChunk + toChunk) >>> 1;
+            ChunkTask left = new ChunkTask(rounds, bettingAmount, seed, fromChunk, middle);
+            left.fork();
+            SimulationStatistics right = new ChunkTask(rounds, bettingAmount, seed, middle, toChunk).compute();
+            return left.join().merge(right);
+        }
+    }
+}
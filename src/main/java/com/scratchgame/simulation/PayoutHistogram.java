@@ -0,0 +1,111 @@
+package com.scratchgame.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Counts rounds per distinct payout. A config only produces a small, fixed set of payouts,
+ * so keeping exact counts instead of floating point sums makes statistics mergeable in any
+ * order with identical results.
+ */
+public final class PayoutHistogram {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public void add(double payout) {
+        add(payout, 1);
+    }
+
+    public void add(double payout, long count) {
+        long key = Double.doubleToLongBits(payout + 0.0);
+        int mask = keys.length - 1;
+        int index = (int) (mix(key) & mask);
+        while (counts[index] != 0) {
+            if (keys[index] == key) {
+                counts[index] += count;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        counts[index] = count;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    public void merge(PayoutHistogram other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.counts[i] != 0) {
+                add(Double.longBitsToDouble(other.keys[i]), other.counts[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return distinct payouts in ascending order
+     */
+    public double[] payouts() {
+        double[] payouts = new double[size];
+        int k = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                payouts[k++] = Double.longBitsToDouble(keys[i]);
+            }
+        }
+        Arrays.sort(payouts);
+        return payouts;
+    }
+
+    public long count(double payout) {
+        long key = Double.doubleToLongBits(payout + 0.0);
+        int mask = keys.length - 1;
+        int index = (int) (mix(key) & mask);
+        while (counts[index] != 0) {
+            if (keys[index] == key) {
+                return counts[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Visits payouts in ascending order, which keeps derived sums deterministic.
+     */
+    public void forEach(PayoutConsumer consumer) {
+        for (double payout : payouts()) {
+            consumer.accept(payout, count(payout));
+        }
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new long[oldCounts.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                add(Double.longBitsToDouble(oldKeys[i]), oldCounts[i]);
+            }
+        }
+    }
+
+    private static long mix(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        return key ^ (key >>> 33);
+    }
+
+    @FunctionalInterface
+    public interface PayoutConsumer {
+        void accept(double payout, long count);
+    }
+}
@@ -0,0 +1,6 @@
+package com.scratchgame.simulation;
+
+public interface SimulationEngine {
+
+    SimulationReport simulate(long rounds, double bettingAmount, long seed);
+}
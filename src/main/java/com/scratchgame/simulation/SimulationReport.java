@@ -0,0 +1,57 @@
+package com.scratchgame.simulation;
+
+import com.scratchgame.model.CompiledGame;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record SimulationReport(
+        long rounds,
+        long seed,
+        double bettingAmount,
+        double totalBet,
+        double totalReward,
+        double rtp,
+        double rtpConfidence95,
+        double hitRate,
+        double payoutVariance,
+        double maxWin,
+        Map<String, Long> combinationHits,
+        Map<String, Long> bonusHits
+) {
+
+    private static final double Z_95 = 1.959964;
+
+    public static SimulationReport from(SimulationStatistics statistics, double bettingAmount, long seed) {
+        CompiledGame game = statistics.game();
+        long rounds = statistics.rounds();
+        double[] sums = new double[2];
+        statistics.payouts().forEach((payout, count) -> {
+            sums[0] += payout * count;
+            sums[1] += payout * payout * count;
+        });
+        double[] payouts = statistics.payouts().payouts();
+
+        double totalBet = bettingAmount * rounds;
+        double mean = rounds > 0 ? sums[0] / rounds : 0.0;
+        double variance = rounds > 0 ? Math.max(0.0, sums[1] / rounds - mean * mean) : 0.0;
+        double rtp = totalBet > 0 ? sums[0] / totalBet : 0.0;
+        double confidence = rounds > 0 && bettingAmount > 0
+                ? Z_95 * Math.sqrt(variance / rounds) / bettingAmount : 0.0;
+
+        Map<String, Long> combinationHits = new LinkedHashMap<>();
+        for (int id = 0; id < game.combinations().length; id++) {
+            combinationHits.put(game.combinations()[id].name(), statistics.combinationHits()[id]);
+        }
+        Map<String, Long> bonusHits = new LinkedHashMap<>();
+        for (int id = 0; id < game.symbolCount(); id++) {
+            if (game.isBonus(id)) {
+                bonusHits.put(game.symbolName(id), statistics.bonusHits()[id]);
+            }
+        }
+
+        return new SimulationReport(rounds, seed, bettingAmount, totalBet, sums[0], rtp, confidence,
+                rounds > 0 ? (double) statistics.winningRounds() / rounds : 0.0, variance,
+                payouts.length > 0 ? payouts[payouts.length - 1] : 0.0, combinationHits, bonusHits);
+    }
+}
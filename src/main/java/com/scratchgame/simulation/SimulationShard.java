@@ -0,0 +1,68 @@
+package com.scratchgame.simulation;
+
+import com.scratchgame.util.random.RandomAlgorithm;
+
+import java.util.List;
+
+/**
+ * Statistics of one shard of a simulation run, with the parameters that identify the run.
+ *
+ * @param rounds the rounds of the whole run, not of this shard
+ */
+public record SimulationShard(long rounds,
+                              long seed,
+                              double bettingAmount,
+                              RandomAlgorithm randomAlgorithm,
+                              int shard,
+                              int shardCount,
+                              SimulationStatistics statistics) {
+
+    /**
+     * Merges every shard of one run into the report a single process playing the whole run
+     * with the same seed produces.
+     *
+     * @throws IllegalArgumentException if the shards come from different runs, or a shard
+     *                                  is missing or given twice
+     */
+    public static SimulationReport merge(List<SimulationShard> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("No shards to merge");
+        }
+        SimulationShard first = shards.getFirst();
+        boolean[] seen = new boolean[first.shardCount()];
+        SimulationStatistics merged = new SimulationStatistics(first.statistics().game());
+        for (SimulationShard shard : shards) {
+            if (!first.sameRun(shard)) {
+                throw new IllegalArgumentException("Shard " + shard.label() + " belongs to another run than shard "
+                        + first.label());
+            }
+            if (seen[shard.shard()]) {
+                throw new IllegalArgumentException("Shard " + shard.label() + " is given twice");
+            }
+            seen[shard.shard()] = true;
+            merged.merge(shard.statistics());
+        }
+        for (int index = 0; index < seen.length; index++) {
+            if (!seen[index]) {
+                throw new IllegalArgumentException("Shard " + index + "/" + first.shardCount() + " is missing");
+            }
+        }
+        if (merged.rounds() != first.rounds()) {
+            throw new IllegalArgumentException("Shards hold " + merged.rounds() + " rounds of a run of " + first.rounds());
+        }
+        return SimulationReport.from(merged, first.bettingAmount(), first.seed());
+    }
+
+    private boolean sameRun(SimulationShard other) {
+        return rounds == other.rounds
+                && seed == other.seed
+                && Double.compare(bettingAmount, other.bettingAmount) == 0
+                && randomAlgorithm == other.randomAlgorithm
+                && shardCount == other.shardCount
+                && statistics.game() == other.statistics.game();
+    }
+
+    private String label() {
+        return shard + "/" + shardCount;
+    }
+}
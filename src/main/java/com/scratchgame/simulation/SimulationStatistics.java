@@ -0,0 +1,123 @@
+package com.scratchgame.simulation;
+
+import com.scratchgame.engine.RoundOutcome;
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.GameResult;
+
+import java.util.List;
+
+/**
+ * Mutable per-task accumulator of simulated rounds. Only counts are kept, so merging
+ * statistics is exact and independent of how rounds were split across tasks.
+ */
+public final class SimulationStatistics {
+
+    private final CompiledGame game;
+    private final long[] combinationHits;
+    private final long[] bonusHits;
+    private final PayoutHistogram payouts = new PayoutHistogram();
+    private long rounds;
+    private long winningRounds;
+
+    public SimulationStatistics(CompiledGame game) {
+        this.game = game;
+        this.combinationHits = new long[game.combinations().length];
+        this.bonusHits = new long[game.symbolCount()];
+    }
+
+    /**
+     * Restores statistics from their counts, e.g. read back from a file.
+     */
+    public static SimulationStatistics of(CompiledGame game, long rounds, long winningRounds,
+                                          long[] combinationHits, long[] bonusHits, PayoutHistogram payouts) {
+        SimulationStatistics statistics = new SimulationStatistics(game);
+        if (combinationHits.length != statistics.combinationHits.length || bonusHits.length != statistics.bonusHits.length) {
+            throw new IllegalArgumentException("Statistics do not match the game's combinations and symbols");
+        }
+        statistics.rounds = rounds;
+        statistics.winningRounds = winningRounds;
+        System.arraycopy(combinationHits, 0, statistics.combinationHits, 0, combinationHits.length);
+        System.arraycopy(bonusHits, 0, statistics.bonusHits, 0, bonusHits.length);
+        statistics.payouts.merge(payouts);
+        return statistics;
+    }
+
+    public void record(GameResult result) {
+        rounds++;
+        payouts.add(result.reward());
+        if (result.appliedWinningCombinations().isEmpty()) {
+            return;
+        }
+        winningRounds++;
+        for (List<String> names : result.appliedWinningCombinations().values()) {
+            for (String name : names) {
+                combinationHits[game.combination(name).id()]++;
+            }
+        }
+        if (result.appliedBonusSymbol() != null) {
+            bonusHits[game.symbolId(result.appliedBonusSymbol())]++;
+        }
+    }
+
+    public void record(RoundOutcome outcome) {
+        rounds++;
+        payouts.add(outcome.reward());
+        if (!outcome.isWin()) {
+            return;
+        }
+        winningRounds++;
+        AppliedCombinations combinations = outcome.combinations();
+        for (int symbol = 0; symbol < game.symbolCount(); symbol++) {
+            for (int id = combinations.nextApplied(symbol, 0); id >= 0; id = combinations.nextApplied(symbol, id + 1)) {
+                combinationHits[id]++;
+            }
+        }
+        if (outcome.bonusSymbol() != CompiledGame.NO_SYMBOL) {
+            bonusHits[outcome.bonusSymbol()]++;
+        }
+    }
+
+    public SimulationStatistics merge(SimulationStatistics other) {
+        rounds += other.rounds;
+        winningRounds += other.winningRounds;
+        for (int i = 0; i < combinationHits.length; i++) {
+            combinationHits[i] += other.combinationHits[i];
+        }
+        for (int i = 0; i < bonusHits.length; i++) {
+            bonusHits[i] += other.bonusHits[i];
+        }
+        payouts.merge(other.payouts);
+        return this;
+    }
+
+    public CompiledGame game() {
+        return game;
+    }
+
+    public long rounds() {
+        return rounds;
+    }
+
+    public long winningRounds() {
+        return winningRounds;
+    }
+
+    /**
+     * @return how often each combination was applied, indexed by combination id
+     */
+    public long[] combinationHits() {
+        return combinationHits;
+    }
+
+    /**
+     * @return how often each bonus symbol was applied to a winning round, indexed by symbol id
+     */
+    public long[] bonusHits() {
+        return bonusHits;
+    }
+
+    public PayoutHistogram payouts() {
+        return payouts;
+    }
+}
@@ -0,0 +1,298 @@
+package com.scratchgame.simulation.exact;
+
+import com.scratchgame.model.BonusImpact;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.CompiledWinCombination;
+import com.scratchgame.model.WeightTable;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the exact payout distribution of a game by enumerating cell outcomes.
+ * <p>
+ * Cells are visited in row-major order while a map from partial state to probability is
+ * carried along. A partial state only keeps what the remaining cells can still change:
+ * standard symbol counts capped at the highest same_symbols threshold, the symbol of every
+ * covered area that is started and still intact, the symbols each linear_symbols combination
+ * already matched, and the first applicable bonus symbol. Matrices that agree on those are
+ * merged, which collapses every permutation of cells that no covered area distinguishes.
+ * <p>
+ * The bonus symbol overwrites one uniformly chosen cell, as in the matrix generator, so the
+ * enumeration runs once per bonus position in parallel, with the bonus distribution in place
+ * of that cell's table. When no covered areas exist and every cell shares a table without
+ * bonus symbols, all bonus positions are equivalent and only one is enumerated; a bonus
+ * symbol drawn by a cell could otherwise precede the placed one in row-major order.
+ */
+public class ExactRtpCalculator {
+
+    private static final int MAX_STANDARD_SYMBOLS = Long.SIZE;
+
+    private final CompiledGame game;
+    private final int parallelism;
+    private final int[] standardIndex;
+    private final int[] standardSymbols;
+    private final int[] bonusIndex;
+    private final int[] bonusSymbols;
+    private final int countCap;
+    private final int[][] areas;
+    private final int[] areaCombination;
+    private final int[][] areasByCell;
+    private final int linearCount;
+    private final int countOffset;
+    private final int areaOffset;
+    private final int matchedOffset;
+    private final int bonusOffset;
+    private final int stateLength;
+
+    public ExactRtpCalculator(CompiledGame game, int parallelism) {
+        this.game = game;
+        this.parallelism = parallelism;
+
+        int symbolCount = game.symbolCount();
+        this.standardIndex = new int[symbolCount];
+        this.bonusIndex = new int[symbolCount];
+        List<Integer> standard = new ArrayList<>();
+        List<Integer> bonus = new ArrayList<>();
+        for (int id = 0; id < symbolCount; id++) {
+            standardIndex[id] = game.isStandard(id) ? standard.size() : -1;
+            bonusIndex[id] = game.isBonus(id) ? bonus.size() : -1;
+            if (game.isStandard(id)) {
+                standard.add(id);
+            } else if (game.isBonus(id)) {
+                bonus.add(id);
+            }
+        }
+        if (standard.size() > MAX_STANDARD_SYMBOLS) {
+            throw new IllegalArgumentException("Exact calculation supports at most " + MAX_STANDARD_SYMBOLS + " standard symbols");
+        }
+        // The first bonus symbol is kept in one byte slot, with 0 for none
+        if (bonus.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Exact calculation supports at most " + Byte.MAX_VALUE + " bonus symbols");
+        }
+        this.standardSymbols = standard.stream().mapToInt(Integer::intValue).toArray();
+        this.bonusSymbols = bonus.stream().mapToInt(Integer::intValue).toArray();
+        this.countCap = Arrays.stream(game.sameSymbolCombinations())
+                .mapToInt(CompiledWinCombination::count)
+                .map(count -> Math.min(count, game.cellCount()))
+                .max()
+                .orElse(0);
+        if (countCap > Byte.MAX_VALUE || game.groupCount() > Long.SIZE) {
+            throw new IllegalArgumentException("Game is too large for exact calculation");
+        }
+
+        CompiledWinCombination[] linear = game.linearCombinations();
+        this.linearCount = linear.length;
+        List<int[]> areaList = new ArrayList<>();
+        List<Integer> areaCombinationList = new ArrayList<>();
+        for (int c = 0; c < linear.length; c++) {
+            for (int[] area : linear[c].coveredAreas()) {
+                areaList.add(IntStream.of(area).distinct().sorted().toArray());
+                areaCombinationList.add(c);
+            }
+        }
+        this.areas = areaList.toArray(int[][]::new);
+        this.areaCombination = areaCombinationList.stream().mapToInt(Integer::intValue).toArray();
+        List<List<Integer>> byCell = new ArrayList<>();
+        for (int cell = 0; cell < game.cellCount(); cell++) {
+            byCell.add(new ArrayList<>());
+        }
+        for (int a = 0; a < areas.length; a++) {
+            for (int cell : areas[a]) {
+                byCell.get(cell).add(a);
+            }
+        }
+        this.areasByCell = byCell.stream()
+                .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+
+        this.countOffset = 0;
+        this.areaOffset = countOffset + standardSymbols.length;
+        this.matchedOffset = areaOffset + areas.length;
+        this.bonusOffset = matchedOffset + linearCount * Long.BYTES;
+        this.stateLength = bonusOffset + 1;
+    }
+
+    public ExactRtpReport calculate(double bettingAmount) {
+        int cells = game.cellCount();
+        boolean positionsEquivalent = areas.length == 0
+                && IntStream.range(1, cells).allMatch(cell -> game.cellTable(cell) == game.cellTable(0))
+                && IntStream.of(game.cellTable(0).symbolIds()).noneMatch(game::isBonus);
+        int[] positions = positionsEquivalent ? new int[]{0} : IntStream.range(0, cells).toArray();
+        double positionProbability = 1.0 / positions.length;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Enumeration> results = pool.submit(() -> Arrays.stream(positions)
+                    .parallel()
+                    .mapToObj(position -> enumerate(position, bettingAmount))
+                    .toList()).join();
+
+            Map<Double, Double> distribution = new TreeMap<>();
+            double hitProbability = 0.0;
+            long states = 0;
+            for (Enumeration result : results) {
+                result.distribution.forEach((payout, p) -> distribution.merge(payout, p * positionProbability, Double::sum));
+                hitProbability += result.hitProbability * positionProbability;
+                states += result.states;
+            }
+            return ExactRtpReport.from(bettingAmount, distribution, hitProbability, states);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Enumeration enumerate(int bonusPosition, double bettingAmount) {
+        Map<State, Double> states = new HashMap<>();
+        states.put(new State(new byte[stateLength]), 1.0);
+        long explored = 1;
+
+        for (int cell = 0; cell < game.cellCount(); cell++) {
+            WeightTable table = cell == bonusPosition ? game.bonusTable() : game.cellTable(cell);
+            Map<State, Double> next = new HashMap<>(states.size() * 2);
+            for (Map.Entry<State, Double> entry : states.entrySet()) {
+                for (int k = 0; k < table.size(); k++) {
+                    if (table.weights()[k] == 0) {
+                        continue;
+                    }
+                    double p = entry.getValue() * table.weights()[k] / table.totalWeight();
+                    next.merge(advance(entry.getKey(), cell, table.symbolIds()[k]), p, Double::sum);
+                }
+            }
+            states = next;
+            explored += states.size();
+        }
+
+        Map<Double, Double> distribution = new HashMap<>();
+        double hitProbability = 0.0;
+        for (Map.Entry<State, Double> entry : states.entrySet()) {
+            double payout = payout(entry.getKey().data, bettingAmount);
+            if (payout >= 0) {
+                hitProbability += entry.getValue();
+            }
+            distribution.merge(Math.max(payout, 0.0), entry.getValue(), Double::sum);
+        }
+        return new Enumeration(distribution, hitProbability, explored);
+    }
+
+    private State advance(State state, int cell, int symbol) {
+        byte[] data = state.data.clone();
+        int std = standardIndex[symbol];
+        if (std >= 0) {
+            if (data[countOffset + std] < countCap) {
+                data[countOffset + std]++;
+            }
+        } else if (bonusIndex[symbol] >= 0 && data[bonusOffset] == 0) {
+            data[bonusOffset] = (byte) (bonusIndex[symbol] + 1);
+        }
+
+        for (int a : areasByCell[cell]) {
+            int[] area = areas[a];
+            int combination = areaCombination[a];
+            if (area[0] == cell) {
+                // Areas whose combination already matched this symbol cannot change the outcome
+                boolean redundant = std >= 0 && (matched(data, combination) & (1L << std)) != 0;
+                data[areaOffset + a] = (byte) (std >= 0 && !redundant ? std + 1 : 0);
+            } else if (data[areaOffset + a] != std + 1) {
+                data[areaOffset + a] = 0;
+            }
+            if (area[area.length - 1] == cell && data[areaOffset + a] != 0) {
+                setMatched(data, combination, matched(data, combination) | 1L << std);
+                for (int other = 0; other < areas.length; other++) {
+                    if (areaCombination[other] == combination && data[areaOffset + other] == std + 1) {
+                        data[areaOffset + other] = 0;
+                    }
+                }
+            }
+        }
+        return new State(data);
+    }
+
+    /**
+     * @return the reward of a final state, or -1 if no combination applies
+     */
+    private double payout(byte[] data, double bettingAmount) {
+        CompiledWinCombination[] sameSymbols = game.sameSymbolCombinations();
+        CompiledWinCombination[] linear = game.linearCombinations();
+        boolean win = false;
+        double reward = 0.0;
+        for (int std = 0; std < standardSymbols.length; std++) {
+            long groups = 0;
+            double symbolReward = bettingAmount * game.rewardMultiplier(standardSymbols[std]);
+            boolean symbolWins = false;
+            int count = data[countOffset + std];
+            for (CompiledWinCombination combination : sameSymbols) {
+                if (count > 0 && count >= combination.count() && (groups & 1L << combination.group()) == 0) {
+                    groups |= 1L << combination.group();
+                    symbolReward *= combination.rewardMultiplier();
+                    symbolWins = true;
+                }
+            }
+            for (int c = 0; c < linear.length; c++) {
+                if ((matched(data, c) & 1L << std) != 0 && (groups & 1L << linear[c].group()) == 0) {
+                    groups |= 1L << linear[c].group();
+                    symbolReward *= linear[c].rewardMultiplier();
+                    symbolWins = true;
+                }
+            }
+            if (symbolWins) {
+                reward += symbolReward;
+                win = true;
+            }
+        }
+        if (!win) {
+            return -1;
+        }
+
+        if (data[bonusOffset] != 0) {
+            int bonus = bonusSymbols[data[bonusOffset] - 1];
+            if (game.impact(bonus) == BonusImpact.MULTIPLY_REWARD) {
+                reward *= game.rewardMultiplier(bonus);
+            } else if (game.impact(bonus) == BonusImpact.EXTRA_BONUS) {
+                reward += game.extra(bonus);
+            }
+        }
+        return reward;
+    }
+
+    private long matched(byte[] data, int combination) {
+        long value = 0;
+        int offset = matchedOffset + combination * Long.BYTES;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value |= (data[offset + i] & 0xFFL) << (i * 8);
+        }
+        return value;
+    }
+
+    private void setMatched(byte[] data, int combination, long value) {
+        int offset = matchedOffset + combination * Long.BYTES;
+        for (int i = 0; i < Long.BYTES; i++) {
+            data[offset + i] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    private record Enumeration(Map<Double, Double> distribution, double hitProbability, long states) {
+    }
+
+    private static final class State {
+
+        private final byte[] data;
+        private final int hash;
+
+        private State(byte[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof State other && hash == other.hash && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
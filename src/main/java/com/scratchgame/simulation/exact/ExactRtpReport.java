@@ -0,0 +1,28 @@
+package com.scratchgame.simulation.exact;
+
+import java.util.Map;
+
+public record ExactRtpReport(
+        double bettingAmount,
+        double expectedPayout,
+        double rtp,
+        double hitFrequency,
+        double payoutVariance,
+        double maxWin,
+        long statesExplored,
+        Map<Double, Double> payoutDistribution
+) {
+
+    static ExactRtpReport from(double bettingAmount, Map<Double, Double> distribution, double hitProbability, long states) {
+        double mean = 0.0;
+        double square = 0.0;
+        double maxWin = 0.0;
+        for (Map.Entry<Double, Double> entry : distribution.entrySet()) {
+            mean += entry.getKey() * entry.getValue();
+            square += entry.getKey() * entry.getKey() * entry.getValue();
+            maxWin = Math.max(maxWin, entry.getKey());
+        }
+        return new ExactRtpReport(bettingAmount, mean, bettingAmount > 0 ? mean / bettingAmount : 0.0,
+                hitProbability, Math.max(0.0, square - mean * mean), maxWin, states, Map.copyOf(distribution));
+    }
+}
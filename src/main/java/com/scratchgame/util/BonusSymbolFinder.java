@@ -1,7 +1,7 @@
 package com.scratchgame.util;
 
-import com.scratchgame.model.Config;
-import com.scratchgame.model.SymbolConfig;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.model.SymbolMatrix;
 
 public class BonusSymbolFinder {
 
@@ -9,23 +9,22 @@ public class BonusSymbolFinder {
         // Prevent instantiation
     }
 
-    public static String find(Config config, String[][] matrix, boolean hasWinningCombination) {
+    public static String find(CompiledGame game, SymbolMatrix matrix, boolean hasWinningCombination) {
+        int id = findId(game, matrix, hasWinningCombination);
+        return id != CompiledGame.NO_SYMBOL ? game.symbolName(id) : null;
+    }
+
+    public static int findId(CompiledGame game, SymbolMatrix matrix, boolean hasWinningCombination) {
         if (!hasWinningCombination) {
-            return null;
+            return CompiledGame.NO_SYMBOL;
         }
 
-        int rows = config.rows();
-        int cols = config.columns();
-
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                String symbol = matrix[r][c];
-                SymbolConfig sc = config.symbols().get(symbol);
-                if (sc != null && sc.type().equals("bonus") && !"MISS".equals(symbol)) {
-                    return symbol; // first valid bonus symbol wins
-                }
+        for (int cell = 0; cell < matrix.cellCount(); cell++) {
+            int id = matrix.symbolAt(cell);
+            if (game.isBonus(id)) {
+                return id; // first valid bonus symbol wins
             }
         }
-        return null;
+        return CompiledGame.NO_SYMBOL;
     }
 }
@@ -0,0 +1,23 @@
+package com.scratchgame.util.random;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws from {@link ThreadLocalRandom}, whose state lives in the calling thread itself.
+ * Uncontended and cheap to use from short-lived virtual threads, but not seedable.
+ */
+public class CurrentThreadRandomSource implements RandomSource {
+
+    @Override
+    public int nextInt(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    @Override
+    public void fill(int[] bounds, int[] out, int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < length; i++) {
+            out[i] = random.nextInt(bounds[i]);
+        }
+    }
+}
@@ -4,7 +4,15 @@ import java.util.Random;
 
 public class JavaRandomSource implements RandomSource {
 
-    private final Random rnd = new Random();
+    private final Random rnd;
+
+    public JavaRandomSource() {
+        this.rnd = new Random();
+    }
+
+    public JavaRandomSource(long seed) {
+        this.rnd = new Random(seed);
+    }
 
     @Override
     public int nextInt(int bound) {
@@ -0,0 +1,37 @@
+package com.scratchgame.util.random;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+public enum RandomAlgorithm {
+    L64X128_MIX("L64X128MixRandom"),
+    XOROSHIRO128_PLUS_PLUS("Xoroshiro128PlusPlus"),
+    SPLITTABLE("SplittableRandom");
+
+    private final String algorithmName;
+
+    RandomAlgorithm(String algorithmName) {
+        this.algorithmName = algorithmName;
+    }
+
+    public String algorithmName() {
+        return algorithmName;
+    }
+
+    public RandomGenerator create(long seed) {
+        return RandomGeneratorFactory.of(algorithmName).create(seed);
+    }
+
+    public RandomGenerator create() {
+        return RandomGeneratorFactory.of(algorithmName).create();
+    }
+
+    public static RandomAlgorithm fromName(String name) {
+        for (RandomAlgorithm algorithm : values()) {
+            if (algorithm.algorithmName.equalsIgnoreCase(name) || algorithm.name().equalsIgnoreCase(name)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown random algorithm: " + name);
+    }
+}
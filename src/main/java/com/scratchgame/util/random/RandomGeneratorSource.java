@@ -0,0 +1,51 @@
+package com.scratchgame.util.random;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Random source over a {@link RandomGenerator}. Not thread-safe: give every thread its own
+ * instance, e.g. through {@link #split()} or {@link ThreadLocalRandomSource}.
+ */
+public class RandomGeneratorSource implements SplittableRandomSource {
+
+    private final RandomGenerator generator;
+
+    public RandomGeneratorSource(RandomGenerator generator) {
+        this.generator = generator;
+    }
+
+    public static RandomGeneratorSource of(RandomAlgorithm algorithm, long seed) {
+        return new RandomGeneratorSource(algorithm.create(seed));
+    }
+
+    public static RandomGeneratorSource of(RandomAlgorithm algorithm) {
+        return new RandomGeneratorSource(algorithm.create());
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return generator.nextInt(bound);
+    }
+
+    @Override
+    public void fill(int[] bounds, int[] out, int length) {
+        RandomGenerator generator = this.generator;
+        for (int i = 0; i < length; i++) {
+            out[i] = generator.nextInt(bounds[i]);
+        }
+    }
+
+    /**
+     * Splits off a child stream: a split for splittable algorithms, or a copy of this
+     * generator after which this one jumps ahead for jumpable algorithms.
+     */
+    @Override
+    public RandomGeneratorSource split() {
+        if (generator instanceof RandomGenerator.SplittableGenerator splittable) {
+            return new RandomGeneratorSource(splittable.split());
+        } else if (generator instanceof RandomGenerator.JumpableGenerator jumpable) {
+            return new RandomGeneratorSource(jumpable.copyAndJump());
+        }
+        throw new UnsupportedOperationException(generator.getClass().getSimpleName() + " cannot be split");
+    }
+}
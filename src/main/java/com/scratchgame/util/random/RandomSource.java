@@ -3,4 +3,14 @@ package com.scratchgame.util.random;
 public interface RandomSource {
 
     int nextInt(int bound);
+
+    /**
+     * Draws {@code out[i] = nextInt(bounds[i])} for the first {@code length} entries,
+     * in order, so a whole round can be drawn with a single call.
+     */
+    default void fill(int[] bounds, int[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = nextInt(bounds[i]);
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.scratchgame.util.random;
+
+/**
+ * SplitMix64 stream that can be reset to any seed without allocating, so a round can be
+ * played from a recorded seed and replayed from it later. Not thread-safe.
+ */
+public final class SeededRandomSource implements RandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public SeededRandomSource(long seed) {
+        this.state = seed;
+    }
+
+    public void reset(long seed) {
+        state = seed;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+        // Lemire's multiply-and-reject, unbiased
+        long product = (nextLong() >>> 32) * bound;
+        if ((product & 0xFFFFFFFFL) < bound) {
+            long threshold = Integer.toUnsignedLong(Integer.remainderUnsigned(-bound, bound));
+            while ((product & 0xFFFFFFFFL) < threshold) {
+                product = (nextLong() >>> 32) * bound;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    private long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
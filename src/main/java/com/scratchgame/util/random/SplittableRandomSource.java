@@ -0,0 +1,10 @@
+package com.scratchgame.util.random;
+
+/**
+ * A random source that can hand out statistically independent child streams,
+ * e.g. one per worker thread or per simulation chunk.
+ */
+public interface SplittableRandomSource extends RandomSource {
+
+    SplittableRandomSource split();
+}
@@ -0,0 +1,35 @@
+package com.scratchgame.util.random;
+
+/**
+ * Gives every thread its own stream split from a root source, so engines shared between
+ * threads draw without contention. Streams are handed out in thread arrival order.
+ */
+public class ThreadLocalRandomSource implements RandomSource {
+
+    private final SplittableRandomSource root;
+    private final ThreadLocal<RandomSource> local = ThreadLocal.withInitial(this::nextStream);
+
+    public ThreadLocalRandomSource(SplittableRandomSource root) {
+        this.root = root;
+    }
+
+    public ThreadLocalRandomSource(RandomAlgorithm algorithm) {
+        this(RandomGeneratorSource.of(algorithm));
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return local.get().nextInt(bound);
+    }
+
+    @Override
+    public void fill(int[] bounds, int[] out, int length) {
+        local.get().fill(bounds, out, length);
+    }
+
+    private RandomSource nextStream() {
+        synchronized (root) {
+            return root.split();
+        }
+    }
+}
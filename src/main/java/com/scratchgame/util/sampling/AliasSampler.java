@@ -0,0 +1,82 @@
+package com.scratchgame.util.sampling;
+
+import com.scratchgame.model.WeightTable;
+
+/**
+ * Walker/Vose alias table, O(1) per draw.
+ * <p>
+ * The table is built with integer arithmetic: each weight is scaled by the number of
+ * entries so every column holds exactly {@code total} units, split between the column
+ * symbol and its alias. A single draw in {@code [0, size * total)} selects the column and
+ * the threshold at once, so the sampled distribution equals the configured weights exactly.
+ */
+public final class AliasSampler implements SymbolSampler {
+
+    private final int[] symbolIds;
+    private final int[] aliasIds;
+    private final int[] thresholds;
+    private final int total;
+    private final int bound;
+
+    public AliasSampler(WeightTable table) {
+        int size = table.size();
+        int total = table.totalWeight();
+        if (!fits(table)) {
+            throw new IllegalArgumentException("Weight table too large for an alias table: " + size + " x " + total);
+        }
+
+        long[] scaled = new long[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = (long) table.weights()[i] * size;
+            if (scaled[i] < total) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        this.symbolIds = table.symbolIds().clone();
+        this.aliasIds = table.symbolIds().clone();
+        this.thresholds = new int[size];
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+            thresholds[s] = (int) scaled[s];
+            aliasIds[s] = symbolIds[l];
+            scaled[l] -= total - scaled[s];
+            if (scaled[l] < total) {
+                small[smallCount++] = l;
+            } else {
+                large[largeCount++] = l;
+            }
+        }
+        while (largeCount > 0) {
+            thresholds[large[--largeCount]] = total;
+        }
+        while (smallCount > 0) {
+            thresholds[small[--smallCount]] = total;
+        }
+
+        this.total = total;
+        this.bound = size * total;
+    }
+
+    static boolean fits(WeightTable table) {
+        return (long) table.size() * table.totalWeight() <= Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int bound() {
+        return bound;
+    }
+
+    @Override
+    public int sample(int draw) {
+        int column = draw / total;
+        return draw - column * total < thresholds[column] ? symbolIds[column] : aliasIds[column];
+    }
+}
@@ -0,0 +1,41 @@
+package com.scratchgame.util.sampling;
+
+import com.scratchgame.model.WeightTable;
+
+/**
+ * Binary search over cumulative weights, O(log n) per draw.
+ * Maps a draw to the same symbol as a linear cumulative scan in table order.
+ */
+public final class CumulativeSampler implements SymbolSampler {
+
+    private final int[] symbolIds;
+    private final int[] cumulativeWeights;
+    private final int total;
+
+    public CumulativeSampler(WeightTable table) {
+        this.symbolIds = table.symbolIds().clone();
+        this.cumulativeWeights = table.cumulativeWeights().clone();
+        this.total = table.totalWeight();
+    }
+
+    @Override
+    public int bound() {
+        return total;
+    }
+
+    @Override
+    public int sample(int draw) {
+        // First entry whose cumulative weight exceeds the draw
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeWeights[mid] > draw) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return symbolIds[low];
+    }
+}
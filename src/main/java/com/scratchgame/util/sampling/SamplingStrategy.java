@@ -0,0 +1,26 @@
+package com.scratchgame.util.sampling;
+
+import com.scratchgame.model.WeightTable;
+
+public enum SamplingStrategy {
+
+    /**
+     * Constant-time alias tables, falling back to {@link #CUMULATIVE} when
+     * {@code entries * totalWeight} does not fit a single int draw.
+     */
+    ALIAS {
+        @Override
+        public SymbolSampler create(WeightTable table) {
+            return AliasSampler.fits(table) ? new AliasSampler(table) : new CumulativeSampler(table);
+        }
+    },
+
+    CUMULATIVE {
+        @Override
+        public SymbolSampler create(WeightTable table) {
+            return new CumulativeSampler(table);
+        }
+    };
+
+    public abstract SymbolSampler create(WeightTable table);
+}
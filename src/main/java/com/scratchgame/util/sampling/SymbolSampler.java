@@ -0,0 +1,19 @@
+package com.scratchgame.util.sampling;
+
+import com.scratchgame.util.random.RandomSource;
+
+/**
+ * Draws a symbol id from a fixed weighted distribution.
+ * A sampler maps one uniform draw in {@code [0, bound())} to a symbol id, so it is
+ * stateless, thread-safe and allocation-free.
+ */
+public interface SymbolSampler {
+
+    int bound();
+
+    int sample(int draw);
+
+    default int sample(RandomSource randomSource) {
+        return sample(randomSource.nextInt(bound()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.scratchgame;
+
+import com.scratchgame.model.*;
+
+import java.util.*;
+
+/**
+ * The game most tests play: standard symbols A, B and C paying 5, 2 and 1, bonus symbols
+ * 10x, +500 and MISS, every cell drawing A, B and C at 1:2:3 and the bonus symbol at 1:2:5,
+ * and wins for 3 and 5 same symbols, for every row and, on square boards, both diagonals.
+ * <p>
+ * Tests that need other cells or wins replace them with {@link #withCells} and
+ * {@link #withCombinations}.
+ */
+public final class TestGames {
+
+    private TestGames() {
+    }
+
+    public static Config config() {
+        return config(3, 3);
+    }
+
+    public static Config config(int rows, int columns) {
+        return config(rows, columns, 5.0);
+    }
+
+    public static Config config(int rows, int columns, double multiplierOfA) {
+        Map<String, SymbolConfig> symbols = new HashMap<>();
+        symbols.put("A", new SymbolConfig("standard", multiplierOfA, null, null));
+        symbols.put("B", new SymbolConfig("standard", 2.0, null, null));
+        symbols.put("C", new SymbolConfig("standard", 1.0, null, null));
+        symbols.put("10x", new SymbolConfig("bonus", 10.0, null, "multiply_reward"));
+        symbols.put("+500", new SymbolConfig("bonus", null, 500, "extra_bonus"));
+        symbols.put("MISS", new SymbolConfig("bonus", null, null, "miss"));
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("A", 1);
+        weights.put("B", 2);
+        weights.put("C", 3);
+        Map<String, Integer> bonus = new LinkedHashMap<>();
+        bonus.put("10x", 1);
+        bonus.put("+500", 2);
+        bonus.put("MISS", 5);
+
+        Map<String, WinCombinationConfig> combinations = new HashMap<>();
+        combinations.put("same_symbol_3_times", new WinCombinationConfig(1.0, "same_symbols", 3, "same_symbols", null));
+        combinations.put("same_symbol_5_times", new WinCombinationConfig(2.0, "same_symbols", 5, "same_symbols", null));
+        combinations.put("same_symbols_horizontally", new WinCombinationConfig(2.0, "linear_symbols", null, "horizontal",
+                rows(rows, columns)));
+        if (rows == columns) {
+            List<String> down = new ArrayList<>();
+            List<String> up = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                down.add(i + ":" + i);
+                up.add(i + ":" + (columns - 1 - i));
+            }
+            combinations.put("same_symbols_diagonally", new WinCombinationConfig(5.0, "linear_symbols", null, "diagonal",
+                    List.of(down, up)));
+        }
+
+        return new Config(columns, rows, symbols,
+                new Probabilities(cells(rows, columns, weights), new BonusProbability(bonus)), combinations);
+    }
+
+    public static Config withCells(Config config, List<CellProbability> cells) {
+        return new Config(config.columns(), config.rows(), config.symbols(),
+                new Probabilities(cells, config.probabilities().bonusSymbols()), config.winCombinations());
+    }
+
+    public static Config withCombinations(Config config, Map<String, WinCombinationConfig> combinations) {
+        return new Config(config.columns(), config.rows(), config.symbols(), config.probabilities(), combinations);
+    }
+
+    /**
+     * @return an entry for every cell, each drawing from {@code weights}
+     */
+    public static List<CellProbability> cells(int rows, int columns, Map<String, Integer> weights) {
+        List<CellProbability> cells = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                cells.add(new CellProbability(col, row, weights));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * @return every row as a covered area
+     */
+    public static List<List<String>> rows(int rows, int columns) {
+        List<List<String>> areas = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            List<String> area = new ArrayList<>();
+            for (int col = 0; col < columns; col++) {
+                area.add(row + ":" + col);
+            }
+            areas.add(area);
+        }
+        return areas;
+    }
+
+    /**
+     * @return every column as a covered area
+     */
+    public static List<List<String>> columns(int rows, int columns) {
+        List<List<String>> areas = new ArrayList<>();
+        for (int col = 0; col < columns; col++) {
+            List<String> area = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                area.add(row + ":" + col);
+            }
+            areas.add(area);
+        }
+        return areas;
+    }
+}
@@ -1,5 +1,6 @@
 package com.scratchgame.engine;
 
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
 import com.scratchgame.engine.combination.CombinationMatcher;
 import com.scratchgame.engine.combination.CombinationMatcherImpl;
 import com.scratchgame.engine.matrix.MatrixGenerator;
@@ -7,9 +8,12 @@ import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
 import com.scratchgame.engine.reward.RewardCalculator;
 import com.scratchgame.engine.reward.RewardCalculatorImpl;
 import com.scratchgame.model.*;
+import com.scratchgame.util.random.RandomAlgorithm;
+import com.scratchgame.util.random.RandomGeneratorSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class GameEngineImplTest {
 
     private GameEngineImpl gameEngine;
+    private Config config;
 
     @BeforeEach
     void setup() {
@@ -70,7 +75,7 @@ class GameEngineImplTest {
                 null
         ));
 
-        Config config = new Config(3, 3, symbols, probabilities, winCombinations);
+        config = new Config(3, 3, symbols, probabilities, winCombinations);
 
         final MatrixGenerator matrixGenerator = new MatrixGeneratorImpl();
         final CombinationMatcher combinationMatcher = new CombinationMatcherImpl();
@@ -105,6 +110,56 @@ class GameEngineImplTest {
         }
     }
 
+    @Test
+    void testPlayGamesMatchesRepeatedPlayGame() {
+        CompiledGame game = CompiledGame.compile(config);
+        for (CombinationMatcher matcher : List.of(new CombinationMatcherImpl(), new BitboardCombinationMatcher())) {
+            GameEngine single = new GameEngineImpl(game,
+                    new MatrixGeneratorImpl(RandomGeneratorSource.of(RandomAlgorithm.SPLITTABLE, 11L)),
+                    matcher, new RewardCalculatorImpl());
+            GameEngine batch = new GameEngineImpl(game,
+                    new MatrixGeneratorImpl(RandomGeneratorSource.of(RandomAlgorithm.SPLITTABLE, 11L)),
+                    matcher, new RewardCalculatorImpl());
+
+            List<GameResult> batchResults = new ArrayList<>();
+            batch.playGames(2_000, 100.0, outcome -> batchResults.add(outcome.toGameResult()));
+
+            assertEquals(2_000, batchResults.size());
+            for (GameResult actual : batchResults) {
+                GameResult expected = single.playGame(100.0);
+                assertEquals(expected.symbolMatrix(), actual.symbolMatrix());
+                assertEquals(expected.reward(), actual.reward(), 1e-9);
+                assertEquals(expected.appliedWinningCombinations(), actual.appliedWinningCombinations());
+                assertEquals(expected.appliedBonusSymbol(), actual.appliedBonusSymbol());
+            }
+        }
+    }
+
+    @Test
+    void testPlayRoundReusesOneWorkspacePerThread() throws Exception {
+        CompiledGame game = CompiledGame.compile(config);
+        GameEngine single = new GameEngineImpl(game,
+                new MatrixGeneratorImpl(RandomGeneratorSource.of(RandomAlgorithm.SPLITTABLE, 11L)),
+                new BitboardCombinationMatcher(), new RewardCalculatorImpl());
+        GameEngine workspace = new GameEngineImpl(game,
+                new MatrixGeneratorImpl(RandomGeneratorSource.of(RandomAlgorithm.SPLITTABLE, 11L)),
+                new BitboardCombinationMatcher(), new RewardCalculatorImpl());
+
+        RoundOutcome first = workspace.playRound(100.0);
+        assertEquals(single.playGame(100.0), first.toGameResult());
+        for (int round = 0; round < 500; round++) {
+            RoundOutcome outcome = workspace.playRound(100.0);
+            assertSame(first, outcome);
+            assertEquals(single.playGame(100.0), outcome.toGameResult());
+        }
+
+        RoundOutcome[] other = new RoundOutcome[1];
+        Thread thread = new Thread(() -> other[0] = workspace.playRound(100.0));
+        thread.start();
+        thread.join();
+        assertNotSame(first, other[0]);
+    }
+
     @Test
     void testRewardIsZeroWhenNoWinningCombinations() {
         Map<String, SymbolConfig> symbols = new HashMap<>();
@@ -0,0 +1,103 @@
+package com.scratchgame.engine;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.combination.CombinationMatcher;
+import com.scratchgame.engine.combination.SpecializedCombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGenerator;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.matrix.RowParallelMatrixGenerator;
+import com.scratchgame.engine.metrics.HistogramEngineMetrics;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.*;
+import com.scratchgame.util.random.CurrentThreadRandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the allocation-free play paths: once warmed up, a round must not allocate on the
+ * playing thread, as counted by the thread's allocated byte counter. Less than one byte per
+ * round on average is tolerated, which no per-round object fits into.
+ */
+class ZeroAllocationTest {
+
+    private static final int WARMUP_ROUNDS = 50_000;
+    private static final int MEASURED_ROUNDS = 20_000;
+
+    // Every bonus impact and both kinds of win combination, so every reward branch is taken
+    private final CompiledGame game = CompiledGame.compile(TestGames.config());
+
+    @Test
+    void testPlayRoundDoesNotAllocate() {
+        for (CombinationMatcher matcher : List.of(new BitboardCombinationMatcher(), new SpecializedCombinationMatcher())) {
+            GameEngine engine = new GameEngineImpl(game, generator(), matcher, new RewardCalculatorImpl());
+
+            assertEquals(0, bytesPerRound(() -> engine.playRound(10.0)), matcher.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void testTimedPlayRoundDoesNotAllocate() {
+        GameEngine engine = new GameEngineImpl(game, generator(), new BitboardCombinationMatcher(),
+                new RewardCalculatorImpl(), new HistogramEngineMetrics(game));
+
+        assertEquals(0, bytesPerRound(() -> engine.playRound(10.0)));
+    }
+
+    @Test
+    void testSeededPlayRoundDoesNotAllocate() {
+        GameEngine engine = new ReloadableGameEngine(new SeededGameEngine(game, new MatrixGeneratorImpl(),
+                new BitboardCombinationMatcher(), new RewardCalculatorImpl()));
+
+        assertEquals(0, bytesPerRound(() -> engine.playRound(10.0)));
+    }
+
+    @Test
+    void testPlayGamesDoesNotAllocatePerRound() {
+        GameEngine engine = new GameEngineImpl(game, generator(), new BitboardCombinationMatcher(),
+                new RewardCalculatorImpl());
+        double[] total = new double[1];
+        ResultSink sink = outcome -> total[0] += outcome.reward();
+        engine.playGames(WARMUP_ROUNDS, 10.0, sink);
+
+        long allocated = allocatedBytes(() -> engine.playGames(MEASURED_ROUNDS, 10.0, sink));
+
+        // The outcome of the call, but nothing per round
+        assertTrue(allocated < MEASURED_ROUNDS, allocated + " bytes");
+    }
+
+    private static long bytesPerRound(Runnable round) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.run();
+        }
+        return allocatedBytes(() -> {
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                round.run();
+            }
+        }) / MEASURED_ROUNDS;
+    }
+
+    private static long allocatedBytes(Runnable rounds) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean counter
+                && counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled(),
+                "Thread allocation counter is not available");
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) bean;
+        long before = counter.getCurrentThreadAllocatedBytes();
+        rounds.run();
+        return counter.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * The generator the command line plays with.
+     */
+    private static MatrixGenerator generator() {
+        return new RowParallelMatrixGenerator(new MatrixGeneratorImpl(new CurrentThreadRandomSource()));
+    }
+}
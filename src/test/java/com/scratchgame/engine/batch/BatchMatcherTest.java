@@ -0,0 +1,105 @@
+package com.scratchgame.engine.batch;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.BatchGameEngine;
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.GameEngineImpl;
+import com.scratchgame.engine.combination.CombinationMatcherImpl;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.*;
+import com.scratchgame.util.random.RandomAlgorithm;
+import com.scratchgame.util.random.RandomGeneratorSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BatchMatcherTest {
+
+    // Not a multiple of the batch size, so the last batch is partial
+    private static final int ROUNDS = 5_000;
+
+    @Test
+    void testScalarBatchesPlayTheSameRounds() {
+        assertSameRounds(CompiledGame.compile(config(3, 3)), new ScalarBatchMatcher());
+        assertSameRounds(CompiledGame.compile(config(4, 6)), new ScalarBatchMatcher());
+    }
+
+    @Test
+    void testVectorBatchesPlayTheSameRounds() {
+        BatchMatcher matcher = BatchMatcher.create();
+        assumeTrue(matcher != null, "jdk.incubator.vector is not present");
+        assertSameRounds(CompiledGame.compile(config(3, 3)), matcher);
+        assertSameRounds(CompiledGame.compile(config(4, 6)), matcher);
+    }
+
+    @Test
+    void testVectorMatcherIsOnlyCreatedWhenTheModuleIsPresent() {
+        boolean present = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+        BatchMatcher matcher = BatchMatcher.create();
+
+        if (present) {
+            assertInstanceOf(VectorBatchMatcher.class, matcher);
+        } else {
+            assertNull(matcher);
+        }
+    }
+
+    @Test
+    void testLargeBoardsAreNotBatched() {
+        CompiledGame game = CompiledGame.compile(config(12, 12));
+
+        assertFalse(RoundBatch.supports(game));
+        assertThrows(IllegalArgumentException.class, () -> new RoundBatch(game, 64));
+    }
+
+    private static void assertSameRounds(CompiledGame game, BatchMatcher matcher) {
+        GameEngine reference = new GameEngineImpl(game, generator(), new CombinationMatcherImpl(), new RewardCalculatorImpl());
+        GameEngine batched = new BatchGameEngine(game, generator(), matcher, new RewardCalculatorImpl(), 1000);
+        List<GameResult> expected = new ArrayList<>();
+        reference.playGames(ROUNDS, 10.0, outcome -> expected.add(outcome.toGameResult()));
+        List<GameResult> actual = new ArrayList<>();
+        batched.playGames(ROUNDS, 10.0, outcome -> actual.add(outcome.toGameResult()));
+
+        assertEquals(ROUNDS, actual.size());
+        int wins = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            GameResult want = expected.get(round);
+            GameResult got = actual.get(round);
+            assertEquals(want.symbolMatrix(), got.symbolMatrix());
+            assertEquals(want.appliedWinningCombinations(), got.appliedWinningCombinations(), "round " + round);
+            assertEquals(want.appliedBonusSymbol(), got.appliedBonusSymbol());
+            assertEquals(want.reward(), got.reward());
+            wins += want.appliedWinningCombinations().isEmpty() ? 0 : 1;
+        }
+        assertTrue(wins > 0);
+    }
+
+    private static MatrixGeneratorImpl generator() {
+        return new MatrixGeneratorImpl(RandomGeneratorSource.of(RandomAlgorithm.SPLITTABLE, 3L));
+    }
+
+    /**
+     * Bonus symbols drawn by the cells too, every row and column as an area, and both
+     * diagonals where the board is square.
+     */
+    private static Config config(int rows, int columns) {
+        Config config = TestGames.config(rows, columns);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("A", 1);
+        weights.put("B", 2);
+        weights.put("C", 2);
+        weights.put("10x", 1);
+
+        Map<String, WinCombinationConfig> combinations = new HashMap<>(config.winCombinations());
+        combinations.put("same_symbol_7_times", new WinCombinationConfig(5.0, "same_symbols", 7, "same_symbols", null));
+        combinations.put("same_symbols_vertically", new WinCombinationConfig(2.0, "linear_symbols", null, "vertical",
+                TestGames.columns(rows, columns)));
+
+        return TestGames.withCombinations(TestGames.withCells(config, TestGames.cells(rows, columns, weights)), combinations);
+    }
+}
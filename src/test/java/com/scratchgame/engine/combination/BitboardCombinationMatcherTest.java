@@ -0,0 +1,166 @@
+package com.scratchgame.engine.combination;
+
+import com.scratchgame.engine.matrix.MatrixGenerator;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitboardCombinationMatcherTest {
+
+    private static final int ROUNDS = 20_000;
+
+    private final CombinationMatcher reference = new CombinationMatcherImpl();
+    private final CombinationMatcher bitboard = new BitboardCombinationMatcher();
+
+    @Test
+    void testMatchesReferenceOnSmallGrid() {
+        assertSameAsReference(CompiledGame.compile(config(3, 3, 3, 1)), 1);
+    }
+
+    @Test
+    void testMatchesReferenceOnMultiWordGrid() {
+        // 12x12 spans three mask words
+        assertSameAsReference(CompiledGame.compile(config(12, 12, 2, 3)), 2);
+    }
+
+    @Test
+    void testMatchesReferenceWithSkewedWeights() {
+        assertSameAsReference(CompiledGame.compile(config(4, 5, 4, 5)), 3);
+    }
+
+    @Test
+    void testPatternFamiliesMatchReference() {
+        // Two symbols on a non-square board, so every family wins often
+        Config base = config(7, 11, 2, 1);
+        Map<String, WinCombinationConfig> combinations = new HashMap<>(base.winCombinations());
+        combinations.put("rows", pattern("rows", null, "lines"));
+        combinations.put("columns", pattern("columns", null, "lines"));
+        combinations.put("diagonals", pattern("diagonals", null, "diagonals"));
+        combinations.put("four_in_a_row", pattern("in_a_row", 4, "runs"));
+        combinations.put("three_in_a_row", pattern("in_a_row", 3, "runs"));
+        CompiledGame game = CompiledGame.compile(new Config(11, 7, base.symbols(), base.probabilities(), combinations));
+
+        assertSameAsReference(game, 4);
+    }
+
+    @Test
+    void testPatternFamilyExpandsToListedAreas() {
+        Config base = config(3, 3, 3, 1);
+        CompiledGame game = CompiledGame.compile(new Config(3, 3, base.symbols(), base.probabilities(), Map.of(
+                "rows", pattern("rows", null, "rows"),
+                "diagonals", pattern("diagonals", null, "diagonals"),
+                "pairs", pattern("in_a_row", 2, "pairs"))));
+
+        assertArrayEquals(new int[][]{{0, 1, 2}, {3, 4, 5}, {6, 7, 8}}, game.combination("rows").coveredAreas());
+        assertArrayEquals(new int[][]{{0, 4, 8}, {2, 4, 6}}, game.combination("diagonals").coveredAreas());
+        // 6 horizontal, 6 vertical and 4 in each diagonal direction
+        assertEquals(20, game.combination("pairs").coveredAreas().length);
+    }
+
+    @Test
+    void testInvalidPatternsAreRejected() {
+        Config base = config(3, 3, 3, 1);
+        for (WinCombinationConfig invalid : List.of(
+                pattern("spirals", null, "g"),
+                pattern("in_a_row", null, "g"),
+                pattern("in_a_row", 4, "g"),
+                new WinCombinationConfig(1.0, "linear_symbols", null, "g", List.of(List.of("0:0")), "rows"))) {
+            Config config = new Config(3, 3, base.symbols(), base.probabilities(), Map.of("invalid", invalid));
+            assertThrows(IllegalArgumentException.class, () -> CompiledGame.compile(config));
+        }
+    }
+
+    @Test
+    void testRejectsTooManyCombinations() {
+        Map<String, WinCombinationConfig> combinations = new HashMap<>();
+        for (int i = 0; i < 65; i++) {
+            combinations.put("c" + i, new WinCombinationConfig(1.0, "same_symbols", i + 1, "g" + i, null));
+        }
+        Config base = config(3, 3, 3, 1);
+        CompiledGame game = CompiledGame.compile(new Config(3, 3, base.symbols(), base.probabilities(), combinations));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bitboard.findWinningCombinations(game, new SymbolMatrix(game)));
+    }
+
+    private void assertSameAsReference(CompiledGame game, long seed) {
+        Random random = new Random(seed);
+        MatrixGenerator generator = new MatrixGeneratorImpl(random::nextInt);
+        int wins = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            SymbolMatrix matrix = generator.generateMatrix(game);
+            Map<String, List<String>> expected = reference.findWinningCombinations(game, matrix);
+            assertEquals(expected, bitboard.findWinningCombinations(game, matrix),
+                    () -> "Mismatch for matrix " + matrix);
+            wins += expected.isEmpty() ? 0 : 1;
+        }
+        assertTrue(wins > 0, "Differential test should cover winning rounds");
+    }
+
+    static WinCombinationConfig pattern(String pattern, Integer count, String group) {
+        return new WinCombinationConfig(2.0, "linear_symbols", count, group, null, pattern);
+    }
+
+    /**
+     * Builds a config with same_symbols thresholds sharing groups, overlapping groups between
+     * same_symbols and linear_symbols, and rows, columns and diagonals as covered areas.
+     */
+    static Config config(int rows, int columns, int symbolCount, int skew) {
+        Map<String, SymbolConfig> symbols = new HashMap<>();
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (int i = 0; i < symbolCount; i++) {
+            String name = String.valueOf((char) ('A' + i));
+            symbols.put(name, new SymbolConfig("standard", 1.0 + i, null, null));
+            weights.put(name, 1 + i * skew);
+        }
+        symbols.put("5x", new SymbolConfig("bonus", 5.0, null, "multiply_reward"));
+        symbols.put("MISS", new SymbolConfig("bonus", null, null, "miss"));
+        weights.put("5x", 1);
+
+        List<CellProbability> cells = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                cells.add(new CellProbability(col, row, weights));
+            }
+        }
+        Probabilities probabilities = new Probabilities(cells, new BonusProbability(Map.of("5x", 1, "MISS", 3)));
+
+        Map<String, WinCombinationConfig> combinations = new HashMap<>();
+        int cellCount = rows * columns;
+        for (int count = 3; count <= cellCount; count += Math.max(1, cellCount / 8)) {
+            combinations.put("same_" + count, new WinCombinationConfig(count, "same_symbols", count, "same", null));
+        }
+        combinations.put("same_half", new WinCombinationConfig(2.0, "same_symbols", cellCount / 2, "half", null));
+
+        List<List<String>> horizontal = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            List<String> area = new ArrayList<>();
+            for (int col = 0; col < columns; col++) {
+                area.add(row + ":" + col);
+            }
+            horizontal.add(area);
+        }
+        List<List<String>> vertical = new ArrayList<>();
+        for (int col = 0; col < columns; col++) {
+            List<String> area = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                area.add(row + ":" + col);
+            }
+            vertical.add(area);
+        }
+        List<List<String>> pairs = new ArrayList<>();
+        for (int row = 0; row + 1 < rows; row++) {
+            pairs.add(List.of(row + ":0", (row + 1) + ":0"));
+        }
+        combinations.put("horizontal", new WinCombinationConfig(2.0, "linear_symbols", null, "lines", horizontal));
+        combinations.put("vertical", new WinCombinationConfig(3.0, "linear_symbols", null, "lines", vertical));
+        combinations.put("pairs", new WinCombinationConfig(1.5, "linear_symbols", null, "pairs", pairs));
+        combinations.put("half_group", new WinCombinationConfig(1.1, "linear_symbols", null, "half", pairs));
+
+        return new Config(columns, rows, symbols, probabilities, combinations);
+    }
+}
@@ -0,0 +1,78 @@
+package com.scratchgame.engine.combination;
+
+import com.scratchgame.engine.matrix.MatrixGenerator;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.scratchgame.engine.combination.BitboardCombinationMatcherTest.config;
+import static com.scratchgame.engine.combination.BitboardCombinationMatcherTest.pattern;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecializedCombinationMatcherTest {
+
+    private static final int ROUNDS = 20_000;
+
+    private final CombinationMatcher reference = new CombinationMatcherImpl();
+    private final CombinationMatcher specialized = new SpecializedCombinationMatcher();
+
+    @Test
+    void testMatchesReferenceOnGrids() {
+        assertSameAsReference(CompiledGame.compile(config(3, 3, 3, 1)), 1);
+        assertSameAsReference(CompiledGame.compile(config(12, 12, 2, 3)), 2);
+        assertSameAsReference(CompiledGame.compile(config(4, 5, 4, 5)), 3);
+    }
+
+    @Test
+    void testPatternFamiliesMatchReference() {
+        Config base = config(7, 11, 2, 1);
+        Map<String, WinCombinationConfig> combinations = new HashMap<>(base.winCombinations());
+        combinations.put("rows", pattern("rows", null, "lines"));
+        combinations.put("diagonals", pattern("diagonals", null, "diagonals"));
+        combinations.put("three_in_a_row", pattern("in_a_row", 3, "runs"));
+        CompiledGame game = CompiledGame.compile(new Config(11, 7, base.symbols(), base.probabilities(), combinations));
+
+        assertSameAsReference(game, 4);
+    }
+
+    @Test
+    void testSupportsMoreCombinationsThanBitboard() {
+        Map<String, WinCombinationConfig> combinations = new HashMap<>();
+        for (int i = 0; i < 70; i++) {
+            combinations.put("c" + i, new WinCombinationConfig(1.0, "same_symbols", i % 9 + 1, "g" + i % 40, null));
+        }
+        Config base = config(3, 3, 3, 1);
+        CompiledGame game = CompiledGame.compile(new Config(3, 3, base.symbols(), base.probabilities(), combinations));
+
+        assertSameAsReference(game, 5);
+    }
+
+    @Test
+    void testRecomposesForAnotherGame() {
+        CompiledGame small = CompiledGame.compile(config(3, 3, 3, 1));
+        CompiledGame large = CompiledGame.compile(config(5, 4, 2, 1));
+
+        assertSameAsReference(small, 6);
+        assertSameAsReference(large, 7);
+        assertSameAsReference(small, 8);
+    }
+
+    private void assertSameAsReference(CompiledGame game, long seed) {
+        Random random = new Random(seed);
+        MatrixGenerator generator = new MatrixGeneratorImpl(random::nextInt);
+        AppliedCombinations applied = new AppliedCombinations(game);
+        int wins = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            SymbolMatrix matrix = generator.generateMatrix(game);
+            Map<String, List<String>> expected = reference.findWinningCombinations(game, matrix);
+            assertEquals(expected, specialized.findWinningCombinations(game, matrix),
+                    () -> "Mismatch for matrix " + matrix);
+            specialized.findWinningCombinations(game, matrix, applied);
+            assertEquals(expected, applied.toMap());
+            wins += expected.isEmpty() ? 0 : 1;
+        }
+        assertTrue(wins > 0, "Differential test should cover winning rounds");
+    }
+}
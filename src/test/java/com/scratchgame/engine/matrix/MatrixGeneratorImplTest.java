@@ -0,0 +1,145 @@
+package com.scratchgame.engine.matrix;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.model.*;
+import com.scratchgame.util.random.SeededRandomSource;
+import com.scratchgame.util.sampling.ChiSquare;
+import com.scratchgame.util.sampling.SamplingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrixGeneratorImplTest {
+
+    private static final int ROUNDS = 100_000;
+
+    private final CompiledGame game = CompiledGame.compile(config());
+
+    @Test
+    void testAliasSamplingMatchesConfiguredDistribution() {
+        assertCellDistributions(new MatrixGeneratorImpl(new Random(7)::nextInt, SamplingStrategy.ALIAS));
+    }
+
+    @Test
+    void testCumulativeSamplingMatchesConfiguredDistribution() {
+        assertCellDistributions(new MatrixGeneratorImpl(new Random(11)::nextInt, SamplingStrategy.CUMULATIVE));
+    }
+
+    @Test
+    void testRowParallelGenerationMatchesConfiguredDistribution() {
+        CompiledGame large = CompiledGame.compile(largeConfig());
+        MatrixGenerator generator = new RowParallelMatrixGenerator(new MatrixGeneratorImpl());
+        int rounds = 20;
+        long[] observed = new long[large.symbolCount()];
+        for (int round = 0; round < rounds; round++) {
+            SymbolMatrix matrix = generator.generateMatrix(large);
+            for (int cell = 0; cell < large.cellCount(); cell++) {
+                observed[matrix.symbolAt(cell)]++;
+            }
+        }
+
+        // Every round places exactly one bonus symbol
+        double[] expected = new double[large.symbolCount()];
+        addWeights(expected, large.cellTable(0), rounds * (large.cellCount() - 1.0));
+        addWeights(expected, large.bonusTable(), rounds);
+        ChiSquare.assertFits(observed, expected);
+    }
+
+    @Test
+    void testRowParallelGenerationKeepsSeededRoundsSequential() {
+        CompiledGame large = CompiledGame.compile(largeConfig());
+        MatrixGenerator generator = new RowParallelMatrixGenerator(new MatrixGeneratorImpl());
+
+        SymbolMatrix first = generator.generateMatrix(large, new SeededRandomSource(42));
+        SymbolMatrix second = generator.generateMatrix(large, new SeededRandomSource(42));
+
+        assertEquals(first, second);
+        assertEquals(first, new MatrixGeneratorImpl().generateMatrix(large, new SeededRandomSource(42)));
+    }
+
+    private void assertCellDistributions(MatrixGenerator generator) {
+        int cells = game.cellCount();
+        long[][] observed = new long[cells][game.symbolCount()];
+        for (int round = 0; round < ROUNDS; round++) {
+            SymbolMatrix matrix = generator.generateMatrix(game);
+            for (int cell = 0; cell < cells; cell++) {
+                observed[cell][matrix.symbolAt(cell)]++;
+            }
+        }
+
+        for (int cell = 0; cell < cells; cell++) {
+            ChiSquare.assertFits(observed[cell], expected(cell));
+        }
+    }
+
+    // Each cell keeps its standard draw unless the bonus symbol is placed on it, with probability 1 / cells
+    private double[] expected(int cell) {
+        double bonusShare = 1.0 / game.cellCount();
+        double[] expected = new double[game.symbolCount()];
+        addWeights(expected, game.cellTable(cell), ROUNDS * (1.0 - bonusShare));
+        addWeights(expected, game.bonusTable(), ROUNDS * bonusShare);
+        return expected;
+    }
+
+    private static void addWeights(double[] expected, WeightTable table, double rounds) {
+        for (int k = 0; k < table.size(); k++) {
+            expected[table.symbolIds()[k]] += rounds * table.weights()[k] / table.totalWeight();
+        }
+    }
+
+    private static Config largeConfig() {
+        int size = 80;
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("A", 1);
+        weights.put("B", 2);
+        weights.put("C", 7);
+        // Cells without their own entry use the first one
+        List<CellProbability> cells = List.of(new CellProbability(0, 0, weights));
+        return TestGames.withCombinations(TestGames.withCells(TestGames.config(size, size), cells), Map.of());
+    }
+
+    private static Config config() {
+        Map<String, SymbolConfig> symbols = new HashMap<>();
+        for (String name : List.of("A", "B", "C", "D", "E", "F")) {
+            symbols.put(name, new SymbolConfig("standard", 1.0, null, null));
+        }
+        symbols.put("10x", new SymbolConfig("bonus", 10.0, null, "multiply_reward"));
+        symbols.put("+500", new SymbolConfig("bonus", null, 500, "extra_bonus"));
+        symbols.put("MISS", new SymbolConfig("bonus", null, null, "miss"));
+
+        Map<String, Integer> corner = new LinkedHashMap<>();
+        corner.put("A", 1);
+        corner.put("B", 2);
+        corner.put("C", 3);
+        Map<String, Integer> center = new LinkedHashMap<>();
+        center.put("D", 5);
+        center.put("E", 1);
+        center.put("F", 14);
+        center.put("A", 0);
+        Map<String, Integer> rest = new LinkedHashMap<>();
+        rest.put("A", 1);
+        rest.put("B", 2);
+        rest.put("C", 3);
+        rest.put("D", 4);
+        rest.put("E", 5);
+        rest.put("F", 6);
+
+        List<CellProbability> cells = new ArrayList<>();
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                boolean isCorner = (row == 0 || row == 2) && (col == 0 || col == 2);
+                Map<String, Integer> weights = row == 1 && col == 1 ? center : isCorner ? corner : rest;
+                cells.add(new CellProbability(col, row, weights));
+            }
+        }
+
+        Map<String, Integer> bonus = new LinkedHashMap<>();
+        bonus.put("10x", 1);
+        bonus.put("+500", 3);
+        bonus.put("MISS", 6);
+
+        return new Config(3, 3, symbols, new Probabilities(cells, new BonusProbability(bonus)), Map.of());
+    }
+}
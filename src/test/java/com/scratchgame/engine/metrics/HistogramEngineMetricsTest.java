@@ -0,0 +1,59 @@
+package com.scratchgame.engine.metrics;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.GameEngineImpl;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramEngineMetricsTest {
+
+    private final CompiledGame game = CompiledGame.compile(TestGames.config());
+
+    @Test
+    void testEveryRoundAndStageIsRecorded() {
+        HistogramEngineMetrics metrics = new HistogramEngineMetrics(game);
+        GameEngine engine = new GameEngineImpl(game, new MatrixGeneratorImpl(), new BitboardCombinationMatcher(),
+                new RewardCalculatorImpl(), metrics);
+
+        long wins = 0;
+        long[] bonusHits = new long[game.symbolCount()];
+        for (int i = 0; i < 1_000; i++) {
+            GameResult result = engine.playGame(10.0);
+            if (!result.appliedWinningCombinations().isEmpty()) {
+                wins++;
+            }
+            if (result.appliedBonusSymbol() != null) {
+                bonusHits[game.symbolId(result.appliedBonusSymbol())]++;
+            }
+        }
+        long[] batchWins = new long[1];
+        engine.playGames(1_000, 10.0, outcome -> {
+            if (outcome.isWin()) {
+                batchWins[0]++;
+            }
+            if (outcome.bonusSymbol() != CompiledGame.NO_SYMBOL) {
+                bonusHits[outcome.bonusSymbol()]++;
+            }
+        });
+
+        assertEquals(2_000, metrics.rounds());
+        assertEquals(wins + batchWins[0], metrics.winningRounds());
+        assertArrayEquals(bonusHits, metrics.bonusHits());
+        for (Stage stage : Stage.values()) {
+            assertEquals(2_000, metrics.latency(stage).count(), stage.label());
+        }
+        assertTrue(metrics.latency(Stage.ROUND).mean() >= metrics.latency(Stage.MATRIX_GENERATION).mean());
+
+        metrics.reset();
+        assertEquals(0, metrics.rounds());
+        assertEquals(0, metrics.latency(Stage.ROUND).count());
+    }
+}
@@ -0,0 +1,59 @@
+package com.scratchgame.engine.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverValuesWithinRelativePrecision() {
+        for (long value = 0; value < 1_000_000; value = value < 200 ? value + 1 : value * 17 / 16) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(LatencyHistogram.lowestValue(index) <= value && value <= LatencyHistogram.highestValue(index),
+                    "value " + value + " outside bucket " + index);
+            assertTrue(LatencyHistogram.highestValue(index) - LatencyHistogram.lowestValue(index) <= value / 32.0,
+                    "bucket of " + value + " too wide");
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+        assertEquals(0, LatencyHistogram.index(-5));
+    }
+
+    @Test
+    void testPercentilesOfUniformValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.count());
+        assertEquals(50_000, snapshot.percentile(50), 50_000 / 32.0);
+        assertEquals(99_000, snapshot.percentile(99), 99_000 / 32.0);
+        assertEquals(100_000, snapshot.max(), 100_000 / 32.0);
+        assertEquals(50_000, snapshot.mean(), 50_000 / 32.0);
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNoCounts() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i % 1000);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(800_000, histogram.snapshot().count());
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().count());
+    }
+}
@@ -0,0 +1,109 @@
+package com.scratchgame.engine.pool;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.combination.CombinationMatcherImpl;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.*;
+import com.scratchgame.util.random.CurrentThreadRandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketPoolTest {
+
+    private final CompiledGame game = CompiledGame.compile(TestGames.config(1, 2));
+
+    @Test
+    void testTicketRewardsAreScaledByBet() throws Exception {
+        try (TicketPool pool = pool(256, 2)) {
+            pool.start();
+            awaitFull(pool);
+
+            RewardCalculatorImpl calculator = new RewardCalculatorImpl();
+            for (int i = 0; i < 200; i++) {
+                double bet = i % 5 + 1;
+                GameResult result = pool.playGame(bet);
+                double expected = calculator.calculateReward(game, bet, result.appliedWinningCombinations(), result.symbolMatrix());
+                assertEquals(expected, result.reward(), 1e-9);
+            }
+            assertEquals(200, pool.served());
+            assertEquals(0, pool.starvations());
+            assertTrue(pool.generated() >= pool.capacity());
+        }
+    }
+
+    @Test
+    void testEmptyPoolGeneratesInPlace() {
+        try (TicketPool pool = pool(16, 1)) {
+            GameResult result = pool.playGame(10.0);
+
+            assertEquals(2, result.symbolMatrix().cellCount());
+            assertEquals(1, pool.served());
+            assertEquals(1, pool.starvations());
+            assertEquals(0, pool.generated());
+        }
+    }
+
+    @Test
+    void testCloseStopsGeneratorsAndDrainsTickets() throws Exception {
+        TicketPool pool = pool(64, 2);
+        pool.start();
+        awaitFull(pool);
+
+        pool.close();
+        long generated = pool.generated();
+
+        assertEquals(0, pool.available());
+        assertEquals(pool.capacity(), pool.drained());
+        pool.playGame(1.0);
+        assertEquals(0, pool.starvations());
+        Thread.sleep(20);
+        assertEquals(generated, pool.generated());
+    }
+
+    @Test
+    void testConcurrentPlayersNeverShareTicket() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (TicketPool pool = pool(128, 2)) {
+            pool.start();
+            List<Future<List<SymbolMatrix>>> players = new ArrayList<>();
+            for (int p = 0; p < 4; p++) {
+                players.add(executor.submit(() -> {
+                    List<SymbolMatrix> matrices = new ArrayList<>();
+                    for (int i = 0; i < 5_000; i++) {
+                        matrices.add(pool.playGame(1.0).symbolMatrix());
+                    }
+                    return matrices;
+                }));
+            }
+            Set<SymbolMatrix> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<List<SymbolMatrix>> player : players) {
+                for (SymbolMatrix matrix : player.get()) {
+                    assertTrue(seen.add(matrix));
+                }
+            }
+            assertEquals(20_000, pool.served());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private TicketPool pool(int capacity, int generators) {
+        return new TicketPool(game, new MatrixGeneratorImpl(new CurrentThreadRandomSource()),
+                new CombinationMatcherImpl(), capacity, generators);
+    }
+
+    private static void awaitFull(TicketPool pool) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (pool.available() < pool.capacity()) {
+            assertTrue(System.nanoTime() < deadline, "pool did not fill");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.scratchgame.engine.registry;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruEngineRegistryTest {
+
+    private final CompiledGame game = CompiledGame.compile(TestGames.config());
+    private final Map<String, byte[]> configs = new HashMap<>();
+    private final AtomicInteger compilations = new AtomicInteger();
+
+    @Test
+    void testGamesWithSameContentShareEngine() {
+        configs.put("a", bytes("one"));
+        configs.put("b", bytes("one"));
+        configs.put("c", bytes("two"));
+        LruEngineRegistry registry = registry(8);
+
+        GameEngine a = registry.engine("a");
+        assertSame(a, registry.engine("a"));
+        assertSame(a, registry.engine("b"));
+        assertSame(a, registry.engineForContent(bytes("one")));
+        assertNotSame(a, registry.engine("c"));
+        assertNull(registry.engine("missing"));
+
+        assertEquals(2, registry.loads());
+        assertEquals(2, registry.size());
+        assertEquals(2, compilations.get());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEngineIsEvicted() {
+        configs.put("a", bytes("a"));
+        configs.put("b", bytes("b"));
+        configs.put("c", bytes("c"));
+        LruEngineRegistry registry = registry(2);
+
+        GameEngine a = registry.engine("a");
+        GameEngine b = registry.engine("b");
+        registry.engine("a");
+        registry.engine("c");
+
+        assertEquals(2, registry.size());
+        assertEquals(1, registry.evictions());
+        assertSame(a, registry.engine("a"));
+        GameEngine reloaded = registry.engine("b");
+        assertNotSame(b, reloaded);
+        assertEquals(4, registry.loads());
+    }
+
+    @Test
+    void testConcurrentRequestsLoadOnce() throws Exception {
+        configs.put("a", bytes("a"));
+        CountDownLatch release = new CountDownLatch(1);
+        LruEngineRegistry registry = new LruEngineRegistry(4, configs::get, content -> {
+            compilations.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return game;
+        }, LruEngineRegistryTest::engine);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<GameEngine>> engines = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                engines.add(executor.submit(() -> registry.engine("a")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            GameEngine first = engines.get(0).get();
+            for (Future<GameEngine> engine : engines) {
+                assertSame(first, engine.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, compilations.get());
+        assertEquals(1, registry.loads());
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        configs.put("a", bytes("a"));
+        AtomicInteger attempts = new AtomicInteger();
+        LruEngineRegistry registry = new LruEngineRegistry(4, configs::get, content -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new IllegalArgumentException("Invalid config");
+            }
+            return game;
+        }, LruEngineRegistryTest::engine);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.engine("a"));
+        assertEquals(0, registry.size());
+        assertNotNull(registry.engine("a"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testLoadFailingWithAnErrorIsNotCached() {
+        configs.put("a", bytes("a"));
+        AtomicInteger attempts = new AtomicInteger();
+        LruEngineRegistry registry = new LruEngineRegistry(4, configs::get, content -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new StackOverflowError();
+            }
+            return game;
+        }, LruEngineRegistryTest::engine);
+
+        assertThrows(StackOverflowError.class, () -> registry.engine("a"));
+        assertEquals(0, registry.size());
+        assertNotNull(registry.engine("a"));
+        assertEquals(1, registry.size());
+    }
+
+    private LruEngineRegistry registry(int capacity) {
+        return new LruEngineRegistry(capacity, configs::get, content -> {
+            compilations.incrementAndGet();
+            return game;
+        }, LruEngineRegistryTest::engine);
+    }
+
+    private static GameEngine engine(CompiledGame game) {
+        // Not a lambda, so that every load creates a distinct engine
+        return new GameEngine() {
+            @Override
+            public GameResult playGame(double bettingAmount) {
+                return fail("Engine must not be played");
+            }
+        };
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,89 @@
+package com.scratchgame.engine.reward;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.combination.AppliedCombinations;
+import com.scratchgame.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayoutTableTest {
+
+    private final CompiledGame game = CompiledGame.compile(TestGames.config());
+
+    @Test
+    void testFactorsMatchCombinationMultipliers() {
+        PayoutTable table = new PayoutTable(game);
+        int a = game.symbolId("A");
+        int b = game.symbolId("B");
+        long three = 1L << game.combination("same_symbol_3_times").id();
+        long row = 1L << game.combination("same_symbols_horizontally").id();
+
+        assertEquals(5.0, table.factor(a, three));
+        assertEquals(10.0, table.factor(a, three | row));
+        assertEquals(4.0, table.factor(b, three | row));
+        assertEquals(10.0, table.factor(a, three | row));
+    }
+
+    @Test
+    void testBonusEffects() {
+        PayoutTable table = new PayoutTable(game);
+
+        assertEquals(10.0, table.bonusMultiplier(game.symbolId("10x")));
+        assertEquals(0.0, table.bonusExtra(game.symbolId("10x")));
+        assertEquals(1.0, table.bonusMultiplier(game.symbolId("+500")));
+        assertEquals(500.0, table.bonusExtra(game.symbolId("+500")));
+        assertEquals(1.0, table.bonusMultiplier(game.symbolId("MISS")));
+        assertEquals(0.0, table.bonusExtra(game.symbolId("MISS")));
+        assertEquals(1.0, table.bonusMultiplier(CompiledGame.NO_SYMBOL));
+        assertEquals(0.0, table.bonusExtra(CompiledGame.NO_SYMBOL));
+    }
+
+    @Test
+    void testConcurrentLookupsAgree() throws Exception {
+        PayoutTable table = new PayoutTable(game);
+        int combinations = game.combinations().length;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<double[]>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    double[] factors = new double[game.symbolCount() << combinations];
+                    for (int symbol = 0; symbol < game.symbolCount(); symbol++) {
+                        for (long mask = 1; mask < 1L << combinations; mask++) {
+                            factors[(int) (symbol << combinations | mask)] = table.factor(symbol, mask);
+                        }
+                    }
+                    return factors;
+                }));
+            }
+            double[] expected = results.get(0).get();
+            for (Future<double[]> result : results) {
+                assertArrayEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testCalculatorPaysFactorsTimesBetThenBonus() {
+        RewardCalculator calculator = new RewardCalculatorImpl();
+        SymbolMatrix matrix = SymbolMatrix.of(game, new String[][]{{"A", "A", "A"}, {"B", "+500", "B"}, {"B", "C", "10x"}});
+        AppliedCombinations applied = new AppliedCombinations(game);
+        applied.apply(game.symbolId("A"), game.combination("same_symbol_3_times"));
+        applied.apply(game.symbolId("A"), game.combination("same_symbols_horizontally"));
+        applied.apply(game.symbolId("B"), game.combination("same_symbol_3_times"));
+
+        // (100 * 5 * 1 * 2 + 100 * 2 * 1) + 500
+        assertEquals(1700.0, calculator.calculateReward(game, 100.0, applied, matrix));
+        assertEquals(1700.0, calculator.calculateReward(game, 100.0, applied.toMap(), matrix));
+        assertEquals(12000.0, calculator.calculateReward(game, 100.0, applied, matrix, game.symbolId("10x")));
+        assertEquals(0.0, calculator.calculateReward(game, 100.0, new AppliedCombinations(game), matrix));
+    }
+}
@@ -0,0 +1,74 @@
+package com.scratchgame.infrastructure.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.TestGames;
+import com.scratchgame.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingGameResultWriterTest {
+
+    private final CompiledGame game = CompiledGame.compile(TestGames.config(2, 2));
+    private final List<GameResult> results = List.of(
+            new GameResult(SymbolMatrix.of(game, new String[][]{{"A", "B"}, {"B", "MISS"}}), 0.0, Map.of(), null),
+            new GameResult(SymbolMatrix.of(game, new String[][]{{"A", "A"}, {"A", "10x"}}), 250.0,
+                    Map.of("A", List.of("same_symbol_3_times")), "10x"),
+            new GameResult(SymbolMatrix.of(game, new String[][]{{"B", "B"}, {"B", "B"}}), 12.5,
+                    new LinkedHashMap<>(Map.of("B", List.of("same_symbol_4_times"))), null));
+
+    @Test
+    void testPrettyOutputMatchesJsonGameResultPrinter() throws Exception {
+        JsonGameResultPrinter printer = new JsonGameResultPrinter();
+        StringBuilder expected = new StringBuilder();
+        for (GameResult result : results) {
+            expected.append(printer.toJson(result)).append(System.lineSeparator());
+        }
+
+        assertEquals(expected.toString(), write(OutputFormat.PRETTY));
+    }
+
+    @Test
+    void testNdjsonWritesOneCompactResultPerLine() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonGameResultPrinter printer = new JsonGameResultPrinter();
+        String[] lines = write(OutputFormat.NDJSON).split("\n", -1);
+
+        assertEquals(results.size() + 1, lines.length);
+        assertEquals("", lines[results.size()]);
+        for (int i = 0; i < results.size(); i++) {
+            assertFalse(lines[i].contains(" "));
+            assertEquals(mapper.readTree(printer.toJson(results.get(i))), mapper.readTree(lines[i]));
+        }
+    }
+
+    @Test
+    void testOutputIsFlushedInBatches() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingGameResultWriter writer = new StreamingGameResultWriter(out, OutputFormat.NDJSON, 2);
+
+        writer.write(results.get(0));
+        assertEquals(0, out.size());
+        writer.write(results.get(1));
+        int flushed = out.size();
+        assertTrue(flushed > 0);
+        writer.write(results.get(2));
+        assertEquals(flushed, out.size());
+        writer.close();
+        assertEquals(3, out.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    private String write(OutputFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingGameResultWriter writer = new StreamingGameResultWriter(out, format)) {
+            for (GameResult result : results) {
+                writer.write(result);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,193 @@
+package com.scratchgame.infrastructure.journal;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.GameJournal;
+import com.scratchgame.engine.JournaledGameEngine;
+import com.scratchgame.engine.combination.CombinationMatcherImpl;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.*;
+import com.scratchgame.util.random.CurrentThreadRandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedGameJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    private final CompiledGame game = CompiledGame.compile(TestGames.config(3, 3, 5.0));
+
+    @Test
+    void testJournaledRoundsReplayAcrossSegments() throws Exception {
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            List<GameResult> results = new ArrayList<>();
+            try (MappedGameJournal journal = new MappedGameJournal(dir, game, SEGMENT_SIZE)) {
+                GameEngine engine = engine(journal);
+                for (int i = 0; i < 500; i++) {
+                    results.add(engine.playGame(i % 7 + 1));
+                }
+                engine.playGames(500, 3.0, outcome -> { });
+                assertEquals(1000, journal.nextRoundId());
+            }
+
+            ReplayReport report = new JournalReplayer(game, 2).replay(dir);
+
+            assertTrue(report.segments() > 1);
+            assertEquals(1000, report.rounds());
+            assertEquals(0, report.mismatches());
+            assertTrue(report.verified());
+            JournalSegment first = JournalSegment.open(JournalSegment.list(dir).getFirst(), false);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, first.roundId(i));
+                assertEquals(results.get(i).reward(), first.reward(i));
+                assertEquals(i % 7 + 1, first.bettingAmount(i));
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void testTornTailIsDiscardedOnReopen() throws Exception {
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            try (MappedGameJournal journal = new MappedGameJournal(dir, game, SEGMENT_SIZE)) {
+                engine(journal).playGames(100, 1.0, outcome -> { });
+            }
+            // Simulate a crash halfway through the last record
+            Path last = JournalSegment.list(dir).getLast();
+            JournalSegment segment = JournalSegment.open(last, false);
+            int lastIndex = segment.validRecords(new java.util.zip.CRC32C()) - 1;
+            try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+                long offset = JournalSegment.HEADER_SIZE + (long) lastIndex * JournalSegment.recordSize(game.cellCount()) + 20;
+                file.seek(offset);
+                file.writeByte(file.readByte() ^ 0x40);
+            }
+
+            try (MappedGameJournal journal = new MappedGameJournal(dir, game, SEGMENT_SIZE)) {
+                assertEquals(99, journal.nextRoundId());
+                engine(journal).playGames(50, 1.0, outcome -> { });
+            }
+
+            ReplayReport report = new JournalReplayer(game, 2).replay(dir);
+            assertEquals(149, report.rounds());
+            assertTrue(report.verified());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void testUnusedPreparedSegmentIsDroppedOnReopen() throws Exception {
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            try (MappedGameJournal journal = new MappedGameJournal(dir, game, SEGMENT_SIZE)) {
+                engine(journal).playGames(10, 1.0, outcome -> { });
+            }
+            // A crash after the next segment was prepared leaves it empty behind the current one
+            JournalSegment current = JournalSegment.open(JournalSegment.list(dir).getLast(), false);
+            JournalSegment.create(dir, game, SEGMENT_SIZE, current.firstRoundId() + current.capacity());
+
+            try (MappedGameJournal journal = new MappedGameJournal(dir, game, SEGMENT_SIZE)) {
+                assertEquals(10, journal.nextRoundId());
+                engine(journal).playGames(5, 1.0, outcome -> { });
+            }
+
+            ReplayReport report = new JournalReplayer(game, 2).replay(dir);
+            assertEquals(15, report.rounds());
+            assertTrue(report.verified());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void testJournalOfACrashWithAPreparedSegmentVerifies() throws Exception {
+        Path dir = Files.createTempDirectory("journal");
+        // Room for 133 rounds, so the second segment is past half full and the third is prepared
+        int segmentSize = JournalSegment.HEADER_SIZE + 64 * 100;
+        MappedGameJournal journal = new MappedGameJournal(dir, game, segmentSize);
+        try {
+            engine(journal).playGames(233, 1.0, outcome -> { });
+            journal.flush();
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (JournalSegment.list(dir).size() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(3, JournalSegment.list(dir).size());
+
+            // Replayed as after a crash, without closing the journal
+            ReplayReport report = new JournalReplayer(game, 2).replay(dir);
+
+            assertEquals(233, report.rounds());
+            assertEquals(List.of(), report.damagedSegments());
+            assertTrue(report.verified());
+        } finally {
+            journal.close();
+            delete(dir);
+        }
+    }
+
+    @Test
+    void testReplayDetectsRoundsThatDoNotMatch() throws Exception {
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            try (MappedGameJournal journal = new MappedGameJournal(dir, game, SEGMENT_SIZE)) {
+                engine(journal).playGames(300, 1.0, outcome -> { });
+            }
+
+            // Same shape, different payouts
+            CompiledGame other = CompiledGame.compile(TestGames.config(3, 3, 7.0));
+            ReplayReport report = new JournalReplayer(other, 2).replay(dir);
+
+            assertEquals(300, report.rounds());
+            assertTrue(report.mismatches() > 0);
+            assertFalse(report.verified());
+            assertFalse(report.mismatchedRounds().isEmpty());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void testJournalOfAnotherGameShapeIsRejected() throws Exception {
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            try (MappedGameJournal journal = new MappedGameJournal(dir, game, SEGMENT_SIZE)) {
+                engine(journal).playGame(1.0);
+            }
+            Config config = TestGames.config(3, 3, 5.0);
+            CompiledGame wider = CompiledGame.compile(new Config(4, config.rows(), config.symbols(),
+                    config.probabilities(), config.winCombinations()));
+
+            assertThrows(IllegalArgumentException.class, () -> new MappedGameJournal(dir, wider, SEGMENT_SIZE));
+            assertThrows(IllegalArgumentException.class, () -> new JournalReplayer(wider, 1).replay(dir));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private GameEngine engine(GameJournal journal) {
+        return new JournaledGameEngine(game, new MatrixGeneratorImpl(new CurrentThreadRandomSource()),
+                new CombinationMatcherImpl(), new RewardCalculatorImpl(), journal);
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
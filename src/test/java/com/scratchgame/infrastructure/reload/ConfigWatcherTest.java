@@ -0,0 +1,194 @@
+package com.scratchgame.infrastructure.reload;
+
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.GameEngineImpl;
+import com.scratchgame.engine.ReloadableGameEngine;
+import com.scratchgame.engine.combination.CombinationMatcherImpl;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.infrastructure.io.JsonConfigReader;
+import com.scratchgame.model.CompiledGame;
+import com.scratchgame.util.random.CurrentThreadRandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigWatcherTest {
+
+    private final JsonConfigReader reader = new JsonConfigReader();
+
+    @Test
+    void testReloadPublishesNewGame() throws Exception {
+        Path dir = Files.createTempDirectory("config");
+        Path file = write(dir, config("A"));
+        ReloadableGameEngine engine = new ReloadableGameEngine(engine(load(file)));
+        try (ConfigWatcher watcher = watcher(file, engine)) {
+            GameEngine old = engine.current();
+            write(dir, config("B"));
+
+            assertTrue(watcher.reload());
+
+            assertNotSame(old, engine.current());
+            assertEquals("B", standardSymbol(engine));
+            assertEquals(1, watcher.statistics().reloads());
+            assertEquals(1, watcher.statistics().latency().count());
+            assertNotNull(watcher.statistics().lastReload());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void testInvalidConfigKeepsCurrentEngine() throws Exception {
+        Path dir = Files.createTempDirectory("config");
+        Path file = write(dir, config("A"));
+        ReloadableGameEngine engine = new ReloadableGameEngine(engine(load(file)));
+        try (ConfigWatcher watcher = watcher(file, engine)) {
+            GameEngine old = engine.current();
+
+            write(dir, "{\"columns\": 2, \"rows\": ");
+            assertFalse(watcher.reload());
+            write(dir, config("A").replace("\"MISS\": 1", "\"MISS\": -1"));
+            assertFalse(watcher.reload());
+
+            assertSame(old, engine.current());
+            assertEquals(0, watcher.statistics().reloads());
+            assertEquals(2, watcher.statistics().failures());
+            assertNotNull(watcher.statistics().lastError());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void testChangedFileIsReloadedWhilePlaying() throws Exception {
+        Path dir = Files.createTempDirectory("config");
+        Path file = write(dir, config("A"));
+        ReloadableGameEngine engine = new ReloadableGameEngine(engine(load(file)));
+        AtomicBoolean playing = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> players = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            players.add(Thread.ofPlatform().start(() -> {
+                try {
+                    while (playing.get()) {
+                        String symbol = engine.playGame(1.0).matrix()[0][0];
+                        assertTrue(symbol.equals("A") || symbol.equals("B") || symbol.equals("MISS"));
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            }));
+        }
+
+        try (ConfigWatcher watcher = watcher(file, engine)) {
+            watcher.start();
+            write(dir, config("B"));
+
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (watcher.statistics().reloads() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(1, watcher.statistics().reloads());
+            assertEquals("B", standardSymbol(engine));
+        } finally {
+            playing.set(false);
+            for (Thread player : players) {
+                player.join();
+            }
+            delete(dir);
+        }
+        assertNull(failure.get());
+    }
+
+    @Test
+    void testListenerIsToldEveryOutcome() throws Exception {
+        Path dir = Files.createTempDirectory("config");
+        Path file = write(dir, config("A"));
+        ReloadableGameEngine engine = new ReloadableGameEngine(engine(load(file)));
+        BlockingQueue<String> outcomes = new LinkedBlockingQueue<>();
+        ReloadListener listener = new ReloadListener() {
+            @Override
+            public void reloaded(Path reloaded) {
+                outcomes.add("reloaded " + reloaded.getFileName());
+            }
+
+            @Override
+            public void failed(Path reloaded, String error) {
+                outcomes.add("failed " + reloaded.getFileName());
+            }
+        };
+        try (ConfigWatcher watcher = new ConfigWatcher(file, this::load, ConfigWatcherTest::engine, engine, listener)) {
+            watcher.start();
+
+            write(dir, "{\"columns\": 2, \"rows\": ");
+            assertEquals("failed config.json", outcomes.poll(10, TimeUnit.SECONDS));
+            write(dir, config("B"));
+            assertEquals("reloaded config.json", outcomes.poll(10, TimeUnit.SECONDS));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private ConfigWatcher watcher(Path file, ReloadableGameEngine engine) throws Exception {
+        return new ConfigWatcher(file, this::load, ConfigWatcherTest::engine, engine);
+    }
+
+    private CompiledGame load(Path file) throws java.io.IOException {
+        return CompiledGame.compile(reader.read(file));
+    }
+
+    private static GameEngine engine(CompiledGame game) {
+        return new GameEngineImpl(game, new MatrixGeneratorImpl(new CurrentThreadRandomSource()),
+                new CombinationMatcherImpl(), new RewardCalculatorImpl());
+    }
+
+    private static String standardSymbol(ReloadableGameEngine engine) {
+        String[] row = engine.playGame(1.0).matrix()[0];
+        return row[0].equals("MISS") ? row[1] : row[0];
+    }
+
+    /**
+     * A 1x2 game whose only standard symbol is {@code symbol}, so every round shows which game played it.
+     */
+    private static String config(String symbol) {
+        return """
+                {
+                  "columns": 2, "rows": 1,
+                  "symbols": {
+                    "%1$s": {"reward_multiplier": 1, "type": "standard"},
+                    "MISS": {"type": "bonus", "impact": "miss"}
+                  },
+                  "probabilities": {
+                    "standard_symbols": [
+                      {"column": 0, "row": 0, "symbols": {"%1$s": 1}},
+                      {"column": 1, "row": 0, "symbols": {"%1$s": 1}}
+                    ],
+                    "bonus_symbols": {"symbols": {"MISS": 1}}
+                  },
+                  "win_combinations": {
+                    "same_symbol_2_times": {"reward_multiplier": 1, "when": "same_symbols", "count": 2, "group": "same_symbols"}
+                  }
+                }
+                """.formatted(symbol);
+    }
+
+    private static Path write(Path dir, String content) throws Exception {
+        return Files.writeString(dir.resolve("config.json"), content);
+    }
+
+    private static void delete(Path dir) throws Exception {
+        Files.deleteIfExists(dir.resolve("config.json"));
+        Files.deleteIfExists(dir);
+    }
+}
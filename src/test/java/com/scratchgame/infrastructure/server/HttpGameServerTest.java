@@ -0,0 +1,125 @@
+package com.scratchgame.infrastructure.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.GameEngineImpl;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.registry.LruEngineRegistry;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.infrastructure.io.JsonGameResultPrinter;
+import com.scratchgame.model.*;
+import com.scratchgame.util.random.CurrentThreadRandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpGameServerTest {
+
+    private final CompiledGame game = CompiledGame.compile(TestGames.config(2, 2));
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void testPlayReturnsSameJsonAsPrinter() throws Exception {
+        GameResult result = new GameResult(SymbolMatrix.of(game, new String[][]{{"A", "A"}, {"A", "10x"}}), 250.0,
+                Map.of("A", List.of("same_symbol_3_times")), "10x");
+        GameServer server = start(bettingAmount -> result);
+        try {
+            HttpResponse<String> response = post(server, "{\"betting_amount\": 10}");
+
+            assertEquals(200, response.statusCode());
+            assertEquals(new JsonGameResultPrinter().toJson(result), response.body());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testConcurrentPlaysAreServed() throws Exception {
+        GameServer server = start(new GameEngineImpl(game, new MatrixGeneratorImpl(new CurrentThreadRandomSource()),
+                new BitboardCombinationMatcher(), new RewardCalculatorImpl()));
+        try {
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                responses.add(client.sendAsync(request(server, "{\"betting_amount\": 1}"), HttpResponse.BodyHandlers.ofString()));
+            }
+            ObjectMapper mapper = new ObjectMapper();
+            for (CompletableFuture<HttpResponse<String>> future : responses) {
+                HttpResponse<String> response = future.join();
+                assertEquals(200, response.statusCode());
+                JsonNode body = mapper.readTree(response.body());
+                assertEquals(2, body.get("matrix").size());
+                assertTrue(body.get("reward").asDouble() >= 0.0);
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testInvalidRequestsAreRejected() throws Exception {
+        GameServer server = start(bettingAmount -> fail("Engine must not be called"));
+        try {
+            assertEquals(400, post(server, "not json").statusCode());
+            assertEquals(400, post(server, "{}").statusCode());
+            HttpResponse<String> get = client.send(HttpRequest.newBuilder(uri(server)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, get.statusCode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testGameVariantsAreServedById() throws Exception {
+        GameResult result = new GameResult(SymbolMatrix.of(game, new String[][]{{"B", "B"}, {"B", "MISS"}}), 20.0,
+                Map.of("B", List.of("same_symbol_3_times")), "MISS");
+        Map<String, byte[]> configs = Map.of("variant", new byte[]{1});
+        LruEngineRegistry registry = new LruEngineRegistry(4, configs::get, content -> game, g -> bettingAmount -> result);
+        GameServer server = new HttpGameServer(null, registry, 0);
+        server.start();
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(server, "/play/variant"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"betting_amount\": 10}")).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertEquals(new JsonGameResultPrinter().toJson(result), response.body());
+
+            assertEquals(404, client.send(HttpRequest.newBuilder(uri(server, "/play/unknown"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"betting_amount\": 10}")).build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+            assertEquals(404, post(server, "{\"betting_amount\": 10}").statusCode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static GameServer start(GameEngine engine) {
+        GameServer server = new HttpGameServer(engine, 0);
+        server.start();
+        return server;
+    }
+
+    private HttpResponse<String> post(GameServer server, String body) throws Exception {
+        return client.send(request(server, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest request(GameServer server, String body) {
+        return HttpRequest.newBuilder(uri(server)).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static URI uri(GameServer server) {
+        return uri(server, "/play");
+    }
+
+    private static URI uri(GameServer server, String path) {
+        return URI.create("http://localhost:" + server.port() + path);
+    }
+}
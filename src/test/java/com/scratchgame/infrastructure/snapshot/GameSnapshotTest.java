@@ -0,0 +1,124 @@
+package com.scratchgame.infrastructure.snapshot;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.GameEngineImpl;
+import com.scratchgame.engine.combination.CombinationMatcherImpl;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.*;
+import com.scratchgame.util.random.RandomAlgorithm;
+import com.scratchgame.util.random.RandomGeneratorSource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSnapshotTest {
+
+    private final CompiledGame game = CompiledGame.compile(config());
+
+    @Test
+    void testSnapshotRestoresTheGame() throws Exception {
+        CompiledGame loaded = roundTrip(game);
+
+        assertEquals(game.rows(), loaded.rows());
+        assertEquals(game.columns(), loaded.columns());
+        assertEquals(game.groupCount(), loaded.groupCount());
+        for (int id = 0; id < game.symbolCount(); id++) {
+            assertEquals(game.symbolName(id), loaded.symbolName(id));
+            assertEquals(game.isStandard(id), loaded.isStandard(id));
+            assertEquals(game.isBonus(id), loaded.isBonus(id));
+            assertEquals(game.impact(id), loaded.impact(id));
+            assertEquals(game.rewardMultiplier(id), loaded.rewardMultiplier(id));
+            assertEquals(game.extra(id), loaded.extra(id));
+        }
+        for (int cell = 0; cell < game.cellCount(); cell++) {
+            assertArrayEquals(game.cellTable(cell).symbolIds(), loaded.cellTable(cell).symbolIds());
+            assertArrayEquals(game.cellTable(cell).cumulativeWeights(), loaded.cellTable(cell).cumulativeWeights());
+        }
+        assertSame(loaded.cellTable(0), loaded.cellTable(1));
+        assertNotSame(loaded.cellTable(0), loaded.cellTable(4));
+        for (CompiledWinCombination combination : game.combinations()) {
+            CompiledWinCombination restored = loaded.combinations()[combination.id()];
+            assertEquals(combination.name(), restored.name());
+            assertEquals(combination.when(), restored.when());
+            assertEquals(combination.count(), restored.count());
+            assertEquals(combination.group(), restored.group());
+            assertEquals(combination.rewardMultiplier(), restored.rewardMultiplier());
+            assertEquals(combination.pattern(), restored.pattern());
+            assertEquals(Arrays.deepToString(combination.coveredAreas()), Arrays.deepToString(restored.coveredAreas()));
+        }
+    }
+
+    @Test
+    void testLoadedGamePlaysIdenticalRounds() throws Exception {
+        CompiledGame loaded = roundTrip(game);
+        GameEngine original = engine(game);
+        GameEngine restored = engine(loaded);
+
+        for (int i = 0; i < 1_000; i++) {
+            GameResult expected = original.playGame(10.0);
+            GameResult actual = restored.playGame(10.0);
+            assertArrayEquals(expected.matrix(), actual.matrix());
+            assertEquals(expected.reward(), actual.reward());
+            assertEquals(expected.appliedWinningCombinations(), actual.appliedWinningCombinations());
+            assertEquals(expected.appliedBonusSymbol(), actual.appliedBonusSymbol());
+        }
+    }
+
+    @Test
+    void testCorruptSnapshotsAreRejected() throws Exception {
+        byte[] bytes = write(game);
+
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length / 2] ^= 1;
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.read(ByteBuffer.wrap(flipped)));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 9);
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.read(ByteBuffer.wrap(truncated)));
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0] = 'X';
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.read(ByteBuffer.wrap(wrongMagic)));
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.read(ByteBuffer.wrap(new byte[3])));
+    }
+
+    private static CompiledGame roundTrip(CompiledGame game) throws Exception {
+        Path path = Files.createTempFile("game", ".bin");
+        try {
+            GameSnapshot.write(game, path);
+            return GameSnapshot.read(path);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static byte[] write(CompiledGame game) throws Exception {
+        Path path = Files.createTempFile("game", ".bin");
+        try {
+            GameSnapshot.write(game, path);
+            return Files.readAllBytes(path);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static GameEngine engine(CompiledGame game) {
+        return new GameEngineImpl(game, new MatrixGeneratorImpl(RandomGeneratorSource.of(RandomAlgorithm.SPLITTABLE, 5L)),
+                new CombinationMatcherImpl(), new RewardCalculatorImpl());
+    }
+
+    private static Config config() {
+        Config config = TestGames.config();
+        List<CellProbability> cells = new ArrayList<>(config.probabilities().standardSymbols());
+        cells.set(4, new CellProbability(1, 1, Map.of("A", 3, "B", 1, "C", 1)));
+
+        Map<String, WinCombinationConfig> combinations = new HashMap<>(config.winCombinations());
+        combinations.put("two_in_a_row", new WinCombinationConfig(1.5, "linear_symbols", 2, "runs", null, "in_a_row"));
+
+        return TestGames.withCombinations(TestGames.withCells(config, cells), combinations);
+    }
+}
@@ -0,0 +1,73 @@
+package com.scratchgame.infrastructure.snapshot;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.*;
+import com.scratchgame.simulation.ForkJoinSimulationEngine;
+import com.scratchgame.simulation.SimulationShard;
+import com.scratchgame.util.random.RandomAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsSnapshotTest {
+
+    private static final long ROUNDS = 200_000;
+
+    private final CompiledGame game = CompiledGame.compile(TestGames.config(3, 3, 5.0));
+
+    @Test
+    void testShardsReadFromFilesMergeIntoSingleRunReport() throws Exception {
+        List<SimulationShard> shards = new ArrayList<>();
+        for (int shard = 0; shard < 3; shard++) {
+            Path path = Files.createTempFile("shard", ".bin");
+            try {
+                StatisticsSnapshot.write(shard(shard, 3), path);
+                shards.add(StatisticsSnapshot.read(path, game));
+            } finally {
+                Files.delete(path);
+            }
+        }
+
+        assertEquals(engine().simulate(ROUNDS, 10.0, 42L), SimulationShard.merge(shards));
+        assertEquals(2, shards.get(2).shard());
+        assertEquals(RandomAlgorithm.SPLITTABLE, shards.get(2).randomAlgorithm());
+    }
+
+    @Test
+    void testSnapshotOfAnotherGameIsRejected() throws Exception {
+        byte[] bytes = StatisticsSnapshot.encode(shard(0, 1));
+        CompiledGame other = CompiledGame.compile(TestGames.config(3, 3, 6.0));
+
+        assertThrows(IllegalArgumentException.class, () -> StatisticsSnapshot.read(ByteBuffer.wrap(bytes), other));
+        assertEquals(ROUNDS, StatisticsSnapshot.read(ByteBuffer.wrap(bytes), CompiledGame.compile(TestGames.config(3, 3, 5.0)))
+                .statistics().rounds());
+    }
+
+    @Test
+    void testCorruptSnapshotsAreRejected() throws Exception {
+        byte[] bytes = StatisticsSnapshot.encode(shard(1, 2));
+
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length / 2] ^= 1;
+        assertThrows(IllegalArgumentException.class, () -> StatisticsSnapshot.read(ByteBuffer.wrap(flipped), game));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 9);
+        assertThrows(IllegalArgumentException.class, () -> StatisticsSnapshot.read(ByteBuffer.wrap(truncated), game));
+        assertThrows(IllegalArgumentException.class, () -> StatisticsSnapshot.read(ByteBuffer.wrap(new byte[3]), game));
+    }
+
+    private SimulationShard shard(int shard, int shardCount) {
+        return new SimulationShard(ROUNDS, 42L, 10.0, RandomAlgorithm.SPLITTABLE, shard, shardCount,
+                engine().runShard(ROUNDS, 10.0, 42L, shard, shardCount));
+    }
+
+    private ForkJoinSimulationEngine engine() {
+        return new ForkJoinSimulationEngine(game, new BitboardCombinationMatcher(), new RewardCalculatorImpl(), 1);
+    }
+}
@@ -0,0 +1,131 @@
+package com.scratchgame.infrastructure.store;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.GameEngine;
+import com.scratchgame.engine.GameEngineImpl;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.*;
+import com.scratchgame.simulation.PayoutHistogram;
+import com.scratchgame.util.random.RandomAlgorithm;
+import com.scratchgame.util.random.RandomGeneratorSource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarResultStoreTest {
+
+    // 64 rounds per block, so a few thousand rounds span many mappings
+    private static final int BLOCK_SHIFT = 6;
+
+    private final CompiledGame game = CompiledGame.compile(TestGames.config(3, 3, 5.0));
+
+    @Test
+    void testStoredRoundsMatchPlayedRounds() throws Exception {
+        Path dir = Files.createTempDirectory("store");
+        try (ColumnarResultStore store = ColumnarResultStore.create(dir, game, BLOCK_SHIFT)) {
+            List<GameResult> results = new ArrayList<>();
+            GameEngine engine = engine();
+            engine.playGames(3_000, 2.0, outcome -> {
+                results.add(outcome.toGameResult());
+                store.append(outcome, 2.0);
+            });
+            GameResult single = engine.playGame(7.0);
+            results.add(single);
+            store.append(single, 7.0);
+
+            assertEquals(results.size(), store.size());
+            for (int round = 0; round < results.size(); round++) {
+                GameResult expected = results.get(round);
+                assertEquals(expected.symbolMatrix(), store.matrix(round));
+                assertEquals(expected.reward(), store.reward(round));
+                assertEquals(round < 3_000 ? 2.0 : 7.0, store.bet(round));
+                assertEquals(expected.appliedBonusSymbol() != null
+                        ? game.symbolId(expected.appliedBonusSymbol())
+                        : CompiledGame.NO_SYMBOL, store.bonusSymbol(round));
+                long mask = 0;
+                for (List<String> names : expected.appliedWinningCombinations().values()) {
+                    for (String name : names) {
+                        mask |= 1L << game.combination(name).id();
+                    }
+                }
+                assertEquals(mask, store.combinations(round));
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void testScansMatchRoundByRoundFiltering() throws Exception {
+        Path dir = Files.createTempDirectory("store");
+        try (ColumnarResultStore store = ColumnarResultStore.create(dir, game, BLOCK_SHIFT)) {
+            engine().playGames(200_000, 1.0, store.sink(1.0));
+            int multiply = game.symbolId("10x");
+            RoundFilter filter = RoundFilter.bonus(multiply).and(RoundFilter.paysMoreThan(20));
+
+            long[] expected = LongStream.range(0, store.size()).filter(round -> filter.test(store, round)).toArray();
+
+            assertTrue(expected.length > 0);
+            assertEquals(expected.length, store.count(filter));
+            assertArrayEquals(expected, store.find(filter, Integer.MAX_VALUE));
+            assertArrayEquals(Arrays.copyOf(expected, 5), store.find(filter, 5));
+            PayoutHistogram rewards = store.rewards(filter);
+            for (long round : expected) {
+                assertTrue(rewards.count(store.reward(round)) > 0);
+                assertTrue(store.reward(round) > 20.0);
+            }
+            assertEquals(store.size(), store.count(RoundFilter.all()));
+            assertEquals(store.count(RoundFilter.wins()), store.size() - store.rewards(RoundFilter.all()).count(0.0));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void testStoreReopensWithoutRereadingRounds() throws Exception {
+        Path dir = Files.createTempDirectory("store");
+        try {
+            try (ColumnarResultStore store = ColumnarResultStore.create(dir, game, BLOCK_SHIFT)) {
+                engine().playGames(1_000, 3.0, store.sink(3.0));
+            }
+            assertThrows(IllegalArgumentException.class, () -> ColumnarResultStore.create(dir, game));
+            assertThrows(IllegalArgumentException.class, () -> ColumnarResultStore.open(dir, CompiledGame.compile(TestGames.config(3, 3, 6.0))));
+
+            try (ColumnarResultStore store = ColumnarResultStore.open(dir, CompiledGame.compile(TestGames.config(3, 3, 5.0)))) {
+                assertEquals(1_000, store.size());
+                long wins = store.count(RoundFilter.wins());
+                engine().playGames(1_000, 3.0, store.sink(3.0));
+                assertEquals(2_000, store.size());
+                assertTrue(store.count(RoundFilter.wins()) > wins);
+            }
+            try (ColumnarResultStore store = ColumnarResultStore.open(dir, game)) {
+                assertEquals(2_000, store.size());
+                assertEquals(3.0, store.bet(1_999));
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private GameEngine engine() {
+        return new GameEngineImpl(game, new MatrixGeneratorImpl(RandomGeneratorSource.of(RandomAlgorithm.SPLITTABLE, 11L)),
+                new BitboardCombinationMatcher(), new RewardCalculatorImpl());
+    }
+
+    private static void delete(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,123 @@
+package com.scratchgame.infrastructure.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.RoundOutcome;
+import com.scratchgame.engine.SeededGameEngine;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.matrix.MatrixGeneratorImpl;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.infrastructure.io.StreamingGameResultWriter;
+import com.scratchgame.model.*;
+import com.scratchgame.util.random.SeededRandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonPlayPipelineTest {
+
+    private final SeededGameEngine engine = engine(5.0);
+    private final SeededGameEngine variant = engine(50.0);
+
+    @Test
+    void testResultsFollowRequestOrder() throws Exception {
+        StringBuilder requests = new StringBuilder();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (StreamingGameResultWriter writer = new StreamingGameResultWriter(expected, OutputFormat.NDJSON)) {
+            RoundOutcome outcome = new RoundOutcome(engine.game());
+            for (int seed = 0; seed < 5_000; seed++) {
+                double bet = 1 + seed % 10;
+                requests.append("{\"betting_amount\": ").append(bet).append(", \"seed\": ").append(seed).append("}\n");
+                engine.play(seed, bet, new SeededRandomSource(0), outcome);
+                writer.write(outcome.toGameResult());
+            }
+        }
+
+        // Small batches and many workers, so batches complete out of order
+        NdjsonPlayPipeline pipeline = new NdjsonPlayPipeline(engine, null, 4, 7, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long played = pipeline.run(input(requests.toString()), out);
+
+        assertEquals(5_000, played);
+        assertEquals(expected.toString(StandardCharsets.UTF_8), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testInvalidRequestsAreAnsweredInPlace() throws Exception {
+        Map<String, SeededGameEngine> games = Map.of("rich", variant);
+        NdjsonPlayPipeline pipeline = new NdjsonPlayPipeline(engine, games::get, 2, 2, 2);
+        String requests = """
+                {"betting_amount": 10, "seed": 3}
+                not json
+
+                {"seed": 3}
+                {"betting_amount": 10, "seed": 3, "game": "rich"}
+                {"betting_amount": 10, "game": "poor"}
+                {"betting_amount": 10}
+                """;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long played = pipeline.run(input(requests), out);
+
+        assertEquals(6, played);
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(mapper.readTree(line));
+        }
+        assertEquals(6, lines.size());
+        assertEquals(reward(engine, 3), lines.get(0).get("reward").asDouble());
+        assertEquals("Request must be a JSON object with betting_amount", lines.get(1).get("error").asText());
+        assertEquals("Missing required field betting_amount", lines.get(2).get("error").asText());
+        assertEquals(reward(variant, 3), lines.get(3).get("reward").asDouble());
+        assertEquals("Unknown game poor", lines.get(4).get("error").asText());
+        assertTrue(lines.get(5).has("matrix"));
+    }
+
+    @Test
+    void testNullRequestIsAnsweredInPlace() throws Exception {
+        NdjsonPlayPipeline pipeline = new NdjsonPlayPipeline(engine, null, 1, 1, 1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long played = pipeline.run(input("null\n{\"betting_amount\": 10, \"seed\": 3}\n"), out);
+
+        assertEquals(2, played);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"error\":\"Missing required field betting_amount\"}", lines[0]);
+        assertEquals(reward(engine, 3), new ObjectMapper().readTree(lines[1]).get("reward").asDouble());
+    }
+
+    @Test
+    void testRequestsWithoutGameNeedADefaultGame() throws Exception {
+        NdjsonPlayPipeline pipeline = new NdjsonPlayPipeline(null, Map.of("rich", variant)::get, 1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pipeline.run(input("{\"betting_amount\": 1}\n{\"betting_amount\": 1, \"game\": \"rich\"}\n"), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("{\"error\":\"Missing required field game\"}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"matrix\""));
+    }
+
+    private static double reward(SeededGameEngine engine, long seed) {
+        RoundOutcome outcome = new RoundOutcome(engine.game());
+        engine.play(seed, 10, new SeededRandomSource(0), outcome);
+        return outcome.reward();
+    }
+
+    private static ByteArrayInputStream input(String requests) {
+        return new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SeededGameEngine engine(double multiplierOfA) {
+        return new SeededGameEngine(CompiledGame.compile(TestGames.config(2, 2, multiplierOfA)), new MatrixGeneratorImpl(),
+                new BitboardCombinationMatcher(), new RewardCalculatorImpl());
+    }
+}
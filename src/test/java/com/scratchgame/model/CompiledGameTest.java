@@ -0,0 +1,29 @@
+package com.scratchgame.model;
+
+import com.scratchgame.TestGames;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledGameTest {
+
+    @Test
+    void testCellProbabilitiesOutsideTheGridAreIgnored() {
+        List<CellProbability> cells = new ArrayList<>();
+        cells.add(new CellProbability(0, 0, Map.of("A", 1)));
+        // Would land on row 1, column 0 if indexed without a bounds check
+        cells.add(new CellProbability(3, 0, Map.of("B", 1)));
+        cells.add(new CellProbability(0, -1, Map.of("B", 1)));
+        cells.add(new CellProbability(0, 1, Map.of("A", 1)));
+        Config config = TestGames.withCells(TestGames.config(), cells);
+
+        CompiledGame game = CompiledGame.compile(config);
+
+        int a = game.symbolId("A");
+        for (int cell = 0; cell < game.cellCount(); cell++) {
+            assertArrayEquals(new int[]{a}, game.cellTable(cell).symbolIds(), "cell " + cell);
+        }
+    }
+}
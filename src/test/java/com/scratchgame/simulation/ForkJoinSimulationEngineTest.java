@@ -0,0 +1,104 @@
+package com.scratchgame.simulation;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.batch.ScalarBatchMatcher;
+import com.scratchgame.engine.combination.BitboardCombinationMatcher;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.*;
+import com.scratchgame.util.random.RandomAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForkJoinSimulationEngineTest {
+
+    private final CompiledGame game = CompiledGame.compile(config());
+
+    @Test
+    void testReportIsIndependentOfThreadCount() {
+        long rounds = 3L * ForkJoinSimulationEngine.CHUNK_ROUNDS + 123;
+
+        SimulationReport single = engine(1).simulate(rounds, 10.0, 42L);
+        SimulationReport parallel = engine(4).simulate(rounds, 10.0, 42L);
+
+        assertEquals(single, parallel);
+        assertEquals(rounds, single.rounds());
+    }
+
+    @Test
+    void testDifferentSeedsPlayDifferentRounds() {
+        SimulationReport first = engine(2).simulate(10_000, 1.0, 1L);
+        SimulationReport second = engine(2).simulate(10_000, 1.0, 2L);
+
+        assertNotEquals(first.totalReward(), second.totalReward());
+    }
+
+    @Test
+    void testReportStatisticsAreConsistent() {
+        SimulationReport report = engine(2).simulate(50_000, 2.0, 7L);
+
+        assertEquals(report.totalReward() / report.totalBet(), report.rtp(), 1e-12);
+        assertTrue(report.hitRate() > 0.0 && report.hitRate() < 1.0);
+        assertTrue(report.maxWin() > 0.0);
+        assertTrue(report.payoutVariance() > 0.0);
+        long hits = report.combinationHits().values().stream().mapToLong(Long::longValue).sum();
+        assertTrue(hits >= Math.round(report.hitRate() * report.rounds()));
+    }
+
+    @Test
+    void testBatchedReportMatchesRoundByRound() {
+        long rounds = 2L * ForkJoinSimulationEngine.CHUNK_ROUNDS + 777;
+        ForkJoinSimulationEngine batched = new ForkJoinSimulationEngine(game, new BitboardCombinationMatcher(),
+                new RewardCalculatorImpl(), RandomAlgorithm.SPLITTABLE, 2, new ScalarBatchMatcher());
+
+        assertEquals(engine(2).simulate(rounds, 10.0, 42L), batched.simulate(rounds, 10.0, 42L));
+    }
+
+    @Test
+    void testMergedShardsMatchSingleRun() {
+        long rounds = 3L * ForkJoinSimulationEngine.CHUNK_ROUNDS + 123;
+        List<SimulationShard> shards = new ArrayList<>();
+        // More shards than chunks, so one of them plays nothing
+        for (int shard = 4; shard >= 0; shard--) {
+            SimulationStatistics statistics = engine(2).runShard(rounds, 10.0, 42L, shard, 5);
+            shards.add(new SimulationShard(rounds, 42L, 10.0, RandomAlgorithm.SPLITTABLE, shard, 5, statistics));
+        }
+
+        assertEquals(engine(1).simulate(rounds, 10.0, 42L), SimulationShard.merge(shards));
+    }
+
+    @Test
+    void testMergeRejectsMissingAndForeignShards() {
+        long rounds = 100_000;
+        SimulationShard first = shard(rounds, 42L, 0, 2);
+        SimulationShard second = shard(rounds, 42L, 1, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> SimulationShard.merge(List.of(first)));
+        assertThrows(IllegalArgumentException.class, () -> SimulationShard.merge(List.of(first, first)));
+        assertThrows(IllegalArgumentException.class, () -> SimulationShard.merge(List.of(first, shard(rounds, 43L, 1, 2))));
+        assertEquals(engine(1).simulate(rounds, 10.0, 42L), SimulationShard.merge(List.of(second, first)));
+    }
+
+    private SimulationShard shard(long rounds, long seed, int shard, int shardCount) {
+        return new SimulationShard(rounds, seed, 10.0, RandomAlgorithm.SPLITTABLE, shard, shardCount,
+                engine(1).runShard(rounds, 10.0, seed, shard, shardCount));
+    }
+
+    private ForkJoinSimulationEngine engine(int threads) {
+        return new ForkJoinSimulationEngine(game, new BitboardCombinationMatcher(), new RewardCalculatorImpl(), threads);
+    }
+
+    /**
+     * Four of a kind instead of three, which eight standard cells always hold, so not every
+     * round wins.
+     */
+    private static Config config() {
+        Config config = TestGames.config();
+        Map<String, WinCombinationConfig> combinations = new HashMap<>(config.winCombinations());
+        combinations.remove("same_symbol_3_times");
+        combinations.put("same_symbol_4_times", new WinCombinationConfig(1.0, "same_symbols", 4, "same_symbols", null));
+        return TestGames.withCombinations(config, combinations);
+    }
+}
@@ -0,0 +1,139 @@
+package com.scratchgame.simulation.exact;
+
+import com.scratchgame.TestGames;
+import com.scratchgame.engine.combination.CombinationMatcher;
+import com.scratchgame.engine.combination.CombinationMatcherImpl;
+import com.scratchgame.engine.reward.RewardCalculator;
+import com.scratchgame.engine.reward.RewardCalculatorImpl;
+import com.scratchgame.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExactRtpCalculatorTest {
+
+    private static final double BET = 10.0;
+    private static final double TOLERANCE = 1e-9;
+
+    private final CombinationMatcher matcher = new CombinationMatcherImpl();
+    private final RewardCalculator calculator = new RewardCalculatorImpl();
+
+    @Test
+    void testMatchesBruteForceWithCoveredAreas() {
+        assertMatchesBruteForce(CompiledGame.compile(config(2, 3, true)));
+    }
+
+    @Test
+    void testMatchesBruteForceWithSameSymbolsOnly() {
+        assertMatchesBruteForce(CompiledGame.compile(config(2, 2, false)));
+    }
+
+    @Test
+    void testMatchesBruteForceWithBonusSymbolsInCells() {
+        // The first bonus in row-major order depends on where the placed bonus lands
+        assertMatchesBruteForce(CompiledGame.compile(config(2, 2, false, true)));
+    }
+
+    @Test
+    void testRejectsMoreBonusSymbolsThanTheStateHolds() {
+        Config base = config(2, 2, false);
+        Map<String, SymbolConfig> symbols = new HashMap<>(base.symbols());
+        for (int i = 0; i < Byte.MAX_VALUE; i++) {
+            symbols.put("+" + i, new SymbolConfig("bonus", null, i, "extra_bonus"));
+        }
+        CompiledGame game = CompiledGame.compile(new Config(base.columns(), base.rows(), symbols,
+                base.probabilities(), base.winCombinations()));
+
+        assertThrows(IllegalArgumentException.class, () -> new ExactRtpCalculator(game, 1));
+    }
+
+    @Test
+    void testIsIndependentOfParallelism() {
+        CompiledGame game = CompiledGame.compile(config(2, 3, true));
+
+        assertEquals(new ExactRtpCalculator(game, 1).calculate(BET).payoutDistribution(),
+                new ExactRtpCalculator(game, 3).calculate(BET).payoutDistribution());
+    }
+
+    /**
+     * Enumerates every matrix the generator can produce, including the bonus position, and
+     * evaluates it with the production matcher and reward calculator.
+     */
+    private void assertMatchesBruteForce(CompiledGame game) {
+        Map<Double, Double> expected = new TreeMap<>();
+        double[] hit = new double[1];
+        int cells = game.cellCount();
+        for (int position = 0; position < cells; position++) {
+            enumerate(game, position, 0, new SymbolMatrix(game), 1.0 / cells, expected, hit);
+        }
+
+        ExactRtpReport report = new ExactRtpCalculator(game, 2).calculate(BET);
+
+        assertEquals(hit[0], report.hitFrequency(), TOLERANCE);
+        double mean = expected.entrySet().stream().mapToDouble(e -> e.getKey() * e.getValue()).sum();
+        assertEquals(mean, report.expectedPayout(), TOLERANCE);
+        assertEquals(mean / BET, report.rtp(), TOLERANCE);
+        assertEquals(expected.size(), report.payoutDistribution().size());
+        expected.forEach((payout, p) -> assertEquals(p, report.payoutDistribution().getOrDefault(payout, 0.0), TOLERANCE,
+                "probability of payout " + payout));
+    }
+
+    private void enumerate(CompiledGame game, int bonusPosition, int cell, SymbolMatrix matrix, double probability,
+                           Map<Double, Double> distribution, double[] hit) {
+        if (cell == game.cellCount()) {
+            Map<String, List<String>> wins = matcher.findWinningCombinations(game, matrix);
+            double reward = calculator.calculateReward(game, BET, wins, matrix);
+            distribution.merge(reward, probability, Double::sum);
+            hit[0] += wins.isEmpty() ? 0.0 : probability;
+            return;
+        }
+        WeightTable table = cell == bonusPosition ? game.bonusTable() : game.cellTable(cell);
+        for (int k = 0; k < table.size(); k++) {
+            matrix.set(cell, table.symbolIds()[k]);
+            enumerate(game, bonusPosition, cell + 1, matrix,
+                    probability * table.weights()[k] / table.totalWeight(), distribution, hit);
+        }
+    }
+
+    private static Config config(int rows, int columns, boolean linear) {
+        return config(rows, columns, linear, false);
+    }
+
+    private static Config config(int rows, int columns, boolean linear, boolean bonusInCells) {
+        Config config = TestGames.config(rows, columns);
+        Map<String, Integer> edge = new LinkedHashMap<>();
+        edge.put("A", 1);
+        edge.put("B", 2);
+        edge.put("C", 3);
+        if (bonusInCells) {
+            edge.put("+500", 1);
+            edge.put("10x", 1);
+        }
+        Map<String, Integer> first = new LinkedHashMap<>();
+        first.put("A", 3);
+        first.put("B", 1);
+        first.put("C", 1);
+        first.put("10x", 1);
+        List<CellProbability> cells = new ArrayList<>(TestGames.cells(rows, columns, edge));
+        if (linear) {
+            cells.set(0, new CellProbability(0, 0, first));
+        }
+
+        Map<String, WinCombinationConfig> combinations = new HashMap<>();
+        combinations.put("same_symbol_2_times", new WinCombinationConfig(1.0, "same_symbols", 2, "same_symbols", null));
+        combinations.put("same_symbol_3_times", new WinCombinationConfig(2.0, "same_symbols", 3, "same_symbols", null));
+        combinations.put("same_symbol_4_times", new WinCombinationConfig(4.0, "same_symbols", 4, "same_symbols", null));
+        if (linear) {
+            combinations.put("horizontal", new WinCombinationConfig(3.0, "linear_symbols", null, "horizontal",
+                    TestGames.rows(rows, columns)));
+            combinations.put("diagonal", new WinCombinationConfig(5.0, "linear_symbols", null, "diagonal",
+                    List.of(List.of("1:1", "0:0"), List.of("0:2", "1:1"))));
+            combinations.put("corner", new WinCombinationConfig(1.5, "linear_symbols", null, "same_symbols",
+                    List.of(List.of("0:0", "1:0"))));
+        }
+
+        return TestGames.withCombinations(TestGames.withCells(config, cells), combinations);
+    }
+}
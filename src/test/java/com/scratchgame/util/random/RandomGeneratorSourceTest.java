@@ -0,0 +1,82 @@
+package com.scratchgame.util.random;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomGeneratorSourceTest {
+
+    private static final int DRAWS = 64;
+
+    @Test
+    void testSameSeedReplaysSameStream() {
+        for (RandomAlgorithm algorithm : RandomAlgorithm.values()) {
+            assertArrayEquals(draw(RandomGeneratorSource.of(algorithm, 42L)), draw(RandomGeneratorSource.of(algorithm, 42L)),
+                    algorithm.algorithmName());
+        }
+    }
+
+    @Test
+    void testSplitStreamsAreReproducibleAndDistinct() {
+        for (RandomAlgorithm algorithm : RandomAlgorithm.values()) {
+            RandomGeneratorSource first = RandomGeneratorSource.of(algorithm, 7L);
+            RandomGeneratorSource second = RandomGeneratorSource.of(algorithm, 7L);
+
+            int[] child = draw(first.split());
+            assertArrayEquals(child, draw(second.split()), algorithm.algorithmName());
+            assertFalse(Arrays.equals(child, draw(first)), algorithm.algorithmName());
+        }
+    }
+
+    @Test
+    void testFillDrawsInOrder() {
+        int[] bounds = new int[DRAWS];
+        for (int i = 0; i < DRAWS; i++) {
+            bounds[i] = i + 1;
+        }
+        int[] filled = new int[DRAWS];
+        RandomGeneratorSource.of(RandomAlgorithm.L64X128_MIX, 3L).fill(bounds, filled, DRAWS);
+
+        RandomSource sequential = RandomGeneratorSource.of(RandomAlgorithm.L64X128_MIX, 3L);
+        for (int i = 0; i < DRAWS; i++) {
+            assertEquals(sequential.nextInt(bounds[i]), filled[i]);
+            assertTrue(filled[i] >= 0 && filled[i] < bounds[i]);
+        }
+    }
+
+    @Test
+    void testThreadLocalSourceGivesEachThreadItsOwnStream() throws Exception {
+        ThreadLocalRandomSource source = new ThreadLocalRandomSource(RandomGeneratorSource.of(RandomAlgorithm.SPLITTABLE, 1L));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> draw(source)));
+            }
+            Set<List<Integer>> streams = new HashSet<>();
+            for (Future<int[]> future : futures) {
+                streams.add(Arrays.stream(future.get()).boxed().toList());
+            }
+            assertEquals(4, streams.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testUnknownAlgorithmIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RandomAlgorithm.fromName("MersenneTwister"));
+        assertEquals(RandomAlgorithm.XOROSHIRO128_PLUS_PLUS, RandomAlgorithm.fromName("xoroshiro128plusplus"));
+    }
+
+    private static int[] draw(RandomSource source) {
+        int[] values = new int[DRAWS];
+        for (int i = 0; i < DRAWS; i++) {
+            values[i] = source.nextInt(Integer.MAX_VALUE);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,39 @@
+package com.scratchgame.util.sampling;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pearson goodness-of-fit check at the 0.1% significance level.
+ */
+public final class ChiSquare {
+
+    private static final double Z_999 = 3.0902;
+
+    private ChiSquare() {
+        // Prevent instantiation
+    }
+
+    public static void assertFits(long[] observed, double[] expected) {
+        double statistic = 0.0;
+        int categories = 0;
+        for (int i = 0; i < observed.length; i++) {
+            if (expected[i] == 0.0) {
+                assertTrue(observed[i] == 0, "Observed outcome " + i + " with zero probability");
+                continue;
+            }
+            double diff = observed[i] - expected[i];
+            statistic += diff * diff / expected[i];
+            categories++;
+        }
+        double critical = criticalValue(categories - 1);
+        double result = statistic;
+        assertTrue(result < critical, () -> "Chi-square " + result + " exceeds critical value " + critical);
+    }
+
+    // Wilson-Hilferty approximation of the chi-square quantile
+    private static double criticalValue(int degreesOfFreedom) {
+        double k = Math.max(1, degreesOfFreedom);
+        double term = 2.0 / (9.0 * k);
+        return k * Math.pow(1.0 - term + Z_999 * Math.sqrt(term), 3);
+    }
+}
@@ -0,0 +1,102 @@
+package com.scratchgame.util.sampling;
+
+import com.scratchgame.model.WeightTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolSamplerTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void testAliasTableIsExact() {
+        WeightTable table = table(new int[]{1, 2, 3, 4, 5, 6});
+        assertExact(new AliasSampler(table), table);
+    }
+
+    @Test
+    void testAliasTableIsExactWithZeroAndDominantWeights() {
+        WeightTable table = table(new int[]{0, 97, 1, 0, 2});
+        assertExact(new AliasSampler(table), table);
+    }
+
+    @Test
+    void testCumulativeIsExactWithZeroWeights() {
+        WeightTable table = table(new int[]{0, 5, 0, 0, 3, 0});
+        assertExact(new CumulativeSampler(table), table);
+    }
+
+    @Test
+    void testCumulativeMatchesLinearScan() {
+        WeightTable table = table(new int[]{3, 0, 7, 1, 9, 0, 4});
+        CumulativeSampler sampler = new CumulativeSampler(table);
+        for (int draw = 0; draw < table.totalWeight(); draw++) {
+            assertEquals(linearScan(table, draw), sampler.sample(draw), "draw " + draw);
+        }
+    }
+
+    @Test
+    void testAliasFallsBackToCumulativeForHugeTotals() {
+        WeightTable table = table(new int[]{Integer.MAX_VALUE / 2, Integer.MAX_VALUE / 2});
+        assertInstanceOf(CumulativeSampler.class, SamplingStrategy.ALIAS.create(table));
+    }
+
+    @Test
+    void testAliasChiSquare() {
+        WeightTable table = table(new int[]{1, 2, 3, 4, 5, 6, 10, 20, 50, 100, 3, 7, 11, 13, 17, 19, 23, 29, 31, 37});
+        assertChiSquare(SamplingStrategy.ALIAS.create(table), table, new Random(1));
+    }
+
+    @Test
+    void testCumulativeChiSquare() {
+        WeightTable table = table(new int[]{1, 2, 3, 4, 5, 6, 10, 20, 50, 100, 3, 7, 11, 13, 17, 19, 23, 29, 31, 37});
+        assertChiSquare(SamplingStrategy.CUMULATIVE.create(table), table, new Random(2));
+    }
+
+    private static void assertExact(SymbolSampler sampler, WeightTable table) {
+        long[] counts = new long[table.size()];
+        for (int draw = 0; draw < sampler.bound(); draw++) {
+            counts[sampler.sample(draw)]++;
+        }
+        long unitsPerWeight = sampler.bound() / table.totalWeight();
+        for (int i = 0; i < table.size(); i++) {
+            assertEquals((long) table.weights()[i] * unitsPerWeight, counts[i], "symbol " + i);
+        }
+    }
+
+    private static void assertChiSquare(SymbolSampler sampler, WeightTable table, Random random) {
+        long[] observed = new long[table.size()];
+        for (int i = 0; i < SAMPLES; i++) {
+            observed[sampler.sample(random::nextInt)]++;
+        }
+        double[] expected = new double[table.size()];
+        for (int i = 0; i < table.size(); i++) {
+            expected[i] = (double) SAMPLES * table.weights()[i] / table.totalWeight();
+        }
+        ChiSquare.assertFits(observed, expected);
+    }
+
+    private static int linearScan(WeightTable table, int draw) {
+        for (int k = 0; k < table.size(); k++) {
+            if (draw < table.cumulativeWeights()[k]) {
+                return table.symbolIds()[k];
+            }
+        }
+        return -1;
+    }
+
+    static WeightTable table(int[] weights) {
+        int[] ids = new int[weights.length];
+        int[] cumulative = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            ids[i] = i;
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        return new WeightTable(ids, weights.clone(), cumulative);
+    }
+}